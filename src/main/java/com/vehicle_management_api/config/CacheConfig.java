@@ -2,6 +2,7 @@ package com.vehicle_management_api.config;
 
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 
@@ -9,6 +10,7 @@ import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -23,8 +25,9 @@ public class CacheConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CacheManager cacheManager(Caffeine<Object, Object> caffeine,
+                                     @Value("${app.datasource.read-your-writes-ms:5000}") long replicaLagMs) {
+        CaffeineCacheManager cacheManager = new ReplicaAwareCaffeineCacheManager(Duration.ofMillis(replicaLagMs));
         cacheManager.setCaffeine(caffeine);
         return cacheManager;
     }
@@ -0,0 +1,6 @@
+package com.vehicle_management_api.config;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,88 @@
+package com.vehicle_management_api.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia transações {@code readOnly} para a réplica e todo o resto para o primário.
+ *
+ * A chave é resolvida quando a conexão física é aberta, por isso este DataSource deve ficar atrás
+ * de um {@code LazyConnectionDataSourceProxy}: assim a flag de somente leitura da transação já está
+ * definida no momento da escolha. Usuários que confirmaram uma escrita há pouco leem do primário.
+ *
+ * O que vem da réplica pode estar atrasado: a thread é marcada (ver {@link #servedFromReplica()})
+ * para o cache do Spring não guardar o resultado de chaves invalidadas há pouco, e, se houve escrita
+ * no primário dentro da janela de atraso, a sessão do Hibernate passa a só ler do cache de segundo
+ * nível. Sem escritas recentes a réplica alimenta os dois caches normalmente.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && tracker.wroteRecently(user)) {
+                return DataSourceRole.PRIMARY;
+            }
+            markReplicaRead();
+            return DataSourceRole.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracker.recordWrite(user);
+                }
+            });
+        }
+        return DataSourceRole.PRIMARY;
+    }
+
+    /**
+     * Verdadeiro se a thread leu da réplica desde o último {@link #clearReplicaRead()}.
+     */
+    public static boolean servedFromReplica() {
+        return Boolean.TRUE.equals(REPLICA_READ.get());
+    }
+
+    public static void clearReplicaRead() {
+        REPLICA_READ.remove();
+    }
+
+    private void markReplicaRead() {
+        REPLICA_READ.set(Boolean.TRUE);
+        if (!tracker.anyWriteRecently()) {
+            return;
+        }
+        // Logo após uma escrita, entidades lidas da réplica não entram no cache de segundo nível
+        // (uma atualização em massa esvazia a região); acertos continuam valendo
+        TransactionSynchronizationManager.getResourceMap().values().stream()
+                .filter(EntityManagerHolder.class::isInstance)
+                .map(holder -> ((EntityManagerHolder) holder).getEntityManager())
+                .forEach(entityManager -> entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vehicle_management_api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Guarda, por usuário, o instante da última escrita confirmada. Enquanto a janela não expira as
+ * leituras desse usuário continuam no primário, para que ele veja a própria alteração mesmo com
+ * a réplica atrasada. Também guarda o instante da última escrita de qualquer origem, para saber se
+ * a réplica pode estar atrás do primário.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final long windowNanos;
+    private volatile long lastWriteAt;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.lastWriteAt = System.nanoTime() - windowNanos;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * @param user quem escreveu, ou {@code null} para escritas sem usuário (tarefas agendadas)
+     */
+    public void recordWrite(String user) {
+        lastWriteAt = System.nanoTime();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(String user) {
+        return recentWriters.getIfPresent(user) != null;
+    }
+
+    public boolean anyWriteRecently() {
+        return System.nanoTime() - lastWriteAt < windowNanos;
+    }
+}
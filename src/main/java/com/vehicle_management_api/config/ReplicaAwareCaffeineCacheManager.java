@@ -0,0 +1,125 @@
+package com.vehicle_management_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Caches Caffeine que não guardam valores da réplica de leitura para chaves invalidadas há pouco.
+ *
+ * Depois de uma escrita a invalidação roda, mas a próxima leitura pode cair numa réplica atrasada;
+ * guardar esse resultado serviria o valor antigo a todos, inclusive a quem escreveu, até o TTL.
+ * Cada cache lembra as chaves invalidadas (e o último {@code clear}) durante a janela de atraso
+ * da réplica, a mesma de {@code app.datasource.read-your-writes-ms}: só nesse caso o {@code put}
+ * de uma carga que leu da réplica é ignorado. Fora da janela a réplica alimenta o cache
+ * normalmente. A consulta ao cache limpa a marca da thread; sem réplica ela nunca é ligada.
+ */
+public class ReplicaAwareCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final Duration replicaLag;
+
+    public ReplicaAwareCaffeineCacheManager(Duration replicaLag) {
+        this.replicaLag = replicaLag;
+    }
+
+    @Override
+    protected org.springframework.cache.Cache adaptCaffeineCache(
+            String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new ReplicaAwareCaffeineCache(name, cache, isAllowNullValues(), replicaLag);
+    }
+
+    static class ReplicaAwareCaffeineCache extends CaffeineCache {
+
+        private final long replicaLagNanos;
+        private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> recentlyEvicted;
+        private volatile long clearedAt;
+
+        ReplicaAwareCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                  boolean allowNullValues, Duration replicaLag) {
+            super(name, cache, allowNullValues);
+            this.replicaLagNanos = replicaLag.toNanos();
+            this.recentlyEvicted = Caffeine.newBuilder()
+                    .expireAfterWrite(replicaLag)
+                    .maximumSize(100_000)
+                    .build();
+            this.clearedAt = System.nanoTime() - replicaLagNanos;
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ReadWriteRoutingDataSource.clearReplicaRead();
+            return super.get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper cached = super.get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            ReadWriteRoutingDataSource.clearReplicaRead();
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (!mayBeStale(key)) {
+                super.put(key, value);
+            }
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            if (mayBeStale(key)) {
+                return super.get(key);
+            }
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            recentlyEvicted.put(key, Boolean.TRUE);
+            super.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            recentlyEvicted.put(key, Boolean.TRUE);
+            return super.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            clearedAt = System.nanoTime();
+            super.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            clearedAt = System.nanoTime();
+            return super.invalidate();
+        }
+
+        /**
+         * Valor lido da réplica para uma chave invalidada dentro da janela de atraso: pode ser
+         * anterior à escrita que causou a invalidação.
+         */
+        private boolean mayBeStale(Object key) {
+            if (!ReadWriteRoutingDataSource.servedFromReplica()) {
+                return false;
+            }
+            return System.nanoTime() - clearedAt < replicaLagNanos || recentlyEvicted.getIfPresent(key) != null;
+        }
+    }
+}
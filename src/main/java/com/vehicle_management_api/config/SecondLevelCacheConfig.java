@@ -0,0 +1,59 @@
+package com.vehicle_management_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine). As regiões são criadas aqui com
+ * tamanho e TTL vindos de {@code app.cache.regions.*}; o Hibernate falha na inicialização se
+ * alguma região usada não existir, em vez de criar uma sem limites.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String VEHICLE_REGION = "vehicle";
+    public static final String CLIENT_REGION = "client";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.regions.vehicle.max-size:10000}") long vehicleMaxSize,
+            @Value("${app.cache.regions.vehicle.ttl-seconds:600}") long vehicleTtl,
+            @Value("${app.cache.regions.client.max-size:5000}") long clientMaxSize,
+            @Value("${app.cache.regions.client.ttl-seconds:600}") long clientTtl,
+            @Value("${app.cache.regions.query.max-size:2000}") long queryMaxSize,
+            @Value("${app.cache.regions.query.ttl-seconds:120}") long queryTtl) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(VEHICLE_REGION, region(vehicleMaxSize, vehicleTtl));
+        cacheManager.createCache(CLIENT_REGION, region(clientMaxSize, clientTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxSize, queryTtl));
+        // Os timestamps de atualização das tabelas não podem expirar antes das consultas que protegem
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return configuration;
+    }
+}
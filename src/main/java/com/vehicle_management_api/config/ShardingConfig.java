@@ -0,0 +1,66 @@
+package com.vehicle_management_api.config;
+
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleShardKey;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ativado com {@code app.sharding.enabled=true}. Cada URL em {@code app.sharding.urls} é um shard da
+ * tabela de veículos; clientes, reservas e as demais tabelas continuam no DataSource principal.
+ *
+ * CRUD, listagens, lotes/importação, feed de alterações e as estruturas em memória (busca textual,
+ * facetas, estatísticas de preço, filtro de placas, calendário) leem dos shards. Reserva de período,
+ * reserva/disponibilidade, arquivamento e sincronização de feed dependem de chaves estrangeiras ou
+ * de transação com o banco principal e respondem 501 neste modo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor vehicleShardExecutor(@Value("${app.sharding.urls}") List<String> urls) {
+        // Uma consulta espalhada ocupa uma thread por shard
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(urls.size() * 4);
+        executor.setMaxPoolSize(urls.size() * 4);
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("vehicle-shard-");
+        return executor;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedVehicleRepository shardedVehicleRepository(
+            @Value("${app.sharding.urls}") List<String> urls,
+            @Value("${app.sharding.username:}") String username,
+            @Value("${app.sharding.password:}") String password,
+            @Value("${app.sharding.key:LICENSE_PLATE}") VehicleShardKey key,
+            @Value("${app.sharding.init-schema:false}") boolean initSchema,
+            @Qualifier("vehicleShardExecutor") ThreadPoolTaskExecutor executor,
+            DataSource dataSource) {
+        List<DataSource> shards = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            DataSource shard = DataSourceBuilder.create()
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            if (initSchema) {
+                new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql")).execute(shard);
+            }
+            shards.add(shard);
+        }
+        return new ShardedVehicleRepository(shards, key, executor, dataSource);
+    }
+}
@@ -0,0 +1,52 @@
+package com.vehicle_management_api.controller;
+
+import com.vehicle_management_api.dto.CacheStatsResponse;
+import com.vehicle_management_api.dto.ShardStatsResponse;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administração", description = "APIs de diagnóstico para administradores")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final Optional<ShardedVehicleRepository> shardedVehicleRepository;
+
+    public AdminController(CacheStatisticsService cacheStatisticsService,
+                           Optional<ShardedVehicleRepository> shardedVehicleRepository) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.shardedVehicleRepository = shardedVehicleRepository;
+    }
+
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Estatísticas do cache de segundo nível do Hibernate")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.snapshot());
+    }
+
+    @DeleteMapping("/cache-stats")
+    @Operation(summary = "Zerar estatísticas do cache de segundo nível")
+    public ResponseEntity<Void> resetCacheStats() {
+        cacheStatisticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/shards")
+    @Operation(summary = "Veículos por shard e por marca (somente com app.sharding.enabled)")
+    public ResponseEntity<ShardStatsResponse> getShardStats() {
+        return shardedVehicleRepository
+                .map(repository -> ResponseEntity.ok(repository.stats()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
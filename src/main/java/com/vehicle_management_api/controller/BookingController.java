@@ -0,0 +1,85 @@
+package com.vehicle_management_api.controller;
+
+import com.vehicle_management_api.dto.BookingDTO;
+import com.vehicle_management_api.dto.RangeAvailabilityResponse;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.service.BookingService;
+import com.vehicle_management_api.service.ClientService;
+import com.vehicle_management_api.service.VehicleCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/vehicles")
+@Tag(name = "Reservas", description = "APIs de reservas de veículos por período")
+@SecurityRequirement(name = "bearerAuth")
+public class BookingController {
+
+    private static final Logger logger = LogManager.getLogger(BookingController.class);
+
+    private final BookingService bookingService;
+    private final VehicleCalendarService vehicleCalendarService;
+    private final ClientService clientService;
+
+    public BookingController(BookingService bookingService, VehicleCalendarService vehicleCalendarService,
+                             ClientService clientService) {
+        this.bookingService = bookingService;
+        this.vehicleCalendarService = vehicleCalendarService;
+        this.clientService = clientService;
+    }
+
+    @GetMapping("/free")
+    @Operation(summary = "Listar veículos livres em um período")
+    public ResponseEntity<RangeAvailabilityResponse> getFreeVehicles(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.info("Buscando veículos livres de {} a {}", from, to);
+        return ResponseEntity.ok(vehicleCalendarService.freeVehicles(from, to, limit));
+    }
+
+    @GetMapping("/{vehicleId}/bookings")
+    @Operation(summary = "Listar reservas de período de um veículo")
+    public ResponseEntity<List<BookingDTO>> getBookings(@PathVariable Long vehicleId) {
+        logger.info("Buscando reservas do veículo {}", vehicleId);
+        return ResponseEntity.ok(bookingService.findByVehicle(vehicleId));
+    }
+
+    @PostMapping("/{vehicleId}/bookings")
+    @Operation(summary = "Reservar um veículo por um período")
+    public ResponseEntity<BookingDTO> createBooking(@PathVariable Long vehicleId,
+                                                    @Valid @RequestBody BookingDTO bookingDTO) {
+        logger.info("Reservando veículo {} de {} a {}", vehicleId, bookingDTO.getStartDate(), bookingDTO.getEndDate());
+        return bookingService.create(vehicleId, bookingDTO, currentClient())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/bookings/{bookingId}")
+    @Operation(summary = "Cancelar uma reserva de período")
+    public ResponseEntity<Void> cancelBooking(@PathVariable Long bookingId) {
+        logger.info("Cancelando reserva {}", bookingId);
+        if (bookingService.cancel(bookingId, currentClient())) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private Client currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return clientService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+    }
+}
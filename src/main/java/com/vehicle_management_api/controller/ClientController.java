@@ -1,7 +1,15 @@
 package com.vehicle_management_api.controller;
 
+import com.vehicle_management_api.dto.BatchResponse;
 import com.vehicle_management_api.dto.ClientDTO;
+import com.vehicle_management_api.dto.ClientFilter;
+import com.vehicle_management_api.dto.ClientSearchResponse;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.VehicleHistoryDTO;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.service.ClientBatchService;
 import com.vehicle_management_api.service.ClientService;
+import com.vehicle_management_api.service.VehicleAuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,46 +34,83 @@ public class ClientController {
     private static final Logger logger = LogManager.getLogger(ClientController.class);
 
     private final ClientService clientService;
+    private final ClientBatchService clientBatchService;
+    private final VehicleAuditService vehicleAuditService;
 
-    public ClientController(ClientService clientService){
+    public ClientController(ClientService clientService, ClientBatchService clientBatchService,
+                            VehicleAuditService vehicleAuditService){
         this.clientService = clientService;
+        this.clientBatchService = clientBatchService;
+        this.vehicleAuditService = vehicleAuditService;
     }
 
     @GetMapping
     @Operation(summary = "Obter todos os clientes (Somente administrador)")
     public ResponseEntity<List<ClientDTO>> getAllClients() {
         logger.info("Buscando todos os clientes");
-        ClientService clientService = new ClientService();
         List<ClientDTO> clients = clientService.findAll();
         return ResponseEntity.ok(clients);
     }
 
-    @GetMapping("/api/clients/{id}")
+    @GetMapping("/search")
+    @Operation(summary = "Buscar clientes por prefixo de email ou nome, tipo e status, com paginação por cursor (Somente administrador)")
+    public ResponseEntity<ClientSearchResponse> searchClients(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) UserType userType,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "email") String sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + ClientFilter.DEFAULT_PAGE_SIZE) int size) {
+        ClientFilter filter = new ClientFilter(email, name, userType, active, sortBy, after, size).normalized();
+        logger.info("Buscando clientes: {}", filter.cacheKey());
+        return ResponseEntity.ok(clientService.search(filter));
+    }
+
+    @GetMapping("/{id}")
     @Operation(summary = "Obter cliente por ID (Somente administrador)")
     public ResponseEntity<ClientDTO> getClientById(@PathVariable Long id) {
         logger.info("Buscando cliente por ID: {}", id);
-        ClientService clientService = new ClientService();
         Optional<ClientDTO> client = clientService.findById(id);
-        return client.map(ResponseEntity::ok)
+        return client.map(dto -> ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @PutMapping("/api/clients/{id}")
-    @Operation(summary = "Atualizar um cliente (Somente administrador)")
+    @GetMapping("/{id}/vehicle-history")
+    @Operation(summary = "Alterações de veículos feitas por um cliente (Somente administrador)")
+    public ResponseEntity<PageResponse<VehicleHistoryDTO>> getVehicleHistory(@PathVariable Long id,
+                                                                             @RequestParam(defaultValue = "0") int page,
+                                                                             @RequestParam(defaultValue = "20") int size) {
+        logger.info("Buscando alterações de veículos do cliente {}", id);
+        return clientService.findById(id)
+                .map(client -> ResponseEntity.ok(vehicleAuditService.historyForActor(client.getEmail(), page, size)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Cadastrar clientes em lote (Somente administrador)")
+    public ResponseEntity<BatchResponse> createClients(@RequestBody List<ClientDTO> clients) {
+        logger.info("Cadastrando lote de {} clientes", clients.size());
+        BatchResponse response = clientBatchService.createBatch(clients);
+        logger.info("Lote de clientes cadastrado: {} de {}", response.getCreated(), response.getTotal());
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Atualizar um cliente (Somente administrador). Com If-Match, só atualiza se a versão for a atual")
     public ResponseEntity<ClientDTO> updateClient(@PathVariable Long id,
-                                                  @Valid @RequestBody ClientDTO clientDTO) {
+                                                  @Valid @RequestBody ClientDTO clientDTO,
+                                                  @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         logger.info("Atualizando cliente com ID: {}", id);
-        ClientService clientService = new ClientService();
-        Optional<ClientDTO> updatedClient = clientService.update(id, clientDTO);
-        return updatedClient.map(ResponseEntity::ok)
+        Optional<ClientDTO> updatedClient = clientService.update(id, clientDTO, ETags.parseIfMatch(ifMatch));
+        return updatedClient.map(dto -> ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @DeleteMapping("/api/clients/{id}")
+    @DeleteMapping("/{id}")
     @Operation(summary = "Excluir um cliente (Somente administrador)")
     public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
         logger.info("Excluindo cliente com ID: {}", id);
-        ClientService clientService = new ClientService();
         boolean deleted = clientService.delete(id);
         if (deleted) {
             return ResponseEntity.noContent().build();
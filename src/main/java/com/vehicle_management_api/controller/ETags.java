@@ -0,0 +1,35 @@
+package com.vehicle_management_api.controller;
+
+/**
+ * Conversão entre a versão de um registro e os cabeçalhos ETag/If-Match.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Versão esperada a partir de If-Match; null quando o cabeçalho está ausente ou é "*".
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Cabeçalho If-Match inválido: " + ifMatch);
+        }
+    }
+}
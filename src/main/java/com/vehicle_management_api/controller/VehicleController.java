@@ -1,9 +1,36 @@
 package com.vehicle_management_api.controller;
 
+import com.vehicle_management_api.dto.ArchivedVehicleDTO;
+import com.vehicle_management_api.dto.AvailabilityUpdateRequest;
+import com.vehicle_management_api.dto.AvailabilityUpdateResponse;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.FacetResponse;
+import com.vehicle_management_api.dto.FeedSyncResponse;
+import com.vehicle_management_api.dto.ImportJobStatus;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.PriceStatsDTO;
+import com.vehicle_management_api.dto.ReservationDTO;
+import com.vehicle_management_api.dto.SuggestionDTO;
+import com.vehicle_management_api.dto.VehicleChangesResponse;
 import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFields;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.dto.VehicleHistoryDTO;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.service.ClientService;
+import com.vehicle_management_api.service.VehicleArchiveService;
+import com.vehicle_management_api.service.VehicleAuditService;
+import com.vehicle_management_api.service.VehicleAvailabilityService;
+import com.vehicle_management_api.service.VehicleBatchService;
+import com.vehicle_management_api.service.VehicleChangeFeedService;
+import com.vehicle_management_api.service.VehicleFacetService;
+import com.vehicle_management_api.service.VehicleFeedSyncService;
+import com.vehicle_management_api.service.VehicleImportService;
+import com.vehicle_management_api.service.VehiclePriceStatsService;
 import com.vehicle_management_api.service.VehicleService;
+import com.vehicle_management_api.service.VehicleStreamService;
+import com.vehicle_management_api.service.VehicleSuggestionService;
+import com.vehicle_management_api.service.VehicleTextSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,12 +38,18 @@ import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,41 +67,233 @@ public class VehicleController {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private VehicleTextSearchService vehicleTextSearchService;
+
+    @Autowired
+    private VehicleSuggestionService vehicleSuggestionService;
+
+    @Autowired
+    private VehicleFacetService vehicleFacetService;
+
+    @Autowired
+    private VehiclePriceStatsService vehiclePriceStatsService;
+
+    @Autowired
+    private VehicleBatchService vehicleBatchService;
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+
+    @Autowired
+    private VehicleAvailabilityService vehicleAvailabilityService;
+
+    @Autowired
+    private VehicleChangeFeedService vehicleChangeFeedService;
+
+    @Autowired
+    private VehicleStreamService vehicleStreamService;
+
+    @Autowired
+    private VehicleAuditService vehicleAuditService;
+
+    @Autowired
+    private VehicleArchiveService vehicleArchiveService;
+
+    @Autowired
+    private VehicleFeedSyncService vehicleFeedSyncService;
+
     @GetMapping
     @Operation(summary = "Obter todos os veículos")
-    public ResponseEntity<List<VehicleDTO>> getAllVehicles() {
+    public ResponseEntity<List<?>> getAllVehicles(@RequestParam(required = false) String fields) {
         logger.info("Buscando todos os veículos");
+        VehicleFields selected = VehicleFields.parse(fields);
+        if (selected != null) {
+            return ResponseEntity.ok(vehicleService.findAll(selected));
+        }
         List<VehicleDTO> vehicles = vehicleService.findAll();
         return ResponseEntity.ok(vehicles);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obter veículos por lista de IDs, na ordem informada")
+    public ResponseEntity<List<?>> getVehiclesByIds(@RequestParam List<Long> ids,
+                                                    @RequestParam(required = false) String fields) {
+        logger.info("Buscando {} veículos por ID", ids.size());
+        return ResponseEntity.ok(project(vehicleService.findAllByIds(ids), VehicleFields.parse(fields)));
+    }
+
+    @PostMapping("/by-ids")
+    @Operation(summary = "Obter veículos por lista de IDs enviada no corpo (listas longas)")
+    public ResponseEntity<List<?>> getVehiclesByIdsInBody(@RequestBody List<Long> ids,
+                                                          @RequestParam(required = false) String fields) {
+        logger.info("Buscando {} veículos por ID", ids.size());
+        return ResponseEntity.ok(project(vehicleService.findAllByIds(ids), VehicleFields.parse(fields)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter veículo por ID")
     public ResponseEntity<VehicleDTO> getVehicleById(@PathVariable Long id) {
         logger.info("Buscando veículo por ID: {}", id);
         Optional<VehicleDTO> vehicle = vehicleService.findById(id);
-        return vehicle.map(ResponseEntity::ok)
+        return vehicle.map(dto -> ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/plate/{plate}")
+    @Operation(summary = "Obter veículo por placa")
+    public ResponseEntity<VehicleDTO> getVehicleByLicensePlate(@PathVariable String plate) {
+        logger.info("Buscando veículo por placa: {}", plate);
+        Optional<VehicleDTO> vehicle = vehicleService.findByLicensePlate(plate);
+        return vehicle.map(dto -> ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/available")
     @Operation(summary = "Obter veículos disponíveis")
-    public ResponseEntity<List<VehicleDTO>> getAvailableVehicles() {
+    public ResponseEntity<List<?>> getAvailableVehicles(@RequestParam(required = false) String fields) {
         logger.info("Buscando veículos disponíveis");
+        VehicleFields selected = VehicleFields.parse(fields);
+        if (selected != null) {
+            return ResponseEntity.ok(vehicleService.findAvailableVehicles(selected));
+        }
         List<VehicleDTO> vehicles = vehicleService.findAvailableVehicles();
         return ResponseEntity.ok(vehicles);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Buscar veículos por marca e modelo")
-    public ResponseEntity<List<VehicleDTO>> searchVehicles(
+    public ResponseEntity<List<?>> searchVehicles(
             @RequestParam String brand,
-            @RequestParam String model) {
+            @RequestParam String model,
+            @RequestParam(required = false) String fields) {
         logger.info("Buscando veículos por marca: {} e modelo: {}", brand, model);
+        VehicleFields selected = VehicleFields.parse(fields);
+        if (selected != null) {
+            return ResponseEntity.ok(vehicleService.findByBrandAndModel(brand, model, selected));
+        }
         List<VehicleDTO> vehicles = vehicleService.findByBrandAndModel(brand, model);
         return ResponseEntity.ok(vehicles);
     }
 
+    @GetMapping("/filter")
+    @Operation(summary = "Filtrar veículos por múltiplos critérios com paginação")
+    public ResponseEntity<PageResponse<?>> filterVehicles(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+            @RequestParam(required = false) Boolean isAvailable,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(required = false) String fields) {
+        VehicleFilter filter = new VehicleFilter(brand, model, color, minPrice, maxPrice,
+                minYear, maxYear, isAvailable, page, size, sortBy, direction).normalized();
+        logger.info("Filtrando veículos: {}", filter.cacheKey());
+        VehicleFields selected = VehicleFields.parse(fields);
+        if (selected != null) {
+            return ResponseEntity.ok(vehicleService.search(filter, selected));
+        }
+        return ResponseEntity.ok(vehicleService.search(filter));
+    }
+
+    @GetMapping("/text-search")
+    @Operation(summary = "Buscar veículos por trecho de marca, modelo, cor ou placa (mínimo de 3 caracteres)")
+    public ResponseEntity<List<VehicleDTO>> textSearchVehicles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("Busca textual de veículos: {}", q);
+        return ResponseEntity.ok(vehicleTextSearchService.search(q, limit));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir marcas e modelos a partir de um prefixo (tolera erros de digitação)")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("Sugestões para prefixo: {}", prefix);
+        return ResponseEntity.ok(vehicleSuggestionService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Contagens por marca, modelo, cor, disponibilidade, faixa de ano e faixa de preço")
+    public ResponseEntity<FacetResponse> facets(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+            @RequestParam(required = false) Boolean isAvailable,
+            @RequestParam(defaultValue = "5") int yearBucket,
+            @RequestParam(defaultValue = "10000") BigDecimal priceBucket) {
+        VehicleFilter filter = new VehicleFilter(brand, model, color, minPrice, maxPrice,
+                minYear, maxYear, isAvailable, 0, VehicleFilter.DEFAULT_PAGE_SIZE, "id", "ASC").normalized();
+        logger.info("Calculando facetas de veículos: {}", filter.cacheKey());
+        return ResponseEntity.ok(vehicleFacetService.facets(filter, yearBucket, priceBucket));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Alterações de veículos (criações, alterações e exclusões) após um cursor")
+    public ResponseEntity<VehicleChangesResponse> changes(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + VehicleChangeFeedService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(vehicleChangeFeedService.changesSince(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream (SSE) de criações, alterações, exclusões e trocas de disponibilidade")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("Abrindo stream de veículos (Last-Event-ID: {})", lastEventId);
+        return vehicleStreamService.subscribe(lastEventId);
+    }
+
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Histórico de alterações de um veículo (Somente administrador)")
+    public ResponseEntity<PageResponse<VehicleHistoryDTO>> history(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Buscando histórico do veículo {}", id);
+        return ResponseEntity.ok(vehicleAuditService.historyForVehicle(id, page, size));
+    }
+
+    @GetMapping("/archived")
+    @Operation(summary = "Listar veículos arquivados (opcionalmente por placa)")
+    public ResponseEntity<PageResponse<ArchivedVehicleDTO>> getArchivedVehicles(
+            @RequestParam(required = false) String licensePlate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Buscando veículos arquivados (placa: {})", licensePlate);
+        return ResponseEntity.ok(vehicleArchiveService.findArchived(licensePlate, page, size));
+    }
+
+    @GetMapping("/archived/{id}")
+    @Operation(summary = "Obter veículo arquivado por ID")
+    public ResponseEntity<ArchivedVehicleDTO> getArchivedVehicleById(@PathVariable Long id) {
+        logger.info("Buscando veículo arquivado com ID: {}", id);
+        return vehicleArchiveService.findArchivedById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/price-stats")
+    @Operation(summary = "Estatísticas aproximadas de preço (mediana, p90, preços distintos) por marca, modelo e ano")
+    public ResponseEntity<PriceStatsDTO> priceStats(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Integer year) {
+        logger.info("Estatísticas de preço para marca: {}, modelo: {}, ano: {}", brand, model, year);
+        return ResponseEntity.ok(vehiclePriceStatsService.stats(brand, model, year));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Criar um novo veículo (Somente administrador)")
@@ -86,14 +311,107 @@ public class VehicleController {
         return ResponseEntity.ok(createdVehicle);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Criar veículos em lote (Somente administrador)")
+    public ResponseEntity<BatchResponse> createVehicles(@RequestBody List<VehicleDTO> vehicles) {
+        logger.info("Criando lote de {} veículos", vehicles.size());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Client client = clientService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+
+        BatchResponse response = vehicleBatchService.createBatch(vehicles, client);
+        logger.info("Lote criado: {} de {} veículos", response.getCreated(), response.getTotal());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar veículos de arquivo CSV em segundo plano (Somente administrador)")
+    public ResponseEntity<ImportJobStatus> importVehicles(@RequestParam("file") MultipartFile file) {
+        logger.info("Recebendo arquivo de importação: {}", file.getOriginalFilename());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Client client = clientService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+
+        ImportJobStatus status = vehicleImportService.submit(file, client);
+        return ResponseEntity.accepted().body(status);
+    }
+
+    @PutMapping(value = "/dealers/{dealerId}/feed", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Sincronizar a frota de um revendedor com o feed CSV completo (Somente administrador)")
+    public ResponseEntity<FeedSyncResponse> syncDealerFeed(@PathVariable Long dealerId, InputStream feed) {
+        logger.info("Recebendo feed do revendedor {}", dealerId);
+        return ResponseEntity.ok(vehicleFeedSyncService.sync(dealerId, feed));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Consultar andamento de importação (Somente administrador)")
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+        logger.info("Consultando importação: {}", jobId);
+        return vehicleImportService.status(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/availability")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Alterar disponibilidade de vários veículos (Somente administrador)")
+    public ResponseEntity<AvailabilityUpdateResponse> updateAvailability(@Valid @RequestBody AvailabilityUpdateRequest request) {
+        logger.info("Alterando disponibilidade em lote para: {}", request.getIsAvailable());
+        AvailabilityUpdateResponse response = vehicleAvailabilityService.updateAvailability(request);
+        logger.info("Disponibilidade alterada em {} veículos", response.getUpdated());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/reserve")
+    @Operation(summary = "Reservar um veículo por tempo limitado")
+    public ResponseEntity<ReservationDTO> reserveVehicle(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "15") int minutes) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Client client = clientService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+
+        logger.info("Reservando veículo {} por {} minutos", id, minutes);
+        return vehicleAvailabilityService.reserve(id, client, minutes)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> vehicleAvailabilityService.exists(id)
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                        : ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Liberar a reserva de um veículo")
+    public ResponseEntity<Void> releaseVehicle(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Client client = clientService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+
+        logger.info("Liberando reserva do veículo {}", id);
+        if (vehicleAvailabilityService.release(id, client)) {
+            return ResponseEntity.noContent().build();
+        }
+        return vehicleAvailabilityService.exists(id)
+                ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                : ResponseEntity.notFound().build();
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Atualizar um veículo (Somente administrador)")
+    @Operation(summary = "Atualizar um veículo (Somente administrador). Com If-Match, só atualiza se a versão for a atual")
     public ResponseEntity<VehicleDTO> updateVehicle(@PathVariable Long id,
-                                                    @Valid @RequestBody VehicleDTO vehicleDTO) {
+                                                    @Valid @RequestBody VehicleDTO vehicleDTO,
+                                                    @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         logger.info("Atualizando veículo com ID: {}", id);
-        Optional<VehicleDTO> updatedVehicle = vehicleService.update(id, vehicleDTO);
-        return updatedVehicle.map(ResponseEntity::ok)
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Optional<VehicleDTO> updatedVehicle = expectedVersion == null
+                ? vehicleService.update(id, vehicleDTO)
+                : vehicleService.update(id, vehicleDTO, expectedVersion);
+        return updatedVehicle.map(dto -> ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -109,4 +427,9 @@ public class VehicleController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // A busca por IDs vem do cache por ID, que guarda o veículo completo; aqui só o JSON é reduzido
+    private static List<?> project(List<VehicleDTO> vehicles, VehicleFields fields) {
+        return fields == null ? vehicles : vehicles.stream().map(fields::project).toList();
+    }
 }
@@ -0,0 +1,40 @@
+package com.vehicle_management_api.dto;
+
+import com.vehicle_management_api.entity.ArchivedVehicle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedVehicleDTO {
+    private Long id;
+    private String brand;
+    private String model;
+    private Integer year;
+    private String color;
+    private String licensePlate;
+    private BigDecimal price;
+    private Long createdById;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdatedAt;
+    private LocalDateTime archivedAt;
+
+    public ArchivedVehicleDTO(ArchivedVehicle vehicle) {
+        this.id = vehicle.getId();
+        this.brand = vehicle.getBrand();
+        this.model = vehicle.getModel();
+        this.year = vehicle.getYear();
+        this.color = vehicle.getColor();
+        this.licensePlate = vehicle.getLicensePlate();
+        this.price = vehicle.getPrice();
+        this.createdById = vehicle.getCreatedById();
+        this.createdAt = vehicle.getCreatedAt();
+        this.lastUpdatedAt = vehicle.getUpdatedAt();
+        this.archivedAt = vehicle.getArchivedAt();
+    }
+}
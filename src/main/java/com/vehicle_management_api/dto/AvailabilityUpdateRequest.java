@@ -0,0 +1,24 @@
+package com.vehicle_management_api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdateRequest {
+
+    public static final int MAX_IDS = 1_000;
+    public static final int MAX_FILTER_MATCHES = 10_000;
+
+    // Informe ids ou filter (não ambos)
+    private List<Long> ids;
+    private VehicleFilter filter;
+
+    @NotNull(message = "Disponibilidade é obrigatória")
+    private Boolean isAvailable;
+}
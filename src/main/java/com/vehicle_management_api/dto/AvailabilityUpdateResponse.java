@@ -0,0 +1,16 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdateResponse {
+    private int matched;
+    private int updated;
+    private List<Long> updatedIds;
+}
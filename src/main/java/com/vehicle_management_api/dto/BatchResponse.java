@@ -0,0 +1,22 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> items;
+
+    public static BatchResponse of(List<BatchItemResult> items) {
+        int created = (int) items.stream().filter(item -> item.getStatus() == BatchItemResult.Status.CREATED).count();
+        return new BatchResponse(items.size(), created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,36 @@
+package com.vehicle_management_api.dto;
+
+import com.vehicle_management_api.entity.Booking;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDTO {
+    private Long id;
+    private Long vehicleId;
+    private String bookedBy;
+
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDate startDate;
+
+    @NotNull(message = "Data de fim é obrigatória")
+    private LocalDate endDate;
+
+    private LocalDateTime createdAt;
+
+    public BookingDTO(Booking booking) {
+        this.id = booking.getId();
+        this.vehicleId = booking.getVehicle().getId();
+        this.bookedBy = booking.getClient() != null ? booking.getClient().getName() : null;
+        this.startDate = booking.getStartDate();
+        this.endDate = booking.getEndDate();
+        this.createdAt = booking.getCreatedAt();
+    }
+}
@@ -0,0 +1,21 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStats {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;
+
+    public static CacheRegionStats of(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStats(region, hits, misses, puts, lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private boolean statisticsEnabled;
+    private List<CacheRegionStats> regions;
+    private CacheRegionStats queryCache;
+    private long databaseQueries;
+}
@@ -29,10 +29,13 @@ public class ClientDTO {
 
     private UserType userType;
 
+    private Long version;
+
     public ClientDTO(Client client) {
         this.id = client.getId();
         this.name = client.getName();
         this.email = client.getEmail();
         this.userType = client.getUserType();
+        this.version = client.getVersion();
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.vehicle_management_api.dto;
+
+import com.vehicle_management_api.enums.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientFilter {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final Set<String> SORTABLE_FIELDS = Set.of("email", "name");
+
+    private String emailPrefix;
+    private String namePrefix;
+    private UserType userType;
+    private Boolean active;
+
+    private String sortBy = "email";
+    private String after;
+    private int size = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Retorna uma cópia com textos aparados, tamanho de página limitado e ordenação validada,
+     * de forma que filtros equivalentes produzam a mesma consulta e a mesma chave de cache.
+     */
+    public ClientFilter normalized() {
+        ClientFilter normalized = new ClientFilter();
+        normalized.setEmailPrefix(normalizeText(emailPrefix));
+        normalized.setNamePrefix(normalizeText(namePrefix));
+        normalized.setUserType(userType);
+        normalized.setActive(active);
+
+        String normalizedSort = sortBy != null ? sortBy.trim() : "email";
+        if (!SORTABLE_FIELDS.contains(normalizedSort)) {
+            throw new RuntimeException("Invalid sort field: " + sortBy);
+        }
+        normalized.setSortBy(normalizedSort);
+        normalized.setAfter(normalizeText(after));
+        normalized.setSize(size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE));
+        return normalized;
+    }
+
+    public String cacheKey() {
+        return String.join("|",
+                String.valueOf(emailPrefix), String.valueOf(namePrefix), String.valueOf(userType),
+                String.valueOf(active), sortBy, String.valueOf(after), String.valueOf(size));
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,23 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetResponse {
+    private long total;
+    private Map<String, Long> brands;
+    private Map<String, Long> models;
+    private Map<String, Long> colors;
+    private Map<String, Long> availability;
+    // Chave: ano inicial da faixa
+    private Map<Integer, Long> years;
+    // Chave: preço inicial da faixa, em reais
+    private Map<BigDecimal, Long> prices;
+}
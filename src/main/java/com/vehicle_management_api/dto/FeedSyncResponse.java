@@ -0,0 +1,25 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedSyncResponse {
+    private Long dealerId;
+    private long received;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long deleted;
+    private long rejected;
+    private long durationMs;
+    private List<ImportJobStatus.RowError> errors;
+    // Ausentes do feed mantidos por terem reserva ativa ou reservas de período futuras
+    private long keptWithBookings;
+    private List<String> keptPlates;
+}
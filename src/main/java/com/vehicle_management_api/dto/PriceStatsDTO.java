@@ -0,0 +1,24 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceStatsDTO {
+    private String brand;
+    private String model;
+    private Integer year;
+    private int groups;
+    private long count;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    // Valores aproximados (sketch KLL e HyperLogLog)
+    private BigDecimal medianPrice;
+    private BigDecimal p90Price;
+    private long distinctPrices;
+}
@@ -0,0 +1,18 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeAvailabilityResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private long totalFree;
+    private List<VehicleDTO> vehicles;
+}
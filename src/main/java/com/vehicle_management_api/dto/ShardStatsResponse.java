@@ -0,0 +1,28 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardStatsResponse {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ShardStats {
+        private int shard;
+        private long vehicles;
+        private long available;
+    }
+
+    private String shardKey;
+    private List<ShardStats> shards;
+    private long totalVehicles;
+    private Map<String, Long> vehiclesByBrand;
+}
@@ -0,0 +1,24 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleChange {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    private Type type;
+    private Long vehicleId;
+    private LocalDateTime changedAt;
+    // Nulo em DELETE
+    private VehicleDTO vehicle;
+}
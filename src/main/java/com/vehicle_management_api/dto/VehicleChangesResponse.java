@@ -0,0 +1,16 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleChangesResponse {
+    private List<VehicleChange> changes;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -1,5 +1,6 @@
 package com.vehicle_management_api.dto;
 
+import com.vehicle_management_api.entity.Vehicle;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -37,4 +38,19 @@ public class VehicleDTO {
     private Boolean isAvailable;
     private LocalDateTime createdAt;
     private String createdBy;
-}
\ No newline at end of file
+    private Long version;
+
+    public VehicleDTO(Vehicle vehicle) {
+        this.id = vehicle.getId();
+        this.brand = vehicle.getBrand();
+        this.model = vehicle.getModel();
+        this.year = vehicle.getYear();
+        this.color = vehicle.getColor();
+        this.licensePlate = vehicle.getLicensePlate();
+        this.price = vehicle.getPrice();
+        this.isAvailable = vehicle.getIsAvailable();
+        this.createdAt = vehicle.getCreatedAt();
+        this.createdBy = vehicle.getCreatedBy() != null ? vehicle.getCreatedBy().getName() : "Sistema";
+        this.version = vehicle.getVersion();
+    }
+}
@@ -0,0 +1,82 @@
+package com.vehicle_management_api.dto;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos em {@code ?fields=}, com os nomes do VehicleDTO. A ordem segue sempre a de
+ * {@link #ALL}, para que pedidos equivalentes gerem a mesma chave de cache, e o id sempre é incluído.
+ */
+public final class VehicleFields {
+
+    public static final List<String> ALL = List.of("id", "brand", "model", "year", "color", "licensePlate",
+            "price", "isAvailable", "createdAt", "createdBy", "version");
+
+    private final List<String> names;
+
+    private VehicleFields(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Retorna null quando o parâmetro não foi informado, o que significa a resposta completa.
+     */
+    public static VehicleFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new HashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(trimmed)) {
+                throw new RuntimeException("Campo inválido: " + trimmed);
+            }
+            requested.add(trimmed);
+        }
+        return new VehicleFields(ALL.stream().filter(requested::contains).toList());
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public String key() {
+        return String.join(",", names);
+    }
+
+    /**
+     * Projeção em memória, para quando o veículo já está carregado (cache por ID, shards).
+     */
+    public Map<String, Object> project(VehicleDTO dto) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : names) {
+            row.put(name, switch (name) {
+                case "id" -> dto.getId();
+                case "brand" -> dto.getBrand();
+                case "model" -> dto.getModel();
+                case "year" -> dto.getYear();
+                case "color" -> dto.getColor();
+                case "licensePlate" -> dto.getLicensePlate();
+                case "price" -> dto.getPrice();
+                case "isAvailable" -> dto.getIsAvailable();
+                case "createdAt" -> dto.getCreatedAt();
+                case "createdBy" -> dto.getCreatedBy();
+                case "version" -> dto.getVersion();
+                default -> throw new IllegalStateException("Campo sem mapeamento: " + name);
+            });
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,93 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleFilter {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Limita a profundidade da paginação por offset para manter a latência previsível
+    public static final int MAX_OFFSET = 10_000;
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "brand", "model", "year", "price", "createdAt");
+
+    private String brand;
+    private String model;
+    private String color;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minYear;
+    private Integer maxYear;
+    private Boolean isAvailable;
+
+    private int page;
+    private int size = DEFAULT_PAGE_SIZE;
+    private String sortBy = "id";
+    private String direction = "ASC";
+
+    /**
+     * Retorna uma cópia com textos aparados, paginação limitada e ordenação validada,
+     * de forma que filtros equivalentes produzam a mesma consulta e a mesma chave de cache.
+     */
+    public VehicleFilter normalized() {
+        VehicleFilter normalized = new VehicleFilter();
+        normalized.setBrand(normalizeText(brand));
+        normalized.setModel(normalizeText(model));
+        normalized.setColor(normalizeText(color));
+        normalized.setMinPrice(minPrice != null ? minPrice.stripTrailingZeros() : null);
+        normalized.setMaxPrice(maxPrice != null ? maxPrice.stripTrailingZeros() : null);
+        normalized.setMinYear(minYear);
+        normalized.setMaxYear(maxYear);
+        normalized.setIsAvailable(isAvailable);
+
+        int normalizedSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int normalizedPage = Math.max(page, 0);
+        if ((long) normalizedPage * normalizedSize > MAX_OFFSET) {
+            throw new RuntimeException("Página solicitada excede o limite de " + MAX_OFFSET + " registros");
+        }
+        normalized.setPage(normalizedPage);
+        normalized.setSize(normalizedSize);
+
+        String normalizedSort = sortBy != null ? sortBy.trim() : "id";
+        if (!SORTABLE_FIELDS.contains(normalizedSort)) {
+            throw new RuntimeException("Campo de ordenação inválido: " + sortBy);
+        }
+        normalized.setSortBy(normalizedSort);
+        normalized.setDirection("DESC".equalsIgnoreCase(direction) ? "DESC" : "ASC");
+        return normalized;
+    }
+
+    public String cacheKey() {
+        return String.join("|", criteriaKey(),
+                String.valueOf(page), String.valueOf(size),
+                sortBy, direction.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Chave só dos critérios, sem página nem ordenação: todas as páginas de um mesmo filtro têm o
+     * mesmo total.
+     */
+    public String criteriaKey() {
+        return String.join("|",
+                String.valueOf(brand), String.valueOf(model), String.valueOf(color),
+                minPrice != null ? minPrice.toPlainString() : "null",
+                maxPrice != null ? maxPrice.toPlainString() : "null",
+                String.valueOf(minYear), String.valueOf(maxYear), String.valueOf(isAvailable));
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,34 @@
+package com.vehicle_management_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.vehicle_management_api.entity.VehicleHistory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleHistoryDTO {
+    private Long id;
+    private Long vehicleId;
+    private String changeType;
+    private String actor;
+    private LocalDateTime changedAt;
+    @JsonRawValue
+    private String oldValues;
+    @JsonRawValue
+    private String newValues;
+
+    public VehicleHistoryDTO(VehicleHistory history) {
+        this.id = history.getId();
+        this.vehicleId = history.getVehicleId();
+        this.changeType = history.getChangeType();
+        this.actor = history.getActor();
+        this.changedAt = history.getChangedAt();
+        this.oldValues = history.getOldValues();
+        this.newValues = history.getNewValues();
+    }
+}
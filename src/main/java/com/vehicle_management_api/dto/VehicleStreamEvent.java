@@ -0,0 +1,25 @@
+package com.vehicle_management_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento enviado em GET /api/vehicles/stream. {@code type} segue VehicleChangeEvent.Type, mais
+ * RESYNC quando o assinante perdeu eventos e deve recarregar a lista.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleStreamEvent {
+
+    public static final String RESYNC = "RESYNC";
+
+    private long id;
+    private String type;
+    private Long vehicleId;
+    // Presente em CREATED e UPDATED
+    private VehicleDTO vehicle;
+    // Presente em AVAILABILITY_CHANGED
+    private Boolean available;
+}
@@ -0,0 +1,77 @@
+package com.vehicle_management_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Veículo retirado da tabela principal pelo arquivamento. Mantém o id original; a placa não é
+ * única aqui porque pode ter sido reutilizada por um veículo novo.
+ */
+@Entity
+@Table(name = "archived_vehicles", indexes = @Index(name = "idx_archived_license_plate", columnList = "license_plate"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedVehicle implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String brand;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    private String color;
+
+    @Column(name = "license_plate", nullable = false)
+    private String licensePlate;
+
+    private BigDecimal price;
+
+    @Column(name = "created_by")
+    private Long createdById;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // O id vem do veículo original; sem isto o saveAll faria um SELECT por linha antes do INSERT
+    @Transient
+    private boolean newEntity;
+
+    public ArchivedVehicle(Vehicle vehicle, LocalDateTime archivedAt) {
+        this.id = vehicle.getId();
+        this.brand = vehicle.getBrand();
+        this.model = vehicle.getModel();
+        this.year = vehicle.getYear();
+        this.color = vehicle.getColor();
+        this.licensePlate = vehicle.getLicensePlate();
+        this.price = vehicle.getPrice();
+        this.createdById = vehicle.getCreatedBy() != null ? vehicle.getCreatedBy().getId() : null;
+        this.createdAt = vehicle.getCreatedAt();
+        this.updatedAt = vehicle.getUpdatedAt();
+        this.archivedAt = archivedAt;
+        this.newEntity = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+}
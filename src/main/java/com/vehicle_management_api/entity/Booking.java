@@ -0,0 +1,50 @@
+package com.vehicle_management_api.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bookings", indexes = @Index(name = "idx_booking_vehicle_dates", columnList = "vehicle_id, start_date, end_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Booking {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookingIdGenerator")
+    @SequenceGenerator(name = "bookingIdGenerator", sequenceName = "booking_seq", allocationSize = ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "vehicle_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Vehicle vehicle;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    // Período inclusivo: o veículo fica ocupado de startDate até endDate
+    @NotNull(message = "Start date is mandatory")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is mandatory")
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
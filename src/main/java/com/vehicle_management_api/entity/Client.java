@@ -8,6 +8,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,13 +18,19 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "client")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Client {
 
+    public static final int ALLOCATION_SIZE = 20;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids alocados em blocos (pooled); no MySQL a sequência é emulada pela tabela client_seq
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientIdGenerator")
+    @SequenceGenerator(name = "clientIdGenerator", sequenceName = "client_seq", allocationSize = ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is mandatory")
@@ -46,6 +55,12 @@ public class Client {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Controle de concorrência otimista: incrementado a cada UPDATE
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
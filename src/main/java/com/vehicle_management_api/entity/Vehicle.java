@@ -7,21 +7,34 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
 @Table(name = "vehicles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vehicle")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Vehicle {
 
+    public static final int ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids alocados em blocos (pooled); no MySQL a sequência é emulada pela tabela vehicle_seq
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicleIdGenerator")
+    @SequenceGenerator(name = "vehicleIdGenerator", sequenceName = "vehicle_seq", allocationSize = ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Brand is mandatory")
@@ -49,6 +62,12 @@ public class Vehicle {
     @Column(name = "is_available")
     private Boolean isAvailable = true;
 
+    // Controle de concorrência otimista: incrementado a cada UPDATE
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -60,4 +79,42 @@ public class Vehicle {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private Client createdBy;
+
+    // Reserva ativa: isAvailable fica false até a liberação ou até reservedUntil expirar
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reserved_by")
+    private Client reservedBy;
+
+    @Column(name = "reserved_until")
+    private LocalDateTime reservedUntil;
+
+    // SHA-256 dos atributos do catálogo; a sincronização de feed compara por ele antes de escrever
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @PrePersist
+    @PreUpdate
+    void refreshContentHash() {
+        contentHash = contentHash(brand, model, year, color, price);
+    }
+
+    /**
+     * Hash dos atributos vindos do revendedor (marca, modelo, ano, cor e preço). Disponibilidade e
+     * reservas são estado operacional e ficam de fora; o preço é normalizado para que 100 e 100.00
+     * gerem o mesmo hash.
+     */
+    public static String contentHash(String brand, String model, Integer year, String color, BigDecimal price) {
+        String canonical = String.join("\u001F",
+                String.valueOf(brand),
+                String.valueOf(model),
+                String.valueOf(year),
+                String.valueOf(color),
+                price != null ? price.stripTrailingZeros().toPlainString() : "null");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
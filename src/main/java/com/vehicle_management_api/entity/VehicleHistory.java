@@ -0,0 +1,49 @@
+package com.vehicle_management_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma alteração de veículo registrada pela auditoria. Os valores antigos e novos ficam em JSON
+ * com apenas os campos alterados (ou o registro completo na criação).
+ */
+@Entity
+@Table(name = "vehicle_history", indexes = {
+        @Index(name = "idx_history_vehicle", columnList = "vehicle_id, changed_at"),
+        @Index(name = "idx_history_actor", columnList = "actor, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleHistory {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicleHistoryIdGenerator")
+    @SequenceGenerator(name = "vehicleHistoryIdGenerator", sequenceName = "vehicle_history_seq", allocationSize = ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "change_type", nullable = false, length = 30)
+    private String changeType;
+
+    // Email de quem fez a alteração, ou "system" para tarefas agendadas
+    @Column(nullable = false, length = 100)
+    private String actor;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "old_values", length = 4000)
+    private String oldValues;
+
+    @Column(name = "new_values", length = 4000)
+    private String newValues;
+}
@@ -0,0 +1,26 @@
+package com.vehicle_management_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro global de placas no banco principal, usado com sharding por dono: a chave primária
+ * garante a unicidade que nenhum shard isolado consegue garantir. Gravado via JDBC pelo
+ * {@code ShardedVehicleRepository}; a placa fica em maiúsculas.
+ */
+@Entity
+@Table(name = "vehicle_plate_registry", indexes = @Index(name = "idx_plate_registry_vehicle", columnList = "vehicle_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehiclePlateRegistration {
+
+    @Id
+    @Column(name = "license_plate", length = 20)
+    private String licensePlate;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+}
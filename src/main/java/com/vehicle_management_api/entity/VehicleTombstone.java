@@ -0,0 +1,27 @@
+package com.vehicle_management_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de exclusão de um veículo, mantido para que o feed de alterações possa informar a
+ * remoção a quem sincroniza incrementalmente. Expurgado após o período de retenção.
+ */
+@Entity
+@Table(name = "vehicle_tombstones", indexes = @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at, vehicle_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleTombstone {
+
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,35 @@
+package com.vehicle_management_api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado pelo BookingService após criar ou cancelar uma reserva de período.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingChangeEvent {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long bookingId;
+    private final Long vehicleId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public static BookingChangeEvent created(Long bookingId, Long vehicleId, LocalDate startDate, LocalDate endDate) {
+        return new BookingChangeEvent(Type.CREATED, bookingId, vehicleId, startDate, endDate);
+    }
+
+    public static BookingChangeEvent deleted(Long bookingId, Long vehicleId) {
+        return new BookingChangeEvent(Type.DELETED, bookingId, vehicleId, null, null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vehicle_management_api.event;
+
+import com.vehicle_management_api.dto.VehicleDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado pelo VehicleService após cada escrita. Os índices em memória
+ * escutam este evento para se manterem sincronizados com a tabela de veículos.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class VehicleChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        AVAILABILITY_CHANGED
+    }
+
+    private final Type type;
+    private final Long vehicleId;
+    private final VehicleDTO previous;
+    private final VehicleDTO current;
+    // Preenchido apenas em AVAILABILITY_CHANGED, que não carrega os dados do veículo
+    private final Boolean available;
+
+    public static VehicleChangeEvent created(VehicleDTO current) {
+        return new VehicleChangeEvent(Type.CREATED, current.getId(), null, current, null);
+    }
+
+    public static VehicleChangeEvent updated(VehicleDTO previous, VehicleDTO current) {
+        return new VehicleChangeEvent(Type.UPDATED, current.getId(), previous, current, null);
+    }
+
+    public static VehicleChangeEvent deleted(Long vehicleId) {
+        return new VehicleChangeEvent(Type.DELETED, vehicleId, null, null, null);
+    }
+
+    public static VehicleChangeEvent availabilityChanged(Long vehicleId, boolean available) {
+        return new VehicleChangeEvent(Type.AVAILABILITY_CHANGED, vehicleId, null, null, available);
+    }
+}
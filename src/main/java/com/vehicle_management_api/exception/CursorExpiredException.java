@@ -0,0 +1,12 @@
+package com.vehicle_management_api.exception;
+
+/**
+ * O cursor do feed de alterações é anterior à retenção das exclusões; o cliente precisa
+ * refazer a sincronização completa.
+ */
+public class CursorExpiredException extends RuntimeException {
+
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
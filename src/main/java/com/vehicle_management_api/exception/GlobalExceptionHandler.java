@@ -2,6 +2,7 @@ package com.vehicle_management_api.exception;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -30,6 +31,39 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({VersionConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleVersionConflict(RuntimeException ex) {
+        logger.warn("Conflito de versão: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "PRECONDITION_FAILED",
+                "O registro foi alterado por outra requisição; obtenha a versão atual e tente novamente"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleCursorExpired(CursorExpiredException ex) {
+        logger.warn("Cursor expirado: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "CURSOR_EXPIRED",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(ShardingUnsupportedException.class)
+    public ResponseEntity<ErrorResponse> handleShardingUnsupported(ShardingUnsupportedException ex) {
+        logger.warn("Operação indisponível com sharding: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "NOT_IMPLEMENTED",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_IMPLEMENTED);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         logger.error("Exceção de tempo de execução: {}", ex.getMessage(), ex);
@@ -0,0 +1,12 @@
+package com.vehicle_management_api.exception;
+
+/**
+ * Operação que depende da tabela de veículos no banco principal (chaves estrangeiras, locks ou
+ * transação junto com outras tabelas) e não está disponível com app.sharding.enabled.
+ */
+public class ShardingUnsupportedException extends RuntimeException {
+
+    public ShardingUnsupportedException(String feature) {
+        super(feature + " não está disponível com a tabela de veículos particionada em shards");
+    }
+}
@@ -0,0 +1,11 @@
+package com.vehicle_management_api.exception;
+
+/**
+ * A versão informada em If-Match não corresponde à versão atual do registro.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,157 @@
+package com.vehicle_management_api.index;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendário de reservas de período por veículo, para consultas de disponibilidade por intervalo.
+ *
+ * Cada veículo guarda seus períodos em arrays ordenados pelo dia de início (dias desde a época),
+ * junto com o maior dia de fim até cada posição. Para saber se [from, to] conflita basta achar,
+ * por busca binária, o último período que começa até {@code to} e comparar o maior fim até ele
+ * com {@code from}. Os arrays de um veículo são imutáveis e trocados a cada escrita, então as
+ * consultas não usam lock; as escritas são serializadas.
+ */
+public class BookingCalendar {
+
+    private final Map<Long, Intervals> byVehicle = new ConcurrentHashMap<>();
+    private final Map<Long, Long> vehicleByBooking = new ConcurrentHashMap<>();
+
+    public synchronized void addVehicle(long vehicleId) {
+        byVehicle.putIfAbsent(vehicleId, Intervals.EMPTY);
+    }
+
+    public synchronized void removeVehicle(long vehicleId) {
+        Intervals removed = byVehicle.remove(vehicleId);
+        if (removed != null) {
+            for (long bookingId : removed.bookingIds) {
+                vehicleByBooking.remove(bookingId);
+            }
+        }
+    }
+
+    /**
+     * Inclui ou substitui uma reserva (idempotente pelo id da reserva).
+     */
+    public synchronized void put(long bookingId, long vehicleId, LocalDate startDate, LocalDate endDate) {
+        remove(bookingId);
+        Intervals current = byVehicle.getOrDefault(vehicleId, Intervals.EMPTY);
+        byVehicle.put(vehicleId, current.with(bookingId, (int) startDate.toEpochDay(), (int) endDate.toEpochDay()));
+        vehicleByBooking.put(bookingId, vehicleId);
+    }
+
+    public synchronized void remove(long bookingId) {
+        Long vehicleId = vehicleByBooking.remove(bookingId);
+        if (vehicleId != null) {
+            byVehicle.computeIfPresent(vehicleId, (id, intervals) -> intervals.without(bookingId));
+        }
+    }
+
+    public boolean isFree(long vehicleId, LocalDate from, LocalDate to) {
+        Intervals intervals = byVehicle.get(vehicleId);
+        return intervals != null && !intervals.overlaps((int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    /**
+     * Ids, em ordem crescente, dos veículos sem reserva que conflite com [from, to].
+     */
+    public List<Long> freeVehicles(LocalDate from, LocalDate to) {
+        int start = (int) from.toEpochDay();
+        int end = (int) to.toEpochDay();
+        return byVehicle.entrySet().parallelStream()
+                .filter(entry -> !entry.getValue().overlaps(start, end))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    public int vehicleCount() {
+        return byVehicle.size();
+    }
+
+    public int bookingCount() {
+        return vehicleByBooking.size();
+    }
+
+    private static final class Intervals {
+        private static final Intervals EMPTY = new Intervals(new long[0], new int[0], new int[0]);
+
+        private final long[] bookingIds;
+        private final int[] starts;
+        private final int[] ends;
+        // maxEnds[i] = maior fim entre os períodos 0..i; mantém a busca correta mesmo com sobreposição
+        private final int[] maxEnds;
+
+        private Intervals(long[] bookingIds, int[] starts, int[] ends) {
+            this.bookingIds = bookingIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new int[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        boolean overlaps(int from, int to) {
+            int index = lastStartingAtOrBefore(to);
+            return index >= 0 && maxEnds[index] >= from;
+        }
+
+        Intervals with(long bookingId, int start, int end) {
+            int insertAt = lastStartingAtOrBefore(start) + 1;
+            int size = starts.length;
+            long[] newIds = new long[size + 1];
+            int[] newStarts = new int[size + 1];
+            int[] newEnds = new int[size + 1];
+            System.arraycopy(bookingIds, 0, newIds, 0, insertAt);
+            System.arraycopy(starts, 0, newStarts, 0, insertAt);
+            System.arraycopy(ends, 0, newEnds, 0, insertAt);
+            newIds[insertAt] = bookingId;
+            newStarts[insertAt] = start;
+            newEnds[insertAt] = end;
+            System.arraycopy(bookingIds, insertAt, newIds, insertAt + 1, size - insertAt);
+            System.arraycopy(starts, insertAt, newStarts, insertAt + 1, size - insertAt);
+            System.arraycopy(ends, insertAt, newEnds, insertAt + 1, size - insertAt);
+            return new Intervals(newIds, newStarts, newEnds);
+        }
+
+        Intervals without(long bookingId) {
+            int index = -1;
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            int size = starts.length;
+            long[] newIds = Arrays.copyOf(bookingIds, size - 1);
+            int[] newStarts = Arrays.copyOf(starts, size - 1);
+            int[] newEnds = Arrays.copyOf(ends, size - 1);
+            System.arraycopy(bookingIds, index + 1, newIds, index, size - index - 1);
+            System.arraycopy(starts, index + 1, newStarts, index, size - index - 1);
+            System.arraycopy(ends, index + 1, newEnds, index, size - index - 1);
+            return new Intervals(newIds, newStarts, newEnds);
+        }
+
+        // Índice do último período com início <= day, ou -1
+        private int lastStartingAtOrBefore(int day) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
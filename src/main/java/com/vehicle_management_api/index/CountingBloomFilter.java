@@ -0,0 +1,71 @@
+package com.vehicle_management_api.index;
+
+/**
+ * Filtro de Bloom com contadores de 8 bits por posição, o que permite remover chaves. Responde
+ * "talvez presente" (com falsos positivos na taxa configurada) ou "certamente ausente".
+ *
+ * As chaves chegam já como hash de 64 bits; as {@code k} posições saem por hashing duplo das duas
+ * metades do hash. Contadores saturados em 255 não são mais decrementados, para nunca gerar falso
+ * negativo.
+ */
+public class CountingBloomFilter {
+
+    private static final int SATURATED = 0xFF;
+
+    private final byte[] counters;
+    private final int hashFunctions;
+    private long size;
+
+    public CountingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, m))];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / n * ln2));
+    }
+
+    public void add(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int value = counters[index] & 0xFF;
+            if (value < SATURATED) {
+                counters[index] = (byte) (value + 1);
+            }
+        }
+        size++;
+    }
+
+    public void remove(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int value = counters[index] & 0xFF;
+            if (value > 0 && value < SATURATED) {
+                counters[index] = (byte) (value - 1);
+            }
+        }
+        size--;
+    }
+
+    public boolean mightContain(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counters[index(hash, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int capacityBytes() {
+        return counters.length;
+    }
+
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + i * h2, counters.length);
+    }
+}
@@ -0,0 +1,220 @@
+package com.vehicle_management_api.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sketch de quantis KLL (Karnin, Lang, Liberty). Mantém níveis de compactadores cujas capacidades
+ * decrescem geometricamente; ao compactar, metade dos itens ordenados de um nível sobe para o
+ * próximo com peso dobrado. O erro de rank é da ordem de 1/k e dois sketches podem ser mesclados.
+ */
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final List<Level> levels = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        this.k = k;
+        levels.add(new Level());
+    }
+
+    public void update(double value) {
+        levels.get(0).add(value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        compressIfNeeded();
+    }
+
+    public void merge(KllSketch other) {
+        while (levels.size() < other.levels.size()) {
+            levels.add(new Level());
+        }
+        for (int h = 0; h < other.levels.size(); h++) {
+            Level source = other.levels.get(h);
+            Level target = levels.get(h);
+            for (int i = 0; i < source.size; i++) {
+                target.add(source.values[i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compressIfNeeded();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Valor aproximado no quantil {@code q} (0 a 1); NaN se o sketch estiver vazio.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+
+        int retained = retained();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int index = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            Level level = levels.get(h);
+            for (int i = 0; i < level.size; i++) {
+                values[index] = level.values[i];
+                weights[index] = 1L << h;
+                index++;
+            }
+        }
+
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+        double target = q * totalWeight;
+        long cumulative = 0;
+        for (Integer i : order) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(k);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(levels.size());
+        for (Level level : levels) {
+            out.writeInt(level.size);
+            for (int i = 0; i < level.size; i++) {
+                out.writeDouble(level.values[i]);
+            }
+        }
+    }
+
+    public static KllSketch readFrom(DataInput in) throws IOException {
+        KllSketch sketch = new KllSketch(in.readInt());
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int levelCount = in.readInt();
+        sketch.levels.clear();
+        for (int h = 0; h < levelCount; h++) {
+            Level level = new Level();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                level.add(in.readDouble());
+            }
+            sketch.levels.add(level);
+        }
+        return sketch;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int retained() {
+        int retained = 0;
+        for (Level level : levels) {
+            retained += level.size;
+        }
+        return retained;
+    }
+
+    private int maxRetained() {
+        int total = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            total += capacity(h);
+        }
+        return total;
+    }
+
+    private void compressIfNeeded() {
+        while (retained() >= maxRetained()) {
+            compactOnce();
+        }
+    }
+
+    private void compactOnce() {
+        for (int h = 0; h < levels.size(); h++) {
+            Level level = levels.get(h);
+            if (level.size >= capacity(h)) {
+                if (h + 1 == levels.size()) {
+                    levels.add(new Level());
+                }
+                Level next = levels.get(h + 1);
+                Arrays.sort(level.values, 0, level.size);
+
+                // Com quantidade ímpar, o maior item permanece no nível atual com o mesmo peso
+                int paired = level.size - (level.size % 2);
+                int offset = random.nextBoolean() ? 1 : 0;
+                for (int i = offset; i < paired; i += 2) {
+                    next.add(level.values[i]);
+                }
+                if (level.size % 2 == 1) {
+                    level.values[0] = level.values[level.size - 1];
+                    level.size = 1;
+                } else {
+                    level.size = 0;
+                }
+                return;
+            }
+        }
+    }
+
+    private static final class Level {
+        private double[] values = new double[8];
+        private int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.vehicle_management_api.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Estatísticas aproximadas de preço por grupo (marca, modelo, ano): um sketch KLL para quantis
+ * e um HyperLogLog para preços distintos. Consultas mesclam os grupos que casam com o filtro.
+ *
+ * Sketches não suportam remoção; quando um veículo sai de um grupo (alteração ou exclusão) o
+ * grupo é marcado como sujo e recalculado a partir do banco na próxima consulta que o envolver.
+ * A recarga roda fora do monitor para não bloquear {@code put}/{@code remove}; o grupo recalculado
+ * só substitui o antigo se nenhuma escrita o tocou durante a carga (contador {@code generation}).
+ */
+public class PriceStatsStore {
+
+    private static final int SNAPSHOT_VERSION = 2;
+
+    public record GroupKey(String brand, String model, int year) {
+    }
+
+    public record Summary(int groups, long count, double min, double max,
+                          double median, double p90, long distinctPrices) {
+    }
+
+    private static final class Group {
+        private KllSketch sketch = new KllSketch();
+        private HyperLogLog distinct = new HyperLogLog();
+        private boolean dirty;
+        private long generation;
+
+        void add(BigDecimal price) {
+            generation++;
+            sketch.update(price.doubleValue());
+            distinct.add(price.movePointRight(2).longValue());
+        }
+    }
+
+    private final Map<GroupKey, Group> groups = new HashMap<>();
+    private final Map<Long, GroupKey> groupByVehicle = new HashMap<>();
+
+    public synchronized void put(long vehicleId, GroupKey key, BigDecimal price) {
+        remove(vehicleId);
+        if (price == null) {
+            return;
+        }
+        groupByVehicle.put(vehicleId, key);
+        groups.computeIfAbsent(key, k -> new Group()).add(price);
+    }
+
+    public synchronized void remove(long vehicleId) {
+        GroupKey previous = groupByVehicle.remove(vehicleId);
+        if (previous != null) {
+            Group group = groups.get(previous);
+            if (group != null) {
+                group.dirty = true;
+                group.generation++;
+            }
+        }
+    }
+
+    /**
+     * Mescla os grupos que casam com o filtro (campos nulos não restringem). Grupos sujos são
+     * recarregados antes via {@code loader}, que devolve o preço atual de cada veículo do grupo.
+     */
+    public Summary query(String brand, String model, Integer year,
+                         Function<GroupKey, Map<Long, BigDecimal>> loader) {
+        KllSketch merged = new KllSketch();
+        HyperLogLog distinct = new HyperLogLog();
+        int matched = 0;
+        Map<GroupKey, Long> dirty = new HashMap<>();
+
+        synchronized (this) {
+            for (Map.Entry<GroupKey, Group> entry : groups.entrySet()) {
+                GroupKey key = entry.getKey();
+                if (!matches(key, brand, model, year)) {
+                    continue;
+                }
+                Group group = entry.getValue();
+                if (group.dirty) {
+                    dirty.put(key, group.generation);
+                    continue;
+                }
+                merged.merge(group.sketch);
+                distinct.merge(group.distinct);
+                matched++;
+            }
+        }
+
+        for (Map.Entry<GroupKey, Long> entry : dirty.entrySet()) {
+            GroupKey key = entry.getKey();
+            Map<Long, BigDecimal> prices = loader.apply(key);
+            Group fresh = new Group();
+            prices.values().stream().filter(Objects::nonNull).forEach(fresh::add);
+            swapIfUnchanged(key, entry.getValue(), fresh, prices);
+            if (fresh.sketch.count() == 0) {
+                continue;
+            }
+            merged.merge(fresh.sketch);
+            distinct.merge(fresh.distinct);
+            matched++;
+        }
+
+        if (merged.count() == 0) {
+            return new Summary(matched, 0, 0, 0, 0, 0, 0);
+        }
+        return new Summary(matched, merged.count(), merged.min(), merged.max(),
+                merged.quantile(0.5), merged.quantile(0.9), distinct.estimate());
+    }
+
+    public synchronized int groupCount() {
+        return groups.size();
+    }
+
+    private static boolean matches(GroupKey key, String brand, String model, Integer year) {
+        return (brand == null || brand.equals(key.brand()))
+                && (model == null || model.equals(key.model()))
+                && (year == null || year == key.year());
+    }
+
+    /**
+     * Troca o grupo sujo pelo recalculado, a menos que uma escrita o tenha alterado durante a
+     * carga; nesse caso o grupo continua sujo e a próxima consulta recarrega de novo.
+     */
+    private synchronized void swapIfUnchanged(GroupKey key, long generation, Group fresh, Map<Long, BigDecimal> prices) {
+        Group current = groups.get(key);
+        if (current == null || current.generation != generation) {
+            return;
+        }
+        if (fresh.sketch.count() == 0) {
+            groups.remove(key);
+            return;
+        }
+        prices.forEach((vehicleId, price) -> {
+            if (price != null) {
+                groupByVehicle.put(vehicleId, key);
+            }
+        });
+        groups.put(key, fresh);
+    }
+
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_VERSION);
+        List<GroupKey> keys = new ArrayList<>(groups.keySet());
+        Map<GroupKey, Integer> indexes = new HashMap<>();
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            GroupKey key = keys.get(i);
+            Group group = groups.get(key);
+            indexes.put(key, i);
+            writeNullableUTF(out, key.brand());
+            writeNullableUTF(out, key.model());
+            out.writeInt(key.year());
+            out.writeBoolean(group.dirty);
+            group.sketch.writeTo(out);
+            group.distinct.writeTo(out);
+        }
+        out.writeInt(groupByVehicle.size());
+        for (Map.Entry<Long, GroupKey> entry : groupByVehicle.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeInt(Objects.requireNonNull(indexes.get(entry.getValue())));
+        }
+    }
+
+    public static PriceStatsStore readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+        PriceStatsStore store = new PriceStatsStore();
+        int groupCount = in.readInt();
+        List<GroupKey> keys = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            GroupKey key = new GroupKey(readNullableUTF(in), readNullableUTF(in), in.readInt());
+            Group group = new Group();
+            group.dirty = in.readBoolean();
+            group.sketch = KllSketch.readFrom(in);
+            group.distinct = HyperLogLog.readFrom(in);
+            store.groups.put(key, group);
+            keys.add(key);
+        }
+        int vehicleCount = in.readInt();
+        for (int i = 0; i < vehicleCount; i++) {
+            store.groupByVehicle.put(in.readLong(), keys.get(in.readInt()));
+        }
+        return store;
+    }
+
+    private static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,219 @@
+package com.vehicle_management_api.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie de termos com contagem de ocorrências, usado no autocompletar.
+ *
+ * As chaves são armazenadas em minúsculas; cada nó terminal guarda a forma de exibição do termo
+ * (a primeira recebida), e {@link #add} devolve essa instância para que quem guarda o termo fora do
+ * trie compartilhe a mesma string. Ela sai junto com o nó quando a contagem chega a zero.
+ * A busca aproximada percorre o trie calculando uma linha da distância de Levenshtein por nó,
+ * podando ramos cuja distância mínima já excede o limite.
+ */
+public class SuggestionTrie {
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Match(String term, int count, int distance) {
+    }
+
+    /**
+     * Incrementa a contagem do termo e retorna a forma de exibição guardada no nó, ou null para
+     * termos vazios.
+     */
+    public String add(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+            }
+            if (node.term == null) {
+                node.term = term.trim();
+            }
+            node.count++;
+            return node.term;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String term) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+            Node terminal = path[key.length()];
+            if (terminal.count == 0) {
+                return;
+            }
+            if (--terminal.count == 0) {
+                terminal.term = null;
+                // Remove os nós que ficaram sem termos abaixo deles
+                for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Termos que começam com o prefixo (distância 0) ou cujo início está a até {@code maxEdits}
+     * edições dele, ordenados por distância e depois por contagem.
+     */
+    public List<Match> suggest(String prefix, int maxEdits, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Match> matches = new HashMap<>();
+            int[] firstRow = new int[key.length() + 1];
+            for (int i = 0; i < firstRow.length; i++) {
+                firstRow[i] = i;
+            }
+            int rootDistance = firstRow[key.length()];
+            root.forEachChild((c, child) -> searchFuzzy(child, c, key, firstRow, rootDistance, maxEdits, matches));
+
+            List<Match> ordered = new ArrayList<>(matches.values());
+            ordered.sort((a, b) -> a.distance() != b.distance()
+                    ? Integer.compare(a.distance(), b.distance())
+                    : a.count() != b.count() ? Integer.compare(b.count(), a.count()) : a.term().compareTo(b.term()));
+            return ordered.size() > limit ? ordered.subList(0, limit) : ordered;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void searchFuzzy(Node node, char c, String key, int[] previousRow, int bestDistance,
+                             int maxEdits, Map<String, Match> matches) {
+        int columns = key.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (key.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        // Menor distância entre o prefixo e algum início do caminho até este nó
+        int distance = Math.min(bestDistance, row[columns - 1]);
+
+        if (rowMin <= maxEdits) {
+            if (distance <= maxEdits && node.term != null) {
+                addMatch(node, distance, matches);
+            }
+            node.forEachChild((next, child) -> searchFuzzy(child, next, key, row, distance, maxEdits, matches));
+        } else if (distance <= maxEdits) {
+            // Nenhum descendente melhora a distância, mas todos continuam casando com o prefixo
+            collect(node, distance, matches);
+        }
+    }
+
+    private void collect(Node node, int distance, Map<String, Match> matches) {
+        if (node.term != null) {
+            addMatch(node, distance, matches);
+        }
+        node.forEachChild((c, child) -> collect(child, distance, matches));
+    }
+
+    private void addMatch(Node node, int distance, Map<String, Match> matches) {
+        matches.merge(node.term, new Match(node.term, node.count, distance),
+                (a, b) -> a.distance() <= b.distance() ? a : b);
+    }
+
+    private static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Filhos em arrays ordenados: bem mais compacto que um mapa por nó
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private String term;
+        private int count;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return term == null && keys.length == 0;
+        }
+
+        void forEachChild(ChildVisitor visitor) {
+            for (int i = 0; i < keys.length; i++) {
+                visitor.visit(keys[i], children[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChildVisitor {
+        void visit(char c, Node child);
+    }
+}
@@ -0,0 +1,185 @@
+package com.vehicle_management_api.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido de trigramas para busca por substring. Cada documento é um texto
+ * normalizado associado a um ID; a consulta intersecta as listas de postagem dos trigramas
+ * do termo e confirma o candidato contra o texto armazenado, sem falsos positivos.
+ *
+ * As listas de postagem são {@code long[]} ordenados (8 bytes por ID, contra dezenas num
+ * {@code Set<Long>}); a interseção percorre a menor lista com busca binária nas demais.
+ * Termos com menos de {@link #MIN_QUERY_LENGTH} caracteres não formam trigramas e são recusados
+ * em vez de varrer todos os documentos.
+ *
+ * Escritas são serializadas; leituras não bloqueiam.
+ */
+public class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int GRAM = MIN_QUERY_LENGTH;
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> documents = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, String text) {
+        String normalized = normalize(text);
+        String previous = documents.put(id, normalized);
+        Set<String> grams = trigrams(normalized);
+        if (previous != null) {
+            Set<String> stale = trigrams(previous);
+            stale.removeAll(grams);
+            stale.forEach(gram -> removePosting(gram, id));
+        }
+        grams.forEach(gram -> addPosting(gram, id));
+    }
+
+    public synchronized void remove(Long id) {
+        String previous = documents.remove(id);
+        if (previous != null) {
+            trigrams(previous).forEach(gram -> removePosting(gram, id));
+        }
+    }
+
+    /**
+     * Indexa documentos cujos IDs ainda não estão no índice (carga inicial). A normalização roda em
+     * paralelo; as postagens entram em ordem de ID, o que na carga por blocos crescentes vira só
+     * acréscimo no fim de cada lista.
+     */
+    public void putAllNew(Map<Long, String> source) {
+        List<Map.Entry<Long, String>> normalized = source.entrySet().parallelStream()
+                .map(entry -> Map.entry(entry.getKey(), normalize(entry.getValue())))
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        synchronized (this) {
+            for (Map.Entry<Long, String> entry : normalized) {
+                documents.put(entry.getKey(), entry.getValue());
+                trigrams(entry.getValue()).forEach(gram -> addPosting(gram, entry.getKey()));
+            }
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        String term = normalize(query);
+        if (term.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Termo de busca deve ter pelo menos " + MIN_QUERY_LENGTH + " caracteres");
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : trigrams(term)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        // A menor lista já está em ordem de ID, então o resultado também sai ordenado
+        Postings smallest = lists.get(0);
+        List<Postings> others = lists.subList(1, lists.size());
+        List<Long> matches = new ArrayList<>();
+        for (int i = 0; i < smallest.size() && matches.size() < limit; i++) {
+            long id = smallest.ids()[i];
+            if (others.stream().allMatch(list -> list.contains(id))) {
+                String document = documents.get(id);
+                if (document != null && document.contains(term)) {
+                    matches.add(id);
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /*
+     * Cada Postings publicado é imutável do ponto de vista de quem lê: só as posições abaixo de
+     * size são lidas. O acréscimo no fim escreve além do size publicado e publica um novo Postings
+     * sobre o mesmo array; inserção no meio e remoção copiam.
+     */
+
+    private void addPosting(String gram, long id) {
+        Postings list = postings.get(gram);
+        if (list == null) {
+            postings.put(gram, new Postings(new long[]{id}, 1));
+            return;
+        }
+        int size = list.size();
+        long[] ids = list.ids();
+        if (ids[size - 1] < id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size] = id;
+            postings.put(gram, new Postings(ids, size + 1));
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] copy = new long[size + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+        postings.put(gram, new Postings(copy, copy.length));
+    }
+
+    private void removePosting(String gram, long id) {
+        Postings list = postings.get(gram);
+        if (list == null) {
+            return;
+        }
+        int size = list.size();
+        int position = Arrays.binarySearch(list.ids(), 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        if (size == 1) {
+            postings.remove(gram);
+            return;
+        }
+        long[] copy = new long[size - 1];
+        System.arraycopy(list.ids(), 0, copy, 0, position);
+        System.arraycopy(list.ids(), position + 1, copy, position, size - position - 1);
+        postings.put(gram, new Postings(copy, copy.length));
+    }
+
+    private record Postings(long[] ids, int size) {
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
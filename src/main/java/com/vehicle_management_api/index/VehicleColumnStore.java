@@ -0,0 +1,293 @@
+package com.vehicle_management_api.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Cópia colunar da tabela de veículos em arrays primitivos, usada para agregações.
+ *
+ * Marca, modelo e cor são codificados por dicionário; ano em int, preço em centavos (long) e
+ * disponibilidade em bitset. Cada veículo ocupa um slot; slots liberados por exclusões são
+ * reaproveitados. As contagens são calculadas em paralelo por faixas de slots e depois somadas.
+ */
+public class VehicleColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final int CHUNK_SIZE = 16_384;
+    private static final int NONE = -1;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary brands = new Dictionary();
+    private final Dictionary models = new Dictionary();
+    private final Dictionary colors = new Dictionary();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] brandCodes = new int[INITIAL_CAPACITY];
+    private int[] modelCodes = new int[INITIAL_CAPACITY];
+    private int[] colorCodes = new int[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private final BitSet available = new BitSet();
+    private final BitSet live = new BitSet();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int highWaterMark;
+
+    /**
+     * Critérios de filtro; campos nulos não restringem.
+     */
+    public record Criteria(String brand, String model, String color, Boolean available,
+                           Integer minYear, Integer maxYear, BigDecimal minPrice, BigDecimal maxPrice) {
+    }
+
+    public record Facets(long total,
+                         Map<String, Long> brands,
+                         Map<String, Long> models,
+                         Map<String, Long> colors,
+                         long available,
+                         long unavailable,
+                         Map<Integer, Long> yearBuckets,
+                         Map<BigDecimal, Long> priceBuckets) {
+    }
+
+    public void upsert(long id, String brand, String model, String color, Integer year,
+                       BigDecimal price, Boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? highWaterMark++ : freeSlots.pop();
+                ensureCapacity(slot + 1);
+                slotById.put(id, slot);
+            }
+            ids[slot] = id;
+            brandCodes[slot] = brands.encode(brand);
+            modelCodes[slot] = models.encode(model);
+            colorCodes[slot] = colors.encode(color);
+            years[slot] = year != null ? year : 0;
+            priceCents[slot] = toCents(price);
+            available.set(slot, Boolean.TRUE.equals(isAvailable));
+            live.set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setAvailable(long id, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot != null) {
+                available.set(slot, isAvailable);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                live.clear(slot);
+                available.clear(slot);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Facets facets(Criteria criteria, int yearBucketSize, long priceBucketCents) {
+        if (yearBucketSize < 1 || priceBucketCents < 1) {
+            throw new IllegalArgumentException("Faixas devem ter ao menos 1 ano e 1 centavo");
+        }
+        lock.readLock().lock();
+        try {
+            int brandFilter = criteria.brand() != null ? brands.lookup(criteria.brand()) : NONE;
+            int modelFilter = criteria.model() != null ? models.lookup(criteria.model()) : NONE;
+            int colorFilter = criteria.color() != null ? colors.lookup(criteria.color()) : NONE;
+            boolean unknownValue = (criteria.brand() != null && brandFilter == NONE)
+                    || (criteria.model() != null && modelFilter == NONE)
+                    || (criteria.color() != null && colorFilter == NONE);
+
+            int slots = highWaterMark;
+            Partial total = new Partial(brands.size(), models.size(), colors.size());
+            if (!unknownValue && slots > 0) {
+                int minYear = criteria.minYear() != null ? criteria.minYear() : Integer.MIN_VALUE;
+                int maxYear = criteria.maxYear() != null ? criteria.maxYear() : Integer.MAX_VALUE;
+                long minPrice = criteria.minPrice() != null ? toCents(criteria.minPrice()) : NO_PRICE;
+                long maxPrice = criteria.maxPrice() != null ? toCents(criteria.maxPrice()) : Long.MAX_VALUE;
+                boolean priceFiltered = criteria.minPrice() != null || criteria.maxPrice() != null;
+
+                int chunks = (slots + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                total = IntStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> {
+                            Partial partial = new Partial(brands.size(), models.size(), colors.size());
+                            int end = Math.min(slots, (chunk + 1) * CHUNK_SIZE);
+                            for (int slot = live.nextSetBit(chunk * CHUNK_SIZE); slot >= 0 && slot < end;
+                                 slot = live.nextSetBit(slot + 1)) {
+                                if ((brandFilter != NONE && brandCodes[slot] != brandFilter)
+                                        || (modelFilter != NONE && modelCodes[slot] != modelFilter)
+                                        || (colorFilter != NONE && colorCodes[slot] != colorFilter)
+                                        || years[slot] < minYear || years[slot] > maxYear
+                                        || (priceFiltered && (priceCents[slot] == NO_PRICE
+                                        || priceCents[slot] < minPrice || priceCents[slot] > maxPrice))) {
+                                    continue;
+                                }
+                                boolean isAvailable = available.get(slot);
+                                if (criteria.available() != null && criteria.available() != isAvailable) {
+                                    continue;
+                                }
+                                partial.add(slot, isAvailable, yearBucketSize, priceBucketCents);
+                            }
+                            return partial;
+                        })
+                        .reduce(Partial::merge)
+                        .orElse(total);
+            }
+
+            // Chaves em reais com centavos, para faixas menores que R$ 1 continuarem distintas
+            Map<BigDecimal, Long> priceBuckets = new TreeMap<>();
+            total.priceBuckets.forEach((bucket, count) -> priceBuckets.put(BigDecimal.valueOf(bucket, 2), count));
+            return new Facets(total.count,
+                    brands.decode(total.brandCounts),
+                    models.decode(total.modelCounts),
+                    colors.decode(total.colorCounts),
+                    total.available,
+                    total.count - total.available,
+                    new TreeMap<>(total.yearBuckets),
+                    priceBuckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        brandCodes = Arrays.copyOf(brandCodes, newCapacity);
+        modelCodes = Arrays.copyOf(modelCodes, newCapacity);
+        colorCodes = Arrays.copyOf(colorCodes, newCapacity);
+        years = Arrays.copyOf(years, newCapacity);
+        priceCents = Arrays.copyOf(priceCents, newCapacity);
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value == null ? NO_PRICE : value.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private final class Partial {
+        private long count;
+        private long available;
+        private final long[] brandCounts;
+        private final long[] modelCounts;
+        private final long[] colorCounts;
+        private final Map<Integer, Long> yearBuckets = new HashMap<>();
+        private final Map<Long, Long> priceBuckets = new HashMap<>();
+
+        Partial(int brandCount, int modelCount, int colorCount) {
+            brandCounts = new long[brandCount];
+            modelCounts = new long[modelCount];
+            colorCounts = new long[colorCount];
+        }
+
+        void add(int slot, boolean isAvailable, int yearBucketSize, long priceBucketCents) {
+            count++;
+            if (isAvailable) {
+                available++;
+            }
+            increment(brandCounts, brandCodes[slot]);
+            increment(modelCounts, modelCodes[slot]);
+            increment(colorCounts, colorCodes[slot]);
+            yearBuckets.merge(years[slot] - Math.floorMod(years[slot], yearBucketSize), 1L, Long::sum);
+            if (priceCents[slot] != NO_PRICE) {
+                priceBuckets.merge(priceCents[slot] - Math.floorMod(priceCents[slot], priceBucketCents), 1L, Long::sum);
+            }
+        }
+
+        Partial merge(Partial other) {
+            count += other.count;
+            available += other.available;
+            for (int i = 0; i < brandCounts.length; i++) {
+                brandCounts[i] += other.brandCounts[i];
+            }
+            for (int i = 0; i < modelCounts.length; i++) {
+                modelCounts[i] += other.modelCounts[i];
+            }
+            for (int i = 0; i < colorCounts.length; i++) {
+                colorCounts[i] += other.colorCounts[i];
+            }
+            other.yearBuckets.forEach((bucket, value) -> yearBuckets.merge(bucket, value, Long::sum));
+            other.priceBuckets.forEach((bucket, value) -> priceBuckets.merge(bucket, value, Long::sum));
+            return this;
+        }
+
+        private void increment(long[] counts, int code) {
+            if (code != NONE) {
+                counts[code]++;
+            }
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int lookup(String value) {
+            return codes.getOrDefault(value, NONE);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        Map<String, Long> decode(long[] counts) {
+            Map<String, Long> decoded = new TreeMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    decoded.put(values.get(code), counts[code]);
+                }
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.vehicle_management_api.index;
+
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Base para estruturas em memória derivadas da tabela de veículos.
+ *
+ * Na inicialização a estrutura é reconstruída em lotes (paginação por chave) numa instância
+ * nova, que substitui a atual de uma só vez. Eventos recebidos durante a reconstrução são
+ * guardados e reaplicados na instância nova antes da troca, para que nenhuma escrita se perca.
+ * Com sharding ativo os lotes vêm dos shards, e não da tabela do JPA.
+ */
+public abstract class VehicleIndexSupport<S> {
+
+    private static final Logger logger = LogManager.getLogger(VehicleIndexSupport.class);
+
+    protected static final int REBUILD_BATCH_SIZE = 5_000;
+
+    protected final VehicleRepository vehicleRepository;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    protected ShardedVehicleRepository shardedVehicleRepository;
+
+    private final Object lock = new Object();
+    private volatile S structure;
+    private volatile boolean ready;
+    private List<Consumer<S>> pendingDuringRebuild;
+
+    protected VehicleIndexSupport(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+        this.structure = newStructure();
+    }
+
+    protected abstract S newStructure();
+
+    /**
+     * Indexa um lote de veículos na estrutura em construção. Pode ser chamado em paralelo
+     * pela implementação, mas nunca concorre com {@link #apply}.
+     */
+    protected abstract void index(S structure, List<Vehicle> batch);
+
+    protected abstract void apply(S structure, VehicleChangeEvent event);
+
+    /**
+     * Permite restaurar a estrutura de um snapshot em vez de recarregá-la do banco.
+     * Retorna null quando não houver snapshot válido.
+     */
+    protected S restore() {
+        return null;
+    }
+
+    /**
+     * Total de veículos na origem usada pela reconstrução.
+     */
+    protected long vehicleCount() {
+        return shardedVehicleRepository != null ? shardedVehicleRepository.count() : vehicleRepository.count();
+    }
+
+    protected S structure() {
+        return structure;
+    }
+
+    /**
+     * Verdadeiro depois da primeira reconstrução (ou restauração) concluída; antes disso a
+     * estrutura está vazia e não reflete o banco.
+     */
+    protected boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        S restored = restore();
+        if (restored != null) {
+            swap(restored);
+            logger.info("{} restaurado de snapshot em {} ms", getClass().getSimpleName(), System.currentTimeMillis() - start);
+            return;
+        }
+
+        S fresh = newStructure();
+        long lastId = 0L;
+        int total = 0;
+        try {
+            List<Vehicle> batch;
+            do {
+                batch = shardedVehicleRepository != null
+                        ? shardedVehicleRepository.findBatchAfterId(lastId, REBUILD_BATCH_SIZE)
+                        : vehicleRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (!batch.isEmpty()) {
+                    index(fresh, batch);
+                    lastId = batch.get(batch.size() - 1).getId();
+                    total += batch.size();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            logger.error("Falha ao reconstruir {}: {}", getClass().getSimpleName(), e.getMessage(), e);
+            return;
+        }
+
+        swap(fresh);
+        logger.info("{} reconstruído com {} veículos em {} ms",
+                getClass().getSimpleName(), total, System.currentTimeMillis() - start);
+    }
+
+    private void swap(S fresh) {
+        synchronized (lock) {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            structure = fresh;
+            ready = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChange(VehicleChangeEvent event) {
+        mutate(structure -> apply(structure, event));
+    }
+
+    /**
+     * Aplica uma alteração que não vem de um VehicleChangeEvent (por exemplo, dados de outra
+     * tabela) com as mesmas garantias: serializada com os eventos e reaplicada após uma
+     * reconstrução em andamento. A alteração deve ser idempotente.
+     */
+    protected void mutate(Consumer<S> change) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            change.accept(structure);
+        }
+    }
+}
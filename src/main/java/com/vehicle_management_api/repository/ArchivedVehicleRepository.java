@@ -0,0 +1,13 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.entity.ArchivedVehicle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedVehicleRepository extends JpaRepository<ArchivedVehicle, Long> {
+
+    Page<ArchivedVehicle> findByLicensePlate(String licensePlate, Pageable pageable);
+}
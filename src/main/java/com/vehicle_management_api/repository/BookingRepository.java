@@ -0,0 +1,33 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.entity.Booking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.vehicle.id = :vehicleId "
+            + "AND b.startDate <= :endDate AND b.endDate >= :startDate")
+    boolean existsOverlap(@Param("vehicleId") Long vehicleId, @Param("startDate") LocalDate startDate,
+                          @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.client WHERE b.vehicle.id = :vehicleId ORDER BY b.startDate")
+    List<Booking> findByVehicleIdWithClient(@Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.client WHERE b.id = :id")
+    Optional<Booking> findByIdWithClient(@Param("id") Long id);
+
+    /**
+     * Id, veículo, início e fim das reservas dos veículos informados, sem carregar as entidades.
+     */
+    @Query("SELECT b.id, b.vehicle.id, b.startDate, b.endDate FROM Booking b WHERE b.vehicle.id IN :vehicleIds")
+    List<Object[]> findIntervalsByVehicleIdIn(@Param("vehicleIds") Collection<Long> vehicleIds);
+}
@@ -1,20 +1,49 @@
 package com.vehicle_management_api.repository;
 
 import com.vehicle_management_api.entity.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
 
     Optional<Client> findByEmail(String email);
 
     Boolean existsByEmail(String email);
 
+    @Query("SELECT c.email FROM Client c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Chamado a cada requisição autenticada: resultado no cache de consultas do Hibernate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Client c WHERE c.email = :email AND c.isActive = true")
     Optional<Client> findByEmailAndActive(@Param("email") String email);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    @Query("SELECT c.version FROM Client c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Atualização condicionada à versão; a senha só é alterada quando informada.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Client c SET c.name = :name, c.password = COALESCE(:password, c.password), "
+            + "c.version = c.version + 1, c.updatedAt = :updatedAt WHERE c.id = :id AND c.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                        @Param("password") String password, @Param("updatedAt") LocalDateTime updatedAt);
 }
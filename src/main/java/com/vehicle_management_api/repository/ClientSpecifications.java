@@ -0,0 +1,55 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.dto.ClientFilter;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class ClientSpecifications {
+
+    private ClientSpecifications() {
+    }
+
+    /**
+     * Monta a especificação apenas com os critérios informados. Igualdades (tipo, ativo) vêm antes
+     * do prefixo para acompanhar os índices compostos de data.sql.
+     */
+    public static Specification<Client> fromFilter(ClientFilter filter) {
+        return Specification.allOf(
+                userTypeEquals(filter.getUserType()),
+                activeEquals(filter.getActive()),
+                startsWith("email", filter.getEmailPrefix()),
+                startsWith("name", filter.getNamePrefix()));
+    }
+
+    public static Specification<Client> userTypeEquals(UserType userType) {
+        return userType == null ? null : (root, query, cb) -> cb.equal(root.get("userType"), userType);
+    }
+
+    public static Specification<Client> activeEquals(Boolean active) {
+        return active == null ? null : (root, query, cb) -> cb.equal(root.get("isActive"), active);
+    }
+
+    /**
+     * LIKE 'prefixo%' usa o índice da coluna; curingas digitados pelo usuário são escapados.
+     */
+    public static Specification<Client> startsWith(String field, String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get(field), pattern, '\\');
+    }
+
+    /**
+     * Posição de keyset: linhas depois de (valor, id) na ordem (campo, id).
+     */
+    public static Specification<Client> after(String field, String value, Long id) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get(field), value),
+                cb.and(cb.equal(root.get(field), value), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,633 @@
+package com.vehicle_management_api.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.ShardStatsResponse;
+import com.vehicle_management_api.dto.VehicleChange;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tabela de veículos particionada entre N bancos (shards) pela {@link VehicleShardKey}.
+ *
+ * O id global leva o número do shard nos {@link #SHARD_BITS} bits baixos, então leitura, alteração
+ * e exclusão por id vão direto ao shard. Listagens, buscas e agregações consultam todos os shards
+ * em paralelo: para a página p de tamanho s cada shard devolve suas primeiras (p + 1) * s linhas
+ * na ordem pedida e o resultado é uma intercalação ordenada dessas listas (o offset é limitado
+ * por {@link VehicleFilter#MAX_OFFSET}).
+ *
+ * O total do filtro paginado é contado uma vez e guardado por {@link #TOTAL_TTL}; escritas feitas
+ * por este repositório descartam os totais, escritas de outras instâncias aparecem após o TTL.
+ *
+ * Unicidade da placa: com chave por placa o índice UNIQUE do shard basta, pois a mesma placa
+ * (sem diferenciar maiúsculas) sempre cai no mesmo shard. Com chave por dono a placa é antes
+ * gravada em vehicle_plate_registry no banco principal, cuja chave primária rejeita duplicatas
+ * entre shards; sem o registro seria só verificar-e-inserir, com corrida entre shards.
+ */
+public class ShardedVehicleRepository implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ShardedVehicleRepository.class);
+
+    static final int SHARD_BITS = 6;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final String COLUMNS = "id, brand, model, year, color, license_plate, price, is_available, "
+            + "created_at, created_by_name, version";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "brand", "brand", "model", "model", "year", "year", "price", "price", "createdAt", "created_at");
+
+    private static final RowMapper<VehicleDTO> ROW_MAPPER = (rs, rowNum) -> {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setBrand(rs.getString("brand"));
+        dto.setModel(rs.getString("model"));
+        dto.setYear(rs.getInt("year"));
+        dto.setColor(rs.getString("color"));
+        dto.setLicensePlate(rs.getString("license_plate"));
+        dto.setPrice(rs.getBigDecimal("price"));
+        dto.setIsAvailable(rs.getBoolean("is_available"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        dto.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        String createdBy = rs.getString("created_by_name");
+        dto.setCreatedBy(createdBy != null ? createdBy : "Sistema");
+        dto.setVersion(rs.getLong("version"));
+        return dto;
+    };
+
+    static final Duration TOTAL_TTL = Duration.ofSeconds(60);
+
+    private final List<Shard> shards;
+    private final VehicleShardKey shardKey;
+    private final Executor executor;
+    // Só com chave por dono; nulo com chave por placa
+    private final JdbcTemplate plateRegistry;
+    private final Cache<String, Long> totals = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(TOTAL_TTL)
+            .build();
+
+    /**
+     * @param primary banco principal com vehicle_plate_registry; obrigatório com chave por dono
+     */
+    public ShardedVehicleRepository(List<DataSource> dataSources, VehicleShardKey shardKey, Executor executor,
+                                    DataSource primary) {
+        if (dataSources.isEmpty() || dataSources.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Quantidade de shards deve estar entre 1 e " + MAX_SHARDS);
+        }
+        if (shardKey == VehicleShardKey.OWNER && primary == null) {
+            throw new IllegalArgumentException("Sharding por dono exige o banco principal para o registro de placas");
+        }
+        this.shards = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            shards.add(new Shard(i, dataSources.get(i)));
+        }
+        this.shardKey = shardKey;
+        this.executor = executor;
+        this.plateRegistry = shardKey == VehicleShardKey.OWNER ? new JdbcTemplate(primary) : null;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public VehicleShardKey shardKey() {
+        return shardKey;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id & (MAX_SHARDS - 1));
+    }
+
+    public VehicleDTO insert(VehicleDTO dto, Client owner) {
+        Long ownerId = owner != null ? owner.getId() : null;
+        Shard shard = shards.get(shardKey.shardFor(dto.getLicensePlate(), ownerId, shards.size()));
+        long id = shard.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        registerPlate(dto.getLicensePlate(), id);
+        try {
+            shard.jdbc.update("INSERT INTO vehicles (id, brand, model, year, color, license_plate, price, is_available, "
+                            + "created_at, updated_at, created_by, created_by_name, version) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                    id, dto.getBrand(), dto.getModel(), dto.getYear(), dto.getColor(), dto.getLicensePlate(),
+                    dto.getPrice(), dto.getIsAvailable() != null ? dto.getIsAvailable() : true,
+                    now, now, ownerId, owner != null ? owner.getName() : null);
+        } catch (RuntimeException e) {
+            unregisterPlate(dto.getLicensePlate(), id);
+            if (e instanceof DuplicateKeyException) {
+                throw new RuntimeException("Veículo com esta placa já existe");
+            }
+            throw e;
+        }
+        totals.invalidateAll();
+        return findById(id).orElseThrow();
+    }
+
+    public Optional<VehicleDTO> findById(long id) {
+        Shard shard = shardFor(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        return shard.jdbc.query("SELECT " + COLUMNS + " FROM vehicles WHERE id = ?", ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Agrupa os IDs pelo shard embutido neles e faz uma consulta IN por shard envolvido.
+     */
+    public List<VehicleDTO> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            Shard shard = shardFor(id);
+            if (shard != null) {
+                idsByShard.computeIfAbsent(shard.index, index -> new ArrayList<>()).add(id);
+            }
+        }
+        return fanOut(shard -> {
+            List<Long> shardIds = idsByShard.get(shard.index);
+            if (shardIds == null) {
+                return List.<VehicleDTO>of();
+            }
+            String placeholders = String.join(", ", Collections.nCopies(shardIds.size(), "?"));
+            return shard.jdbc.query("SELECT " + COLUMNS + " FROM vehicles WHERE id IN (" + placeholders + ")",
+                    ROW_MAPPER, shardIds.toArray());
+        }).stream().flatMap(List::stream).toList();
+    }
+
+    public Optional<VehicleDTO> findByLicensePlate(String licensePlate) {
+        Function<Shard, List<VehicleDTO>> query = shard -> shard.jdbc.query(
+                "SELECT " + COLUMNS + " FROM vehicles WHERE license_plate = ?", ROW_MAPPER, licensePlate);
+        if (shardKey == VehicleShardKey.LICENSE_PLATE) {
+            return query.apply(shards.get(shardKey.shardFor(licensePlate, null, shards.size()))).stream().findFirst();
+        }
+        return plateRegistry.queryForList("SELECT vehicle_id FROM vehicle_plate_registry WHERE license_plate = ?",
+                        Long.class, normalize(licensePlate))
+                .stream().findFirst().flatMap(this::findById);
+    }
+
+    /**
+     * Placas do conjunto que já existem: no shard de cada placa (chave por placa) ou no registro
+     * global (chave por dono).
+     */
+    public Set<String> findExistingLicensePlates(Collection<String> licensePlates) {
+        if (plateRegistry != null) {
+            // Placas devolvidas em maiúsculas, como estão no registro
+            List<String> normalized = licensePlates.stream().map(ShardedVehicleRepository::normalize).toList();
+            String placeholders = String.join(", ", Collections.nCopies(normalized.size(), "?"));
+            return new HashSet<>(plateRegistry.queryForList("SELECT license_plate FROM vehicle_plate_registry "
+                    + "WHERE license_plate IN (" + placeholders + ")", String.class, normalized.toArray()));
+        }
+        Map<Integer, List<String>> platesByShard = new HashMap<>();
+        for (String plate : licensePlates) {
+            platesByShard.computeIfAbsent(shardKey.shardFor(plate, null, shards.size()), index -> new ArrayList<>())
+                    .add(plate);
+        }
+        return fanOut(shard -> {
+            List<String> plates = platesByShard.get(shard.index);
+            if (plates == null) {
+                return List.<String>of();
+            }
+            String placeholders = String.join(", ", Collections.nCopies(plates.size(), "?"));
+            return shard.jdbc.queryForList("SELECT license_plate FROM vehicles WHERE license_plate IN (" + placeholders + ")",
+                    String.class, plates.toArray());
+        }).stream().flatMap(List::stream).collect(Collectors.toSet());
+    }
+
+    /**
+     * Verifica a placa no shard dela (chave por placa) ou no registro global (chave por dono). É só
+     * uma checagem antecipada: quem garante a unicidade é o índice UNIQUE ou o registro na gravação.
+     */
+    public boolean existsByLicensePlate(String licensePlate, Long exceptId) {
+        long except = exceptId != null ? exceptId : 0L;
+        if (plateRegistry != null) {
+            return !plateRegistry.queryForList("SELECT vehicle_id FROM vehicle_plate_registry "
+                    + "WHERE license_plate = ? AND vehicle_id <> ?", Long.class, normalize(licensePlate), except).isEmpty();
+        }
+        Shard shard = shards.get(shardKey.shardFor(licensePlate, null, shards.size()));
+        return !shard.jdbc.queryForList("SELECT id FROM vehicles WHERE license_plate = ? AND id <> ?", Long.class,
+                licensePlate, except).isEmpty();
+    }
+
+    /**
+     * Altera o veículo no shard dele; com {@code expectedVersion} a alteração só ocorre se a versão
+     * confere. Retorna as linhas alteradas.
+     */
+    public int update(long id, VehicleDTO dto, Long expectedVersion) {
+        Shard shard = shardFor(id);
+        if (shard == null) {
+            return 0;
+        }
+        if (shardKey == VehicleShardKey.LICENSE_PLATE
+                && shardKey.shardFor(dto.getLicensePlate(), null, shards.size()) != shard.index) {
+            // O id carrega o shard; trocar de shard mudaria o id do veículo
+            throw new RuntimeException("Alteração de placa moveria o veículo para outro shard; exclua e cadastre novamente");
+        }
+        String previousPlate = null;
+        if (plateRegistry != null) {
+            List<String> current = shard.jdbc.queryForList("SELECT license_plate FROM vehicles WHERE id = ?", String.class, id);
+            if (current.isEmpty()) {
+                return 0;
+            }
+            if (!normalize(current.get(0)).equals(normalize(dto.getLicensePlate()))) {
+                previousPlate = current.get(0);
+                registerPlate(dto.getLicensePlate(), id);
+            }
+        }
+        String sql = "UPDATE vehicles SET brand = ?, model = ?, year = ?, color = ?, license_plate = ?, price = ?, "
+                + "is_available = COALESCE(?, is_available), version = version + 1, updated_at = ? WHERE id = ?";
+        int updated;
+        try {
+            updated = expectedVersion == null
+                    ? shard.jdbc.update(sql, dto.getBrand(), dto.getModel(), dto.getYear(), dto.getColor(),
+                            dto.getLicensePlate(), dto.getPrice(), dto.getIsAvailable(), LocalDateTime.now(), id)
+                    : shard.jdbc.update(sql + " AND version = ?", dto.getBrand(), dto.getModel(), dto.getYear(),
+                            dto.getColor(), dto.getLicensePlate(), dto.getPrice(), dto.getIsAvailable(), LocalDateTime.now(),
+                            id, expectedVersion);
+        } catch (RuntimeException e) {
+            if (previousPlate != null) {
+                unregisterPlate(dto.getLicensePlate(), id);
+            }
+            if (e instanceof DuplicateKeyException) {
+                throw new RuntimeException("Veículo com esta placa já existe");
+            }
+            throw e;
+        }
+        if (previousPlate != null) {
+            // Placa nova já registrada: libera a antiga, ou a nova se o UPDATE não aconteceu
+            unregisterPlate(updated > 0 ? previousPlate : dto.getLicensePlate(), id);
+        }
+        totals.invalidateAll();
+        return updated;
+    }
+
+    public boolean deleteById(long id) {
+        Shard shard = shardFor(id);
+        if (shard == null || shard.jdbc.update("DELETE FROM vehicles WHERE id = ?", id) == 0) {
+            return false;
+        }
+        if (plateRegistry != null) {
+            plateRegistry.update("DELETE FROM vehicle_plate_registry WHERE vehicle_id = ?", id);
+        }
+        totals.invalidateAll();
+        return true;
+    }
+
+    /**
+     * Todos os veículos que casam com marca, modelo e disponibilidade (nulos não restringem), por id.
+     */
+    public List<VehicleDTO> findAll(String brand, String model, Boolean available) {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand(brand);
+        filter.setModel(model);
+        filter.setIsAvailable(available);
+        Where where = where(filter);
+        List<List<VehicleDTO>> perShard = fanOut(shard -> shard.jdbc.query(
+                "SELECT " + COLUMNS + " FROM vehicles" + where.sql + " ORDER BY id", ROW_MAPPER, where.args.toArray()));
+        return merge(perShard, Comparator.comparing(VehicleDTO::getId), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Filtro paginado espalhado por todos os shards; o filtro já deve estar normalizado.
+     */
+    public PageResponse<VehicleDTO> search(VehicleFilter filter) {
+        Where where = where(filter);
+        String column = SORT_COLUMNS.get(filter.getSortBy());
+        boolean descending = "DESC".equals(filter.getDirection());
+        int limit = (filter.getPage() + 1) * filter.getSize();
+        String sql = "SELECT " + COLUMNS + " FROM vehicles" + where.sql
+                + " ORDER BY " + column + (descending ? " DESC" : " ASC") + (column.equals("id") ? "" : ", id ASC")
+                + " LIMIT " + limit;
+
+        // O COUNT(*) de cada shard só roda quando o total do filtro não está guardado
+        String totalKey = where.sql + where.args;
+        Long cachedTotal = totals.getIfPresent(totalKey);
+        List<ShardPage> pages = fanOut(shard -> new ShardPage(
+                shard.jdbc.query(sql, ROW_MAPPER, where.args.toArray()),
+                cachedTotal != null ? 0L
+                        : shard.jdbc.queryForObject("SELECT COUNT(*) FROM vehicles" + where.sql, Long.class, where.args.toArray())));
+
+        Comparator<VehicleDTO> order = comparator(filter.getSortBy());
+        if (descending) {
+            order = order.reversed();
+        }
+        if (!"id".equals(filter.getSortBy())) {
+            order = order.thenComparing(VehicleDTO::getId);
+        }
+        List<VehicleDTO> content = merge(pages.stream().map(ShardPage::rows).toList(), order,
+                filter.getPage() * filter.getSize(), filter.getSize());
+        long total = cachedTotal != null ? cachedTotal : pages.stream().mapToLong(ShardPage::total).sum();
+        if (cachedTotal == null) {
+            totals.put(totalKey, total);
+        }
+        return new PageResponse<>(content, filter.getPage(), filter.getSize(), total,
+                (int) ((total + filter.getSize() - 1) / filter.getSize()));
+    }
+
+    /**
+     * Próximos {@code limit} veículos com id maior que {@code afterId}, em ordem de id, para a
+     * reconstrução das estruturas em memória. As entidades não são gerenciadas pelo JPA.
+     */
+    public List<Vehicle> findBatchAfterId(long afterId, int limit) {
+        List<List<VehicleDTO>> perShard = fanOut(shard -> shard.jdbc.query(
+                "SELECT " + COLUMNS + " FROM vehicles WHERE id > ? ORDER BY id LIMIT " + limit, ROW_MAPPER, afterId));
+        return merge(perShard, Comparator.comparing(VehicleDTO::getId), 0, limit).stream()
+                .map(ShardedVehicleRepository::toEntity)
+                .toList();
+    }
+
+    /**
+     * Preço atual de cada veículo do grupo; campos nulos casam com NULL, como a consulta derivada do JPA.
+     */
+    public Map<Long, BigDecimal> findPricesByGroup(String brand, String model, Integer year) {
+        String sql = "SELECT id, price FROM vehicles WHERE " + (brand != null ? "brand = ?" : "brand IS NULL")
+                + " AND " + (model != null ? "model = ?" : "model IS NULL")
+                + " AND " + (year != null ? "year = ?" : "year IS NULL");
+        Object[] args = Stream.of(brand, model, year).filter(Objects::nonNull).toArray();
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        fanOut(shard -> {
+            Map<Long, BigDecimal> shardPrices = new HashMap<>();
+            shard.jdbc.query(sql, rs -> {
+                shardPrices.put(rs.getLong("id"), rs.getBigDecimal("price"));
+            }, args);
+            return shardPrices;
+        }).forEach(prices::putAll);
+        return prices;
+    }
+
+    /**
+     * Alterações com (updated_at, id) posterior à posição e updated_at até {@code until}, na ordem
+     * do feed; cada shard devolve no máximo {@code limit} linhas.
+     */
+    public List<VehicleChange> findChangedAfter(LocalDateTime since, long afterId, LocalDateTime until, int limit) {
+        String sql = "SELECT " + COLUMNS + ", updated_at FROM vehicles WHERE updated_at <= ? "
+                + "AND (updated_at > ? OR (updated_at = ? AND id > ?)) ORDER BY updated_at ASC, id ASC LIMIT " + limit;
+        return fanOut(shard -> shard.jdbc.query(sql, (rs, rowNum) -> {
+                    VehicleDTO dto = ROW_MAPPER.mapRow(rs, rowNum);
+                    return new VehicleChange(VehicleChange.Type.UPSERT, dto.getId(),
+                            rs.getTimestamp("updated_at").toLocalDateTime(), dto);
+                }, until, since, since, afterId))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(VehicleChange::getChangedAt).thenComparing(VehicleChange::getVehicleId))
+                .limit(limit)
+                .toList();
+    }
+
+    public long count() {
+        return fanOut(shard -> shard.jdbc.queryForObject("SELECT COUNT(*) FROM vehicles", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    public LocalDateTime findMaxUpdatedAt() {
+        return fanOut(shard -> Optional.ofNullable(
+                shard.jdbc.queryForObject("SELECT MAX(updated_at) FROM vehicles", Timestamp.class)))
+                .stream()
+                .flatMap(Optional::stream)
+                .map(Timestamp::toLocalDateTime)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Contagem por shard e por marca, somadas a partir de agregações locais de cada shard.
+     */
+    public ShardStatsResponse stats() {
+        List<ShardSummary> summaries = fanOut(shard -> {
+            Map<String, Long> byBrand = new TreeMap<>();
+            long[] totals = new long[2];
+            shard.jdbc.query("SELECT brand, COUNT(*) AS total, "
+                    + "SUM(CASE WHEN is_available = TRUE THEN 1 ELSE 0 END) AS available "
+                    + "FROM vehicles GROUP BY brand", rs -> {
+                byBrand.put(rs.getString("brand"), rs.getLong("total"));
+                totals[0] += rs.getLong("total");
+                totals[1] += rs.getLong("available");
+            });
+            return new ShardSummary(new ShardStatsResponse.ShardStats(shard.index, totals[0], totals[1]), byBrand);
+        });
+
+        Map<String, Long> byBrand = new TreeMap<>();
+        summaries.forEach(summary -> summary.byBrand().forEach((brand, count) -> byBrand.merge(brand, count, Long::sum)));
+        List<ShardStatsResponse.ShardStats> perShard = summaries.stream().map(ShardSummary::stats).toList();
+        return new ShardStatsResponse(shardKey.name(), perShard,
+                perShard.stream().mapToLong(ShardStatsResponse.ShardStats::getVehicles).sum(), byBrand);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : shards) {
+            if (shard.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Shard shardFor(long id) {
+        int index = shardOf(id);
+        return index < shards.size() ? shards.get(index) : null;
+    }
+
+    private <T> List<T> fanOut(Function<Shard, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            logger.error("Falha ao consultar shard: {}", e.getCause().getMessage());
+            throw new RuntimeException("Falha ao consultar shard: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Intercala listas já ordenadas, descartando as {@code skip} primeiras linhas.
+     */
+    static List<VehicleDTO> merge(List<List<VehicleDTO>> sorted, Comparator<VehicleDTO> order, int skip, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> order.compare(a.current(), b.current()));
+        for (List<VehicleDTO> rows : sorted) {
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor(rows));
+            }
+        }
+        List<VehicleDTO> result = new ArrayList<>();
+        int position = 0;
+        while (!heads.isEmpty() && result.size() < limit) {
+            Cursor head = heads.poll();
+            if (position++ >= skip) {
+                result.add(head.current());
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reserva a placa no registro global antes da gravação no shard; a chave primária rejeita a
+     * mesma placa vinda de outro shard. Sem efeito com chave por placa.
+     */
+    private void registerPlate(String licensePlate, long id) {
+        if (plateRegistry == null) {
+            return;
+        }
+        try {
+            plateRegistry.update("INSERT INTO vehicle_plate_registry (license_plate, vehicle_id) VALUES (?, ?)",
+                    normalize(licensePlate), id);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Veículo com esta placa já existe");
+        }
+    }
+
+    private void unregisterPlate(String licensePlate, long id) {
+        if (plateRegistry != null) {
+            plateRegistry.update("DELETE FROM vehicle_plate_registry WHERE license_plate = ? AND vehicle_id = ?",
+                    normalize(licensePlate), id);
+        }
+    }
+
+    private static String normalize(String licensePlate) {
+        return licensePlate.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Vehicle toEntity(VehicleDTO dto) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(dto.getId());
+        vehicle.setBrand(dto.getBrand());
+        vehicle.setModel(dto.getModel());
+        vehicle.setYear(dto.getYear());
+        vehicle.setColor(dto.getColor());
+        vehicle.setLicensePlate(dto.getLicensePlate());
+        vehicle.setPrice(dto.getPrice());
+        vehicle.setIsAvailable(dto.getIsAvailable());
+        vehicle.setCreatedAt(dto.getCreatedAt());
+        vehicle.setVersion(dto.getVersion());
+        return vehicle;
+    }
+
+    private static Comparator<VehicleDTO> comparator(String sortBy) {
+        // Textos sem diferenciar maiúsculas, como a collation padrão do MySQL
+        Comparator<String> text = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+        return switch (sortBy) {
+            case "brand" -> Comparator.comparing(VehicleDTO::getBrand, text);
+            case "model" -> Comparator.comparing(VehicleDTO::getModel, text);
+            case "year" -> Comparator.comparing(VehicleDTO::getYear, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+            case "price" -> Comparator.comparing(VehicleDTO::getPrice, Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()));
+            case "createdAt" -> Comparator.comparing(VehicleDTO::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+            default -> Comparator.comparing(VehicleDTO::getId);
+        };
+    }
+
+    private static Where where(VehicleFilter filter) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        condition(sql, args, "brand = ?", filter.getBrand());
+        condition(sql, args, "model = ?", filter.getModel());
+        condition(sql, args, "color = ?", filter.getColor());
+        condition(sql, args, "price >= ?", filter.getMinPrice());
+        condition(sql, args, "price <= ?", filter.getMaxPrice());
+        condition(sql, args, "year >= ?", filter.getMinYear());
+        condition(sql, args, "year <= ?", filter.getMaxYear());
+        condition(sql, args, "is_available = ?", filter.getIsAvailable());
+        return new Where(sql.toString(), args);
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String predicate, Object value) {
+        if (value != null) {
+            sql.append(args.isEmpty() ? " WHERE " : " AND ").append(predicate);
+            args.add(value);
+        }
+    }
+
+    private record Where(String sql, List<Object> args) {
+    }
+
+    private record ShardPage(List<VehicleDTO> rows, long total) {
+    }
+
+    private record ShardSummary(ShardStatsResponse.ShardStats stats, Map<String, Long> byBrand) {
+    }
+
+    private static final class Cursor {
+        private final List<VehicleDTO> rows;
+        private int index;
+
+        Cursor(List<VehicleDTO> rows) {
+            this.rows = rows;
+        }
+
+        VehicleDTO current() {
+            return rows.get(index);
+        }
+
+        boolean advance() {
+            return ++index < rows.size();
+        }
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transactionTemplate;
+        private long nextLocalId;
+        private long blockEnd;
+
+        Shard(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        /**
+         * Id global do próximo veículo. Ids locais são reservados em blocos de
+         * {@link Vehicle#ALLOCATION_SIZE} na tabela vehicle_seq do shard, como o gerador pooled do Hibernate.
+         */
+        synchronized long nextId() {
+            if (nextLocalId == blockEnd) {
+                Long end = transactionTemplate.execute(status -> {
+                    jdbc.update("UPDATE vehicle_seq SET next_val = next_val + ?", Vehicle.ALLOCATION_SIZE);
+                    return jdbc.queryForObject("SELECT next_val FROM vehicle_seq", Long.class);
+                });
+                blockEnd = end;
+                nextLocalId = end - Vehicle.ALLOCATION_SIZE;
+            }
+            return (nextLocalId++ << SHARD_BITS) | index;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.entity.VehicleHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VehicleHistoryRepository extends JpaRepository<VehicleHistory, Long> {
+
+    Page<VehicleHistory> findByVehicleId(Long vehicleId, Pageable pageable);
+
+    Page<VehicleHistory> findByActor(String actor, Pageable pageable);
+}
@@ -1,16 +1,29 @@
 package com.vehicle_management_api.repository;
 
+import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.entity.Vehicle;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle>, VehicleRepositoryCustom {
 
     Optional<Vehicle> findByLicensePlate(String licensePlate);
 
@@ -20,11 +33,153 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     List<Vehicle> findByIsAvailableTrue();
 
-    @Query("SELECT v FROM Vehicle v WHERE v.brand LIKE %:brand% OR v.model LIKE %:model%")
-    List<Vehicle> findByBrandOrModelContaining(@Param("brand") String brand, @Param("model") String model);
+    List<Vehicle> findByBrandAndModelAndYear(String brand, String model, Integer year);
 
+    @Query("SELECT MAX(v.updatedAt) FROM Vehicle v")
+    LocalDateTime findMaxUpdatedAt();
+
+    List<Vehicle> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Leitura pela consulta e não pelo cache de segundo nível, que na mesma transação ainda guarda
+     * o estado anterior a um UPDATE em massa como {@link #updateIfVersion}.
+     */
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.createdBy WHERE v.id = :id")
+    Optional<Vehicle> findWithCreatorById(@Param("id") Long id);
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.createdBy WHERE v.id IN :ids")
+    List<Vehicle> findAllWithCreatorByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Boolean existsByLicensePlate(String licensePlate);
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    /**
+     * Id, marca, modelo e placa dos veículos da lista cuja disponibilidade difere do valor informado.
+     */
+    @Query("SELECT v.id, v.brand, v.model, v.licensePlate FROM Vehicle v WHERE v.id IN :ids "
+            + "AND (v.isAvailable IS NULL OR v.isAvailable <> :available)")
+    List<Object[]> findAvailabilityChanges(@Param("ids") Collection<Long> ids, @Param("available") Boolean available);
+
+    /**
+     * Atualização condicionada à versão: retorna 0 se o veículo não existir ou se a versão
+     * informada estiver desatualizada, sem leitura prévia nem lock.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.brand = :brand, v.model = :model, v.year = :year, v.color = :color, "
+            + "v.licensePlate = :licensePlate, v.price = :price, "
+            + "v.isAvailable = COALESCE(:available, v.isAvailable), v.contentHash = :contentHash, "
+            + "v.version = v.version + 1, v.updatedAt = :updatedAt "
+            + "WHERE v.id = :id AND v.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version,
+                        @Param("brand") String brand, @Param("model") String model, @Param("year") Integer year,
+                        @Param("color") String color, @Param("licensePlate") String licensePlate,
+                        @Param("price") BigDecimal price, @Param("available") Boolean available,
+                        @Param("contentHash") String contentHash, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Descarta a reserva de um veículo marcado como disponível fora do fluxo de reservas. O JPQL
+    // não aceita CASE numa associação, então não cabe no UPDATE condicionado à versão
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.reservedBy = null, v.reservedUntil = null "
+            + "WHERE v.id = :id AND (v.reservedBy IS NOT NULL OR v.reservedUntil IS NOT NULL)")
+    int clearReservation(@Param("id") Long id);
+
+    // Serializa operações que dependem de outras tabelas do mesmo veículo (ex.: reservas de período)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vehicle v WHERE v.id = :id")
+    Optional<Vehicle> findByIdForUpdate(@Param("id") Long id);
+
+    // Id, marca, modelo e placa: as chaves de cache do veículo (ver VehicleCacheEvictor)
+    @Query("SELECT v.id, v.brand, v.model, v.licensePlate FROM Vehicle v WHERE v.id IN :ids")
+    List<Object[]> findCacheKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Alterar a disponibilidade manualmente descarta qualquer reserva em andamento
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.isAvailable = :available, v.reservedBy = null, v.reservedUntil = null, "
+            + "v.version = v.version + 1, v.updatedAt = :updatedAt WHERE v.id IN :ids")
+    int updateAvailability(@Param("ids") Collection<Long> ids, @Param("available") Boolean available,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Reserva condicional: só altera a linha se o veículo estiver disponível ou com a reserva
+     * expirada. O banco serializa as escritas na linha, então apenas um chamador obtém 1.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.isAvailable = false, v.reservedBy = :client, v.reservedUntil = :until, "
+            + "v.version = v.version + 1, v.updatedAt = :now WHERE v.id = :id "
+            + "AND (v.isAvailable = true OR (v.reservedUntil IS NOT NULL AND v.reservedUntil < :now))")
+    int reserve(@Param("id") Long id, @Param("client") Client client,
+                @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.isAvailable = true, v.reservedBy = null, v.reservedUntil = null, "
+            + "v.version = v.version + 1, v.updatedAt = :now WHERE v.id = :id AND v.reservedUntil IS NOT NULL "
+            + "AND (:any = true OR v.reservedBy = :client)")
+    int release(@Param("id") Long id, @Param("client") Client client, @Param("any") boolean any,
+                @Param("now") LocalDateTime now);
+
+    @Query("SELECT v.id, v.brand, v.model, v.licensePlate FROM Vehicle v WHERE v.reservedUntil < :now")
+    List<Object[]> findExpiredReservations(@Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.isAvailable = true, v.reservedBy = null, v.reservedUntil = null, "
+            + "v.version = v.version + 1, v.updatedAt = :now WHERE v.id IN :ids AND v.reservedUntil < :now")
+    int releaseExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Veículos alterados após a posição (updatedAt, id) do cursor e até {@code until}, na ordem do feed.
+     */
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.createdBy WHERE v.updatedAt <= :until "
+            + "AND (v.updatedAt > :since OR (v.updatedAt = :since AND v.id > :afterId)) "
+            + "ORDER BY v.updatedAt ASC, v.id ASC")
+    List<Vehicle> findChangedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * Próximo bloco de ids arquiváveis: indisponíveis sem alteração desde {@code cutoff}, sem
+     * reserva ativa e sem reservas de período futuras.
+     */
+    @Query("SELECT v.id FROM Vehicle v WHERE v.id > :afterId AND v.isAvailable = false AND v.updatedAt < :cutoff "
+            + "AND (v.reservedUntil IS NULL OR v.reservedUntil < :now) "
+            + "AND NOT EXISTS (SELECT 1 FROM Booking b WHERE b.vehicle = v AND b.endDate >= :today) "
+            + "ORDER BY v.id ASC")
+    List<Long> findArchivableIds(@Param("afterId") Long afterId, @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("now") LocalDateTime now, @Param("today") LocalDate today, Pageable pageable);
+
+    /**
+     * Bloqueia os veículos do bloco que ainda atendem à regra de arquivamento.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vehicle v WHERE v.id IN :ids AND v.isAvailable = false AND v.updatedAt < :cutoff "
+            + "AND (v.reservedUntil IS NULL OR v.reservedUntil < :now) "
+            + "AND NOT EXISTS (SELECT 1 FROM Booking b WHERE b.vehicle = v AND b.endDate >= :today)")
+    List<Vehicle> lockArchivable(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("now") LocalDateTime now, @Param("today") LocalDate today);
+
+    /**
+     * Estado do revendedor para a sincronização de feed: linhas (placa, id, contentHash).
+     */
+    @Query("SELECT v.licensePlate, v.id, v.contentHash FROM Vehicle v WHERE v.createdBy.id = :dealerId")
+    List<Object[]> findFeedStateByDealer(@Param("dealerId") Long dealerId);
+
+    /**
+     * Bloqueia os veículos ausentes do feed que podem ser excluídos: sem reserva ativa e sem reservas
+     * de período futuras (excluir o veículo apagaria essas reservas em cascata).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vehicle v WHERE v.id IN :ids "
+            + "AND (v.reservedUntil IS NULL OR v.reservedUntil < :now) "
+            + "AND NOT EXISTS (SELECT 1 FROM Booking b WHERE b.vehicle = v AND b.endDate >= :today)")
+    List<Vehicle> lockDeletable(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                                @Param("today") LocalDate today);
+
+    @Query("SELECT v.licensePlate FROM Vehicle v WHERE v.licensePlate IN :licensePlates")
+    List<String> findExistingLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(v) > 0 FROM Vehicle v WHERE v.licensePlate = :licensePlate AND v.id != :id")
     Boolean existsByLicensePlateAndIdNot(@Param("licensePlate") String licensePlate, @Param("id") Long id);
 }
@@ -0,0 +1,31 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.entity.Vehicle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface VehicleRepositoryCustom {
+
+    /**
+     * Ids dos veículos que atendem à especificação, em ordem crescente, no máximo {@code limit}.
+     * Consulta apenas a coluna id, sem carregar as entidades.
+     */
+    List<Long> findIds(Specification<Vehicle> specification, int limit);
+
+    /**
+     * Página de veículos sem a contagem que acompanha {@code findAll(spec, Pageable)}; o criador vem
+     * no mesmo SELECT. Quem chama pede uma linha a mais para saber se há próxima página.
+     */
+    List<Vehicle> findSlice(Specification<Vehicle> specification, Sort sort, long offset, int limit);
+
+    /**
+     * Seleciona só as colunas dos campos pedidos (nomes do VehicleDTO), sem carregar entidades.
+     * O join com o criador só é feito quando {@code createdBy} está entre os campos.
+     * Com {@code limit} zero não há limite.
+     */
+    List<Map<String, Object>> findFields(Specification<Vehicle> specification, List<String> fields,
+                                         Sort sort, long offset, int limit);
+}
@@ -0,0 +1,40 @@
+package com.vehicle_management_api.repository;
+
+import java.util.Locale;
+
+/**
+ * Chave de particionamento dos veículos entre shards.
+ */
+public enum VehicleShardKey {
+
+    /**
+     * Hash da placa: distribui uniformemente e a unicidade da placa fica garantida pelo próprio
+     * shard. Busca por placa vai direto ao shard; busca por dono é espalhada.
+     */
+    LICENSE_PLATE,
+
+    /**
+     * Cliente dono (created_by): a frota de um cliente fica num só shard. Busca por dono vai direto;
+     * a unicidade da placa depende do registro global de placas no banco principal.
+     */
+    OWNER;
+
+    public int shardFor(String licensePlate, Long ownerId, int shardCount) {
+        if (this == OWNER) {
+            return ownerId != null ? (int) Math.floorMod(mix(ownerId), (long) shardCount) : 0;
+        }
+        // Placas que diferem só em maiúsculas caem no mesmo shard, onde o índice UNIQUE as compara
+        return (int) Math.floorMod(mix(licensePlate.toUpperCase(Locale.ROOT).hashCode()), (long) shardCount);
+    }
+
+    // Finalizador do MurmurHash3 (fmix64): ids sequenciais e placas parecidas caem em shards distintos
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
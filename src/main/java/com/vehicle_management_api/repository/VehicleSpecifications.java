@@ -0,0 +1,71 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Vehicle;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+public final class VehicleSpecifications {
+
+    private VehicleSpecifications() {
+    }
+
+    /**
+     * Monta a especificação apenas com os critérios informados. Os predicados de igualdade
+     * (marca, modelo, disponibilidade) vêm antes dos de intervalo para acompanhar os índices compostos.
+     */
+    public static Specification<Vehicle> fromFilter(VehicleFilter filter) {
+        return Specification.allOf(
+                brandEquals(filter.getBrand()),
+                modelEquals(filter.getModel()),
+                availableEquals(filter.getIsAvailable()),
+                colorEquals(filter.getColor()),
+                yearBetween(filter.getMinYear(), filter.getMaxYear()),
+                priceBetween(filter.getMinPrice(), filter.getMaxPrice()));
+    }
+
+    public static Specification<Vehicle> brandEquals(String brand) {
+        return brand == null ? null : (root, query, cb) -> cb.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<Vehicle> modelEquals(String model) {
+        return model == null ? null : (root, query, cb) -> cb.equal(root.get("model"), model);
+    }
+
+    public static Specification<Vehicle> colorEquals(String color) {
+        return color == null ? null : (root, query, cb) -> cb.equal(root.get("color"), color);
+    }
+
+    public static Specification<Vehicle> availableEquals(Boolean available) {
+        return available == null ? null : (root, query, cb) -> cb.equal(root.get("isAvailable"), available);
+    }
+
+    public static Specification<Vehicle> yearBetween(Integer minYear, Integer maxYear) {
+        if (minYear == null && maxYear == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minYear != null && maxYear != null) {
+                return cb.between(root.get("year"), minYear, maxYear);
+            }
+            return minYear != null
+                    ? cb.greaterThanOrEqualTo(root.get("year"), minYear)
+                    : cb.lessThanOrEqualTo(root.get("year"), maxYear);
+        };
+    }
+
+    public static Specification<Vehicle> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minPrice != null && maxPrice != null) {
+                return cb.between(root.get("price"), minPrice, maxPrice);
+            }
+            return minPrice != null
+                    ? cb.greaterThanOrEqualTo(root.get("price"), minPrice)
+                    : cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+        };
+    }
+}
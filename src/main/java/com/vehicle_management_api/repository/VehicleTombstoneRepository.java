@@ -0,0 +1,29 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.entity.VehicleTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VehicleTombstoneRepository extends JpaRepository<VehicleTombstone, Long> {
+
+    /**
+     * Exclusões posteriores à posição (deletedAt, vehicleId) do cursor e anteriores a {@code until}.
+     */
+    @Query("SELECT t FROM VehicleTombstone t WHERE t.deletedAt <= :until "
+            + "AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.vehicleId > :afterId)) "
+            + "ORDER BY t.deletedAt ASC, t.vehicleId ASC")
+    List<VehicleTombstone> findDeletedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                            @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM VehicleTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,121 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BookingDTO;
+import com.vehicle_management_api.entity.Booking;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.event.BookingChangeEvent;
+import com.vehicle_management_api.exception.ShardingUnsupportedException;
+import com.vehicle_management_api.repository.BookingRepository;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import jakarta.transaction.Transactional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class BookingService {
+
+    private static final Logger logger = LogManager.getLogger(BookingService.class);
+
+    public static final int MAX_BOOKING_DAYS = 365;
+
+    private final BookingRepository bookingRepository;
+    private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public BookingService(BookingRepository bookingRepository, VehicleRepository vehicleRepository,
+                          ApplicationEventPublisher eventPublisher) {
+        this.bookingRepository = bookingRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Cria a reserva de período. A linha do veículo é bloqueada durante a verificação de conflito,
+     * de modo que duas reservas simultâneas para o mesmo veículo não se sobreponham.
+     */
+    @Transactional
+    public Optional<BookingDTO> create(Long vehicleId, BookingDTO bookingDTO, Client client) {
+        if (shardedVehicleRepository != null) {
+            throw new ShardingUnsupportedException("Reserva de período");
+        }
+        validatePeriod(bookingDTO.getStartDate(), bookingDTO.getEndDate());
+        if (bookingDTO.getStartDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Data de início não pode estar no passado");
+        }
+
+        Optional<Vehicle> vehicle = vehicleRepository.findByIdForUpdate(vehicleId);
+        if (vehicle.isEmpty()) {
+            return Optional.empty();
+        }
+        if (bookingRepository.existsOverlap(vehicleId, bookingDTO.getStartDate(), bookingDTO.getEndDate())) {
+            throw new RuntimeException("Veículo já reservado em parte deste período");
+        }
+
+        Booking booking = new Booking();
+        booking.setVehicle(vehicle.get());
+        booking.setClient(client);
+        booking.setStartDate(bookingDTO.getStartDate());
+        booking.setEndDate(bookingDTO.getEndDate());
+        Booking saved = bookingRepository.save(booking);
+
+        eventPublisher.publishEvent(BookingChangeEvent.created(saved.getId(), vehicleId, saved.getStartDate(), saved.getEndDate()));
+        logger.info("Reserva {} criada para o veículo {} de {} a {}", saved.getId(), vehicleId,
+                saved.getStartDate(), saved.getEndDate());
+        return Optional.of(new BookingDTO(saved));
+    }
+
+    public List<BookingDTO> findByVehicle(Long vehicleId) {
+        return bookingRepository.findByVehicleIdWithClient(vehicleId).stream()
+                .map(BookingDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cancela a reserva. Apenas o cliente que a criou ou um administrador podem cancelá-la.
+     */
+    @Transactional
+    public boolean cancel(Long bookingId, Client client) {
+        Optional<Booking> booking = bookingRepository.findByIdWithClient(bookingId);
+        if (booking.isEmpty()) {
+            return false;
+        }
+        Client owner = booking.get().getClient();
+        if (client.getUserType() != UserType.ADMIN && (owner == null || !owner.getId().equals(client.getId()))) {
+            throw new RuntimeException("Reserva pertence a outro cliente");
+        }
+
+        Long vehicleId = booking.get().getVehicle().getId();
+        bookingRepository.delete(booking.get());
+        eventPublisher.publishEvent(BookingChangeEvent.deleted(bookingId, vehicleId));
+        logger.info("Reserva {} do veículo {} cancelada", bookingId, vehicleId);
+        return true;
+    }
+
+    static void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new RuntimeException("Datas de início e fim são obrigatórias");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("Data de fim deve ser igual ou posterior à data de início");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_BOOKING_DAYS) {
+            throw new RuntimeException("Período não pode exceder " + MAX_BOOKING_DAYS + " dias");
+        }
+    }
+}
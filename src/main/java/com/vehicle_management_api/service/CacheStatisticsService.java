@@ -0,0 +1,48 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.config.SecondLevelCacheConfig;
+import com.vehicle_management_api.dto.CacheRegionStats;
+import com.vehicle_management_api.dto.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private static final Logger logger = LogManager.getLogger(CacheStatisticsService.class);
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Acertos, faltas e inserções das regiões de entidade do cache de segundo nível e do cache de
+     * consultas. {@code databaseQueries} conta os statements preparados desde o último reset.
+     */
+    public CacheStatsResponse snapshot() {
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : List.of(SecondLevelCacheConfig.VEHICLE_REGION, SecondLevelCacheConfig.CLIENT_REGION)) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            regions.add(CacheRegionStats.of(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+        }
+        CacheRegionStats queryCache = CacheRegionStats.of("query-results",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+        return new CacheStatsResponse(statistics.isStatisticsEnabled(), regions, queryCache,
+                statistics.getPrepareStatementCount());
+    }
+
+    public void reset() {
+        logger.info("Zerando estatísticas do cache de segundo nível");
+        statistics.clear();
+    }
+}
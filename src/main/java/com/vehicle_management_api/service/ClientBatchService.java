@@ -0,0 +1,150 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.ClientDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de clientes em lote.
+ *
+ * Emails repetidos são verificados com uma única consulta IN, os hashes BCrypt são calculados em
+ * paralelo no pool {@code passwordHashExecutor} (uma thread por núcleo) antes de abrir a transação,
+ * e os clientes são inseridos com batching de INSERTs do Hibernate. Os caches "clients" e "clientSearch"
+ * são invalidados uma única vez.
+ */
+@Service
+public class ClientBatchService {
+
+    private static final Logger logger = LogManager.getLogger(ClientBatchService.class);
+
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    private final ClientRepository clientRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TaskExecutor passwordHashExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClientBatchService(ClientRepository clientRepository,
+                              PasswordEncoder passwordEncoder,
+                              Validator validator,
+                              @Qualifier("passwordHashExecutor") TaskExecutor passwordHashExecutor,
+                              PlatformTransactionManager transactionManager) {
+        this.clientRepository = clientRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @CacheEvict(value = {"clients", "clientSearch"}, allEntries = true)
+    public BatchResponse createBatch(List<ClientDTO> clients) {
+        if (clients.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Batch exceeds the limit of " + MAX_BATCH_SIZE + " clients");
+        }
+        logger.info("Creating batch of {} clients", clients.size());
+
+        BatchItemResult[] results = new BatchItemResult[clients.size()];
+        Map<String, Integer> candidates = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < clients.size(); i++) {
+            ClientDTO dto = clients.get(i);
+            String email = dto.getEmail() != null ? dto.getEmail().trim() : null;
+            String violations = validate(dto);
+            if (violations != null) {
+                results[i] = rejected(i, email, violations);
+            } else if (!seen.add(email.toLowerCase(Locale.ROOT))) {
+                results[i] = rejected(i, email, "Duplicate email in batch");
+            } else {
+                dto.setEmail(email);
+                candidates.put(email, i);
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of()
+                : clientRepository.findExistingEmails(candidates.keySet()).stream()
+                        .map(email -> email.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+        List<Integer> accepted = new ArrayList<>();
+        candidates.forEach((email, index) -> {
+            if (existing.contains(email.toLowerCase(Locale.ROOT))) {
+                results[index] = rejected(index, email, "Client with this email already exists");
+            } else {
+                accepted.add(index);
+            }
+        });
+        accepted.sort(null);
+
+        if (!accepted.isEmpty()) {
+            // Hashes fora da transação: a conexão só é tomada para os INSERTs
+            List<CompletableFuture<String>> hashes = accepted.stream()
+                    .map(index -> CompletableFuture.supplyAsync(
+                            () -> passwordEncoder.encode(clients.get(index).getPassword()), passwordHashExecutor))
+                    .toList();
+            List<Client> entities = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                entities.add(toEntity(clients.get(accepted.get(i)), hashes.get(i).join()));
+            }
+
+            transactionTemplate.executeWithoutResult(status -> clientRepository.saveAll(entities));
+            for (int i = 0; i < accepted.size(); i++) {
+                int index = accepted.get(i);
+                Client client = entities.get(i);
+                results[index] = new BatchItemResult(index, client.getEmail(), BatchItemResult.Status.CREATED, client.getId(), null);
+            }
+        }
+
+        BatchResponse response = BatchResponse.of(List.of(results));
+        logger.info("Client batch processed: {} created, {} rejected", response.getCreated(), response.getRejected());
+        return response;
+    }
+
+    private static Client toEntity(ClientDTO dto, String passwordHash) {
+        Client client = new Client();
+        client.setName(dto.getName());
+        client.setEmail(dto.getEmail());
+        client.setPassword(passwordHash);
+        client.setUserType(dto.getUserType() != null ? dto.getUserType() : UserType.NORMAL_USER);
+        return client;
+    }
+
+    private String validate(ClientDTO dto) {
+        Set<ConstraintViolation<ClientDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult rejected(int index, String email, String message) {
+        return new BatchItemResult(index, email, BatchItemResult.Status.REJECTED, null, message);
+    }
+}
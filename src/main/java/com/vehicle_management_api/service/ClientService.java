@@ -1,18 +1,26 @@
 package com.vehicle_management_api.service;
 
 import com.vehicle_management_api.dto.ClientDTO;
+import com.vehicle_management_api.dto.ClientFilter;
+import com.vehicle_management_api.dto.ClientSearchResponse;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.exception.VersionConflictException;
 import com.vehicle_management_api.repository.ClientRepository;
-import jakarta.transaction.Transactional;
+import com.vehicle_management_api.repository.ClientSpecifications;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,12 +37,14 @@ public class ClientService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "clients", key = "#id")
     public Optional<ClientDTO> findById(Long id) {
         logger.info("Finding client by ID: {}", id);
         return clientRepository.findById(id).map(ClientDTO::new);
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "clients")
     public List<ClientDTO> findAll() {
         logger.info("Finding all clients");
@@ -43,7 +53,34 @@ public class ClientService {
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
+    /**
+     * Keyset-paginated directory search: each page is one indexed range read of {@code size + 1}
+     * rows ordered by (sortBy, id), so the cost follows the page size rather than the client count.
+     * The cursor is opaque and carries the last row's sort value and id.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "clientSearch", key = "#filter.cacheKey()")
+    public ClientSearchResponse search(ClientFilter filter) {
+        logger.info("Searching clients: {}", filter.cacheKey());
+        String field = filter.getSortBy();
+        Cursor after = filter.getAfter() != null ? Cursor.decode(filter.getAfter()) : null;
+
+        List<Client> rows = clientRepository.findBy(
+                ClientSpecifications.fromFilter(filter)
+                        .and(after != null ? ClientSpecifications.after(field, after.value(), after.id()) : null),
+                query -> query.sortBy(Sort.by(field, "id")).limit(filter.getSize() + 1).all());
+
+        boolean hasMore = rows.size() > filter.getSize();
+        List<ClientDTO> content = rows.stream().limit(filter.getSize()).map(ClientDTO::new).toList();
+        String nextCursor = null;
+        if (hasMore) {
+            ClientDTO last = content.get(content.size() - 1);
+            nextCursor = new Cursor("name".equals(field) ? last.getName() : last.getEmail(), last.getId()).encode();
+        }
+        return new ClientSearchResponse(content, nextCursor, hasMore);
+    }
+
+    @CacheEvict(value = {"clients", "clientSearch"}, allEntries = true)
     public ClientDTO create(ClientDTO clientDTO) {
         logger.info("Creating new client with email: {}", clientDTO.getEmail());
 
@@ -64,7 +101,7 @@ public class ClientService {
         return new ClientDTO(savedClient);
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
+    @CacheEvict(value = {"clients", "clientSearch"}, allEntries = true)
     public Optional<ClientDTO> update(Long id, ClientDTO clientDTO) {
         logger.info("Updating client with ID: {}", id);
         return clientRepository.findById(id).map(existingClient -> {
@@ -78,7 +115,45 @@ public class ClientService {
         });
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
+    /**
+     * Version-checked update (If-Match): a single conditional UPDATE, no prior read.
+     */
+    @CacheEvict(value = {"clients", "clientSearch"}, allEntries = true)
+    public Optional<ClientDTO> update(Long id, ClientDTO clientDTO, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return update(id, clientDTO);
+        }
+        logger.info("Updating client with ID: {} at version {}", id, expectedVersion);
+
+        String password = null;
+        if (clientDTO.getPassword() != null && !clientDTO.getPassword().isEmpty()) {
+            // BCrypt is deliberately slow: probe the version first so stale requests fail before hashing.
+            // The conditional UPDATE below still guards against a change between the probe and the write.
+            Optional<Long> currentVersion = clientRepository.findVersionById(id);
+            if (currentVersion.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!currentVersion.get().equals(expectedVersion)) {
+                logger.warn("Version {} of client {} is stale", expectedVersion, id);
+                throw new VersionConflictException("Version " + expectedVersion + " of client " + id + " is stale");
+            }
+            password = passwordEncoder.encode(clientDTO.getPassword());
+        }
+        int updated = clientRepository.updateIfVersion(id, expectedVersion, clientDTO.getName(), password,
+                LocalDateTime.now());
+        if (updated == 0) {
+            if (!clientRepository.existsById(id)) {
+                return Optional.empty();
+            }
+            logger.warn("Version {} of client {} is stale", expectedVersion, id);
+            throw new VersionConflictException("Version " + expectedVersion + " of client " + id + " is stale");
+        }
+
+        logger.info("Client with ID {} updated successfully", id);
+        return clientRepository.findById(id).map(ClientDTO::new);
+    }
+
+    @CacheEvict(value = {"clients", "clientSearch"}, allEntries = true)
     public boolean delete(Long id) {
         logger.info("Deleting client with ID: {}", id);
         if (clientRepository.existsById(id)) {
@@ -94,4 +169,26 @@ public class ClientService {
         logger.debug("Finding client by email: {}", email);
         return clientRepository.findByEmailAndActive(email);
     }
-}
\ No newline at end of file
+
+    private record Cursor(String value, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((value + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                // Names may contain '|'; the id is always the last field
+                int separator = decoded.lastIndexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException(cursor);
+                }
+                return new Cursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+}
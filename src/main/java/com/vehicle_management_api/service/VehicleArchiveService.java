@@ -0,0 +1,143 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.ArchivedVehicleDTO;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.entity.ArchivedVehicle;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.ArchivedVehicleRepository;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Move veículos inativos para archived_vehicles, mantendo a tabela principal do tamanho da frota
+ * ativa.
+ *
+ * A regra (indisponível e sem alteração há {@code app.archive.inactive-days} dias, sem reserva
+ * ativa nem reserva de período futura) é aplicada em blocos de {@code app.archive.chunk-size}
+ * veículos, cada um em sua própria transação curta: as linhas do bloco são bloqueadas e a regra é
+ * reconferida antes de copiar e excluir, então um veículo alterado no meio do caminho fica.
+ * Cada veículo arquivado gera um evento DELETED (índices, stream, tombstone do feed e auditoria).
+ */
+@Service
+public class VehicleArchiveService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleArchiveService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final VehicleRepository vehicleRepository;
+    private final ArchivedVehicleRepository archivedVehicleRepository;
+    private final VehicleCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int inactiveDays;
+    private final int chunkSize;
+    private final int maxPerRun;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleArchiveService(VehicleRepository vehicleRepository,
+                                 ArchivedVehicleRepository archivedVehicleRepository,
+                                 VehicleCacheEvictor cacheEvictor,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.archive.inactive-days:180}") int inactiveDays,
+                                 @Value("${app.archive.chunk-size:200}") int chunkSize,
+                                 @Value("${app.archive.max-per-run:50000}") int maxPerRun) {
+        this.vehicleRepository = vehicleRepository;
+        this.archivedVehicleRepository = archivedVehicleRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inactiveDays = inactiveDays;
+        this.chunkSize = chunkSize;
+        this.maxPerRun = maxPerRun;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public int archiveInactive() {
+        if (shardedVehicleRepository != null) {
+            // Mover para archived_vehicles exigiria uma transação entre o shard e o banco principal
+            return 0;
+        }
+        return archiveInactiveSince(LocalDateTime.now().minusDays(inactiveDays));
+    }
+
+    int archiveInactiveSince(LocalDateTime cutoff) {
+        long start = System.currentTimeMillis();
+        int archived = 0;
+        long afterId = 0;
+        while (archived < maxPerRun) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = vehicleRepository.findArchivableIds(afterId, cutoff, now, now.toLocalDate(),
+                    PageRequest.of(0, Math.min(chunkSize, maxPerRun - archived)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(ids, cutoff));
+            archived += moved != null ? moved : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (archived > 0) {
+            logger.info("{} veículos arquivados em {} ms", archived, System.currentTimeMillis() - start);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(List<Long> ids, LocalDateTime cutoff) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        List<Vehicle> vehicles = vehicleRepository.lockArchivable(ids, cutoff, now, today);
+        if (vehicles.isEmpty()) {
+            return 0;
+        }
+
+        archivedVehicleRepository.saveAll(vehicles.stream().map(vehicle -> new ArchivedVehicle(vehicle, now)).toList());
+        List<Long> archivedIds = vehicles.stream().map(Vehicle::getId).toList();
+        vehicleRepository.deleteAllByIdInBatch(archivedIds);
+
+        // Veículos arquivados estavam indisponíveis: a lista de disponíveis não muda
+        cacheEvictor.evict(vehicles.stream()
+                .map(vehicle -> new Object[]{vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getLicensePlate()})
+                .toList(), false);
+        archivedIds.forEach(id -> eventPublisher.publishEvent(VehicleChangeEvent.deleted(id)));
+        return vehicles.size();
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ArchivedVehicleDTO> findArchived(String licensePlate, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Página deve ser >= 0 e tamanho entre 1 e " + MAX_PAGE_SIZE);
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "archivedAt", "id"));
+        return PageResponse.of(licensePlate != null
+                        ? archivedVehicleRepository.findByLicensePlate(licensePlate, pageRequest)
+                        : archivedVehicleRepository.findAll(pageRequest),
+                ArchivedVehicleDTO::new);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ArchivedVehicleDTO> findArchivedById(Long id) {
+        return archivedVehicleRepository.findById(id).map(ArchivedVehicleDTO::new);
+    }
+}
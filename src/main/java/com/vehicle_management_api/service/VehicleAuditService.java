@@ -0,0 +1,304 @@
+package com.vehicle_management_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleHistoryDTO;
+import com.vehicle_management_api.entity.VehicleHistory;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.VehicleHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Histórico de alterações de veículos fora do caminho de escrita.
+ *
+ * Os eventos são capturados após o commit (quem, quando, antes e depois) e entram em uma fila
+ * limitada; uma tarefa agendada grava a fila em lotes na tabela vehicle_history. A garantia é
+ * escolhida em {@code app.audit.durability}:
+ * <ul>
+ *     <li>BEST_EFFORT (padrão): fila cheia descarta o registro (contado em {@link #droppedCount()});</li>
+ *     <li>BLOCKING: quem escreve espera até {@code offer-timeout-ms} por espaço antes de descartar;</li>
+ *     <li>SYNC: grava na própria transação da alteração, sem fila (sem perda, com custo na escrita).</li>
+ * </ul>
+ * O padrão é BEST_EFFORT porque a espera do BLOCKING acontece na thread da requisição: com o banco
+ * lento, cada escrita pode ficar presa até {@code offer-timeout-ms}. Quem precisa de histórico
+ * completo escolhe SYNC e aceita o custo na transação.
+ * Nos modos com fila, registros ainda não gravados se perdem se o processo morrer; no
+ * desligamento normal a fila é esvaziada.
+ */
+@Service
+public class VehicleAuditService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleAuditService.class);
+
+    public static final String SYSTEM_ACTOR = "system";
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int HISTORY_SCAN_ROWS = 50;
+
+    public enum Durability {
+        BEST_EFFORT,
+        BLOCKING,
+        SYNC
+    }
+
+    private record Entry(VehicleChangeEvent event, String actor, LocalDateTime at) {
+    }
+
+    private final VehicleHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Durability durability;
+    private final long offerTimeoutMs;
+    private final int batchSize;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public VehicleAuditService(VehicleHistoryRepository historyRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${app.audit.durability:BEST_EFFORT}") Durability durability,
+                               @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.audit.offer-timeout-ms:1000}") long offerTimeoutMs,
+                               @Value("${app.audit.batch-size:500}") int batchSize) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.durability = durability;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordInTransaction(VehicleChangeEvent event) {
+        if (durability == Durability.SYNC) {
+            historyRepository.save(toHistory(new Entry(event, currentActor(), LocalDateTime.now()), new HashMap<>()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void recordAfterCommit(VehicleChangeEvent event) {
+        if (durability == Durability.SYNC) {
+            return;
+        }
+        // O ator é lido aqui, ainda na thread da requisição; a serialização fica para o flush
+        Entry entry = new Entry(event, currentActor(), LocalDateTime.now());
+        boolean accepted;
+        if (durability == Durability.BLOCKING) {
+            try {
+                accepted = queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+        if (!accepted) {
+            long total = dropped.incrementAndGet();
+            logger.warn("Fila de auditoria cheia; alteração do veículo {} não registrada ({} descartadas)",
+                    event.getVehicleId(), total);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        // Estado mais recente de cada veículo visto neste flush, ainda não gravado no histórico
+        Map<Long, Map<String, Object>> lastKnown = new HashMap<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            List<VehicleHistory> rows = batch.stream().map(entry -> toHistory(entry, lastKnown)).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> historyRepository.saveAll(rows));
+                logger.debug("{} registros de auditoria gravados", rows.size());
+            } catch (RuntimeException e) {
+                dropped.addAndGet(rows.size());
+                logger.error("Falha ao gravar {} registros de auditoria", rows.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    public PageResponse<VehicleHistoryDTO> historyForVehicle(Long vehicleId, int page, int size) {
+        return PageResponse.of(historyRepository.findByVehicleId(vehicleId, pageRequest(page, size)), VehicleHistoryDTO::new);
+    }
+
+    public PageResponse<VehicleHistoryDTO> historyForActor(String actor, int page, int size) {
+        return PageResponse.of(historyRepository.findByActor(actor, pageRequest(page, size)), VehicleHistoryDTO::new);
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Página deve ser >= 0 e tamanho entre 1 e " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "changedAt", "id"));
+    }
+
+    private VehicleHistory toHistory(Entry entry, Map<Long, Map<String, Object>> lastKnown) {
+        VehicleChangeEvent event = entry.event();
+        Long vehicleId = event.getVehicleId();
+        Map<String, Object> oldValues = null;
+        Map<String, Object> newValues = null;
+        switch (event.getType()) {
+            case CREATED -> {
+                newValues = fields(event.getCurrent());
+                lastKnown.put(vehicleId, storedForm(newValues));
+            }
+            case UPDATED -> {
+                Map<String, Object> current;
+                Map<String, Object> previous;
+                if (event.getPrevious() != null) {
+                    current = fields(event.getCurrent());
+                    previous = fields(event.getPrevious());
+                } else {
+                    // Atualização por versão (If-Match) não lê o veículo antes: o estado anterior
+                    // sai do histórico já gravado, na forma em que foi serializado
+                    current = storedForm(fields(event.getCurrent()));
+                    previous = lastKnown.containsKey(vehicleId)
+                            ? lastKnown.get(vehicleId)
+                            : stateFromHistory(vehicleId, current.keySet());
+                }
+                oldValues = new LinkedHashMap<>();
+                newValues = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> field : current.entrySet()) {
+                    if (!previous.containsKey(field.getKey())) {
+                        // Sem registro anterior do campo: só o valor novo é conhecido
+                        newValues.put(field.getKey(), field.getValue());
+                        continue;
+                    }
+                    Object before = previous.get(field.getKey());
+                    if (!Objects.equals(before, field.getValue())) {
+                        oldValues.put(field.getKey(), before);
+                        newValues.put(field.getKey(), field.getValue());
+                    }
+                }
+                lastKnown.put(vehicleId, storedForm(fields(event.getCurrent())));
+            }
+            case AVAILABILITY_CHANGED -> {
+                oldValues = Map.of("isAvailable", !event.getAvailable());
+                newValues = Map.of("isAvailable", event.getAvailable());
+                Map<String, Object> known = lastKnown.get(vehicleId);
+                if (known != null) {
+                    known.put("isAvailable", event.getAvailable());
+                }
+            }
+            case DELETED -> {
+                // Sem dados do veículo no evento: a linha registra apenas quem excluiu e quando
+                lastKnown.remove(vehicleId);
+            }
+        }
+        return new VehicleHistory(null, event.getVehicleId(), event.getType().name(), entry.actor(), entry.at(),
+                toJson(oldValues), toJson(newValues));
+    }
+
+    /**
+     * Estado do veículo segundo o histórico: percorre as linhas da mais recente para a mais antiga
+     * (no máximo {@link #HISTORY_SCAN_ROWS}) e fica com o valor mais novo de cada campo, até cobrir
+     * todos os campos ou chegar à criação. Campos nunca registrados ficam de fora.
+     */
+    private Map<String, Object> stateFromHistory(Long vehicleId, Set<String> wanted) {
+        Map<String, Object> state = new HashMap<>();
+        try {
+            List<VehicleHistory> rows = historyRepository.findByVehicleId(vehicleId,
+                    PageRequest.of(0, HISTORY_SCAN_ROWS, Sort.by(Sort.Direction.DESC, "changedAt", "id"))).getContent();
+            for (VehicleHistory row : rows) {
+                if (row.getNewValues() != null) {
+                    readJson(row.getNewValues()).forEach(state::putIfAbsent);
+                }
+                if (VehicleChangeEvent.Type.CREATED.name().equals(row.getChangeType()) || state.keySet().containsAll(wanted)) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Estado anterior do veículo {} indisponível no histórico", vehicleId, e);
+        }
+        return state;
+    }
+
+    /**
+     * Campos como ficam depois de gravados e lidos do JSON, para comparar com o histórico sem
+     * diferenças de tipo (BigDecimal e Double, por exemplo).
+     */
+    private Map<String, Object> storedForm(Map<String, Object> fields) {
+        return new LinkedHashMap<>(readJson(toJson(fields)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readJson(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler auditoria", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fields(VehicleDTO vehicle) {
+        Map<String, Object> fields = new LinkedHashMap<>(objectMapper.convertValue(vehicle, Map.class));
+        fields.remove("id");
+        fields.remove("createdAt");
+        fields.remove("createdBy");
+        return fields;
+    }
+
+    private String toJson(Map<String, Object> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar auditoria", e);
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,180 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.AvailabilityUpdateRequest;
+import com.vehicle_management_api.dto.AvailabilityUpdateResponse;
+import com.vehicle_management_api.dto.ReservationDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.exception.ShardingUnsupportedException;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import com.vehicle_management_api.repository.VehicleSpecifications;
+import jakarta.transaction.Transactional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class VehicleAvailabilityService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleAvailabilityService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxReservationMinutes;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleAvailabilityService(VehicleRepository vehicleRepository, VehicleCacheEvictor cacheEvictor,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${app.reservations.max-minutes:1440}") int maxReservationMinutes) {
+        this.vehicleRepository = vehicleRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.maxReservationMinutes = maxReservationMinutes;
+    }
+
+    /**
+     * Altera a disponibilidade de vários veículos com um único UPDATE. Apenas os veículos cujo
+     * valor muda são gravados, e só as entradas de cache que os contêm são invalidadas.
+     */
+    @Transactional
+    public AvailabilityUpdateResponse updateAvailability(AvailabilityUpdateRequest request) {
+        if (shardedVehicleRepository != null) {
+            throw new ShardingUnsupportedException("Alteração de disponibilidade em lote");
+        }
+        Boolean available = request.getIsAvailable();
+        List<Long> ids = resolveIds(request);
+        if (ids.isEmpty()) {
+            return new AvailabilityUpdateResponse(0, 0, List.of());
+        }
+
+        List<Object[]> changes = vehicleRepository.findAvailabilityChanges(ids, available);
+        List<Long> changedIds = new ArrayList<>(changes.size());
+        for (Object[] change : changes) {
+            changedIds.add((Long) change[0]);
+        }
+
+        if (!changedIds.isEmpty()) {
+            vehicleRepository.updateAvailability(changedIds, available, LocalDateTime.now());
+            cacheEvictor.evict(changes, true);
+            changedIds.forEach(id -> eventPublisher.publishEvent(VehicleChangeEvent.availabilityChanged(id, available)));
+        }
+
+        logger.info("Disponibilidade alterada para {} em {} de {} veículos", available, changedIds.size(), ids.size());
+        return new AvailabilityUpdateResponse(ids.size(), changedIds.size(), changedIds);
+    }
+
+    /**
+     * Reserva o veículo com um UPDATE condicional, sem lock pessimista. Vazio quando o veículo
+     * não existe ou já está reservado/indisponível.
+     */
+    @Transactional
+    public Optional<ReservationDTO> reserve(Long vehicleId, Client client, int minutes) {
+        if (shardedVehicleRepository != null) {
+            throw new ShardingUnsupportedException("Reserva de veículo");
+        }
+        if (minutes <= 0 || minutes > maxReservationMinutes) {
+            throw new RuntimeException("Duração da reserva deve estar entre 1 e " + maxReservationMinutes + " minutos");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(minutes);
+        if (vehicleRepository.reserve(vehicleId, client, until, now) == 0) {
+            logger.info("Veículo {} não pôde ser reservado por {}", vehicleId, client.getEmail());
+            return Optional.empty();
+        }
+
+        cacheEvictor.evict(vehicleRepository.findCacheKeysByIdIn(List.of(vehicleId)), true);
+        eventPublisher.publishEvent(VehicleChangeEvent.availabilityChanged(vehicleId, false));
+        logger.info("Veículo {} reservado por {} até {}", vehicleId, client.getEmail(), until);
+        return Optional.of(new ReservationDTO(vehicleId, client.getName(), until));
+    }
+
+    /**
+     * Libera a reserva do cliente. Administradores podem liberar reservas de qualquer cliente.
+     */
+    @Transactional
+    public boolean release(Long vehicleId, Client client) {
+        if (shardedVehicleRepository != null) {
+            throw new ShardingUnsupportedException("Liberação de reserva");
+        }
+        boolean admin = client.getUserType() == UserType.ADMIN;
+        if (vehicleRepository.release(vehicleId, client, admin, LocalDateTime.now()) == 0) {
+            return false;
+        }
+
+        cacheEvictor.evict(vehicleRepository.findCacheKeysByIdIn(List.of(vehicleId)), true);
+        eventPublisher.publishEvent(VehicleChangeEvent.availabilityChanged(vehicleId, true));
+        logger.info("Reserva do veículo {} liberada por {}", vehicleId, client.getEmail());
+        return true;
+    }
+
+    public boolean exists(Long vehicleId) {
+        return vehicleRepository.existsById(vehicleId);
+    }
+
+    /**
+     * Libera reservas expiradas. Cada veículo é liberado com seu próprio UPDATE condicional para
+     * não sobrescrever (nem anunciar como disponível) um veículo reservado de novo nesse intervalo.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.reservations.sweep-interval-ms:30000}")
+    public int releaseExpiredReservations() {
+        if (shardedVehicleRepository != null) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> released = new ArrayList<>();
+        for (Object[] expired : vehicleRepository.findExpiredReservations(now)) {
+            Long vehicleId = (Long) expired[0];
+            if (vehicleRepository.releaseExpired(List.of(vehicleId), now) > 0) {
+                released.add(expired);
+                eventPublisher.publishEvent(VehicleChangeEvent.availabilityChanged(vehicleId, true));
+            }
+        }
+        if (!released.isEmpty()) {
+            cacheEvictor.evict(released, true);
+            logger.info("{} reservas expiradas liberadas", released.size());
+        }
+        return released.size();
+    }
+
+    private List<Long> resolveIds(AvailabilityUpdateRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new RuntimeException("Informe a lista de ids ou um filtro");
+        }
+
+        if (hasIds) {
+            Set<Long> ids = new HashSet<>(request.getIds());
+            ids.remove(null);
+            if (ids.size() > AvailabilityUpdateRequest.MAX_IDS) {
+                throw new RuntimeException("Lista excede o limite de " + AvailabilityUpdateRequest.MAX_IDS + " ids");
+            }
+            return new ArrayList<>(ids);
+        }
+
+        List<Long> ids = vehicleRepository.findIds(
+                VehicleSpecifications.fromFilter(request.getFilter().normalized()),
+                AvailabilityUpdateRequest.MAX_FILTER_MATCHES + 1);
+        if (ids.size() > AvailabilityUpdateRequest.MAX_FILTER_MATCHES) {
+            throw new RuntimeException("Filtro seleciona mais de " + AvailabilityUpdateRequest.MAX_FILTER_MATCHES + " veículos");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,170 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+public class VehicleBatchService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleBatchService.class);
+
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    private final VehicleRepository vehicleRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VehiclePlateIndex plateIndex;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleBatchService(VehicleRepository vehicleRepository, Validator validator, ApplicationEventPublisher eventPublisher,
+                               VehiclePlateIndex plateIndex) {
+        this.vehicleRepository = vehicleRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.plateIndex = plateIndex;
+    }
+
+    /**
+     * Valida o lote inteiro, verifica placas existentes com uma única consulta IN, insere os itens
+     * válidos com batching de INSERTs do Hibernate e invalida os caches uma única vez.
+     */
+    @Transactional
+    @CacheEvict(value = {"vehicles", "vehicleSearch", "vehiclePlates", "vehicleProjections"}, allEntries = true)
+    public BatchResponse createBatch(List<VehicleDTO> vehicles, Client createdBy) {
+        if (vehicles.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Lote excede o limite de " + MAX_BATCH_SIZE + " veículos");
+        }
+        logger.info("Criando lote de {} veículos", vehicles.size());
+
+        // Validação em paralelo; a checagem de duplicidade abaixo segue a ordem do lote
+        String[] violations = IntStream.range(0, vehicles.size()).parallel()
+                .mapToObj(i -> validate(vehicles.get(i)))
+                .toArray(String[]::new);
+
+        BatchItemResult[] results = new BatchItemResult[vehicles.size()];
+        Map<String, Integer> candidates = new HashMap<>();
+        // Comparação sem distinção de maiúsculas, como a collation padrão do MySQL no índice UNIQUE
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < vehicles.size(); i++) {
+            VehicleDTO dto = vehicles.get(i);
+            String plate = dto.getLicensePlate() != null ? dto.getLicensePlate().trim() : null;
+            if (violations[i] != null) {
+                results[i] = rejected(i, plate, violations[i]);
+            } else if (!seen.add(plate.toUpperCase(Locale.ROOT))) {
+                results[i] = rejected(i, plate, "Placa duplicada no lote");
+            } else {
+                dto.setLicensePlate(plate);
+                candidates.put(plate, i);
+            }
+        }
+
+        // Só vão para a consulta IN as placas que o filtro de Bloom não descarta
+        List<String> possiblyExisting = candidates.keySet().stream()
+                .filter(plateIndex::mightExist)
+                .toList();
+        Set<String> existing = possiblyExisting.isEmpty()
+                ? Set.of()
+                : (shardedVehicleRepository != null
+                        ? shardedVehicleRepository.findExistingLicensePlates(possiblyExisting)
+                        : vehicleRepository.findExistingLicensePlates(possiblyExisting)).stream()
+                        .map(existingPlate -> existingPlate.toUpperCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+        List<Integer> accepted = new ArrayList<>();
+        candidates.forEach((plate, index) -> {
+            if (existing.contains(plate.toUpperCase(Locale.ROOT))) {
+                results[index] = rejected(index, plate, "Veículo com esta placa já existe");
+            } else {
+                accepted.add(index);
+            }
+        });
+        accepted.sort(Comparator.naturalOrder());
+
+        if (shardedVehicleRepository != null) {
+            // Sem transação entre shards: cada veículo é gravado no seu shard, um a um
+            for (Integer index : accepted) {
+                try {
+                    VehicleDTO created = shardedVehicleRepository.insert(vehicles.get(index), createdBy);
+                    results[index] = new BatchItemResult(index, created.getLicensePlate(), BatchItemResult.Status.CREATED, created.getId(), null);
+                    eventPublisher.publishEvent(VehicleChangeEvent.created(created));
+                } catch (RuntimeException e) {
+                    results[index] = rejected(index, vehicles.get(index).getLicensePlate(), e.getMessage());
+                }
+            }
+        } else if (!accepted.isEmpty()) {
+            List<Vehicle> entities = new ArrayList<>(accepted.size());
+            for (Integer index : accepted) {
+                entities.add(toEntity(vehicles.get(index), createdBy));
+            }
+            // Ids vêm do gerador pooled, então o Hibernate agrupa os INSERTs em lotes JDBC
+            vehicleRepository.saveAll(entities);
+
+            for (int i = 0; i < accepted.size(); i++) {
+                int index = accepted.get(i);
+                VehicleDTO created = new VehicleDTO(entities.get(i));
+                results[index] = new BatchItemResult(index, created.getLicensePlate(), BatchItemResult.Status.CREATED, created.getId(), null);
+                eventPublisher.publishEvent(VehicleChangeEvent.created(created));
+            }
+        }
+
+        BatchResponse response = BatchResponse.of(List.of(results));
+        logger.info("Lote processado: {} criados, {} rejeitados", response.getCreated(), response.getRejected());
+        return response;
+    }
+
+    private static Vehicle toEntity(VehicleDTO dto, Client createdBy) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand(dto.getBrand());
+        vehicle.setModel(dto.getModel());
+        vehicle.setYear(dto.getYear());
+        vehicle.setColor(dto.getColor());
+        vehicle.setLicensePlate(dto.getLicensePlate());
+        vehicle.setPrice(dto.getPrice());
+        vehicle.setIsAvailable(dto.getIsAvailable() != null ? dto.getIsAvailable() : true);
+        vehicle.setCreatedBy(createdBy);
+        return vehicle;
+    }
+
+    private String validate(VehicleDTO dto) {
+        Set<ConstraintViolation<VehicleDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult rejected(int index, String plate, String message) {
+        return new BatchItemResult(index, plate, BatchItemResult.Status.REJECTED, null, message);
+    }
+}
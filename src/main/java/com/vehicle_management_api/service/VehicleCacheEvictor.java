@@ -0,0 +1,150 @@
+package com.vehicle_management_api.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Invalidação pontual dos caches de veículos para escritas em massa, no lugar de
+ * {@code allEntries = true}.
+ */
+@Component
+public class VehicleCacheEvictor {
+
+    private static final String TOTAL_PREFIX = "total|";
+    private static final String FILTER_PREFIX = "filter|";
+
+    private final CacheManager cacheManager;
+
+    public VehicleCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Invalida as entradas por id, por placa, por marca/modelo e a lista completa; a lista de
+     * disponíveis só quando a alteração pode tê-la mudado. Das buscas paginadas e projeções saem só
+     * as que podem conter os veículos: filtro sem marca/modelo ou com a marca/modelo de algum deles.
+     *
+     * Dentro de uma transação a invalidação roda depois do commit; antes disso uma leitura
+     * concorrente recarregaria o estado antigo no cache.
+     *
+     * @param changes linhas (id, marca, modelo, placa) dos veículos alterados
+     */
+    public void evict(Collection<Object[]> changes, boolean availableListAffected) {
+        List<Object[]> rows = List.copyOf(changes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(rows, availableListAffected);
+                }
+            });
+        } else {
+            evictNow(rows, availableListAffected);
+        }
+    }
+
+    private void evictNow(List<Object[]> changes, boolean availableListAffected) {
+        Cache vehicles = cacheManager.getCache("vehicles");
+        if (vehicles != null) {
+            for (Object[] change : changes) {
+                vehicles.evict(change[0]);
+                vehicles.evict(change[1] + "-" + change[2]);
+            }
+            if (availableListAffected) {
+                vehicles.evict("available");
+            }
+            vehicles.evict(SimpleKey.EMPTY);
+        }
+        // A placa consultada pode diferir da gravada em maiúsculas/minúsculas, conforme a collation
+        Set<String> plates = new HashSet<>();
+        for (Object[] change : changes) {
+            if (change[3] != null) {
+                plates.add(change[3].toString().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (!plates.isEmpty()) {
+            evictMatching(cacheManager.getCache("vehiclePlates"),
+                    key -> plates.contains(key.toString().toUpperCase(Locale.ROOT)));
+        }
+        evictMatching(cacheManager.getCache("vehicleSearch"), key -> searchAffected(key, changes));
+        evictMatching(cacheManager.getCache("vehicleProjections"), key -> projectionAffected(key, changes));
+    }
+
+    /*
+     * As chaves são percorridas no cache nativo, mas removidas pelo Cache do Spring, que registra a
+     * invalidação (o cache ciente da réplica depende disso). Fora do Caffeine o cache é limpo inteiro.
+     */
+    private void evictMatching(Cache cache, Predicate<Object> affected) {
+        if (cache == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            cache.clear();
+            return;
+        }
+        List<Object> keys = new ArrayList<>();
+        for (Object key : nativeCache.asMap().keySet()) {
+            if (affected.test(key)) {
+                keys.add(key);
+            }
+        }
+        keys.forEach(cache::evict);
+    }
+
+    // Chaves de busca: "marca|modelo|..." (VehicleFilter.criteriaKey), com ou sem o prefixo "total|"
+    private static boolean searchAffected(Object key, List<Object[]> changes) {
+        if (!(key instanceof String criteria)) {
+            return true;
+        }
+        if (criteria.startsWith(TOTAL_PREFIX)) {
+            criteria = criteria.substring(TOTAL_PREFIX.length());
+        }
+        String[] parts = criteria.split("\\|", 3);
+        if (parts.length < 3) {
+            return true;
+        }
+        for (Object[] change : changes) {
+            if (criterionMatches(parts[0], change[1]) && criterionMatches(parts[1], change[2])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Chaves de projeção: "all|...", "available|...", "filter|<busca>|..." ou "marca-modelo|..."
+    private static boolean projectionAffected(Object key, List<Object[]> changes) {
+        if (!(key instanceof String projection)) {
+            return true;
+        }
+        if (projection.startsWith("all|") || projection.startsWith("available|")) {
+            return true;
+        }
+        if (projection.startsWith(FILTER_PREFIX)) {
+            return searchAffected(projection.substring(FILTER_PREFIX.length()), changes);
+        }
+        for (Object[] change : changes) {
+            String prefix = change[1] + "-" + change[2] + "|";
+            if (projection.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sem distinção de maiúsculas: na dúvida sobre a collation do banco, invalida a mais
+    private static boolean criterionMatches(String criterion, Object value) {
+        return "null".equals(criterion) || value == null || criterion.equalsIgnoreCase(value.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.RangeAvailabilityResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.BookingChangeEvent;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.BookingCalendar;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.BookingRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class VehicleCalendarService extends VehicleIndexSupport<BookingCalendar> {
+
+    private static final Logger logger = LogManager.getLogger(VehicleCalendarService.class);
+
+    public static final int MAX_LIMIT = 500;
+
+    private final BookingRepository bookingRepository;
+
+    public VehicleCalendarService(VehicleRepository vehicleRepository, BookingRepository bookingRepository) {
+        super(vehicleRepository);
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Veículos sem reserva conflitante em [from, to], respondido pelo calendário em memória.
+     * Apenas os {@code limit} primeiros (por id) são carregados do banco.
+     */
+    public RangeAvailabilityResponse freeVehicles(LocalDate from, LocalDate to, int limit) {
+        BookingService.validatePeriod(from, to);
+        int normalizedLimit = Math.max(0, Math.min(limit, MAX_LIMIT));
+
+        long start = System.nanoTime();
+        List<Long> free = structure().freeVehicles(from, to);
+        logger.debug("{} veículos livres de {} a {} calculados em {} µs", free.size(), from, to,
+                (System.nanoTime() - start) / 1_000);
+
+        List<Long> page = free.subList(0, Math.min(normalizedLimit, free.size()));
+        List<VehicleDTO> loaded = page.isEmpty() ? List.of() : shardedVehicleRepository != null
+                ? shardedVehicleRepository.findAllById(page)
+                : vehicleRepository.findAllWithCreatorByIdIn(page).stream().map(VehicleDTO::new).toList();
+        List<VehicleDTO> vehicles = loaded.stream()
+                .sorted(Comparator.comparing(VehicleDTO::getId))
+                .collect(Collectors.toList());
+        return new RangeAvailabilityResponse(from, to, free.size(), vehicles);
+    }
+
+    public boolean isFree(Long vehicleId, LocalDate from, LocalDate to) {
+        return structure().isFree(vehicleId, from, to);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChange(BookingChangeEvent event) {
+        mutate(calendar -> {
+            if (event.getType() == BookingChangeEvent.Type.DELETED) {
+                calendar.remove(event.getBookingId());
+            } else {
+                calendar.put(event.getBookingId(), event.getVehicleId(), event.getStartDate(), event.getEndDate());
+            }
+        });
+    }
+
+    @Override
+    protected BookingCalendar newStructure() {
+        return new BookingCalendar();
+    }
+
+    @Override
+    protected void index(BookingCalendar calendar, List<Vehicle> batch) {
+        List<Long> ids = batch.stream().map(Vehicle::getId).collect(Collectors.toList());
+        ids.forEach(calendar::addVehicle);
+        for (Object[] interval : bookingRepository.findIntervalsByVehicleIdIn(ids)) {
+            calendar.put((Long) interval[0], (Long) interval[1], (LocalDate) interval[2], (LocalDate) interval[3]);
+        }
+    }
+
+    @Override
+    protected void apply(BookingCalendar calendar, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.CREATED) {
+            calendar.addVehicle(event.getVehicleId());
+        } else if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            calendar.removeVehicle(event.getVehicleId());
+        }
+    }
+}
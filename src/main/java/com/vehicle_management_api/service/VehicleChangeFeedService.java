@@ -0,0 +1,149 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleChange;
+import com.vehicle_management_api.dto.VehicleChangesResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.entity.VehicleTombstone;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.exception.CursorExpiredException;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import com.vehicle_management_api.repository.VehicleTombstoneRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Feed incremental de alterações de veículos para sistemas que espelham a tabela.
+ *
+ * O cursor é a posição (instante, id) da última alteração entregue. Criações e alterações vêm de
+ * vehicles.updated_at; exclusões vêm de vehicle_tombstones. As duas fontes são lidas por keyset
+ * e intercaladas na mesma ordem, então cada página custa O(limite), não O(tabela).
+ *
+ * Alterações mais recentes que a janela de acomodação não são entregues: uma transação que
+ * gravou updated_at e ainda não confirmou não pode ficar para trás de um cursor já emitido.
+ * Com réplica de leitura, a janela precisa ser maior que o atraso de replicação.
+ */
+@Service
+public class VehicleChangeFeedService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleChangeFeedService.class);
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleTombstoneRepository tombstoneRepository;
+    private final long settleSeconds;
+    private final long tombstoneRetentionDays;
+
+    // Presente só com app.sharding.enabled; as tombstones continuam no banco principal
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleChangeFeedService(VehicleRepository vehicleRepository,
+                                    VehicleTombstoneRepository tombstoneRepository,
+                                    @Value("${app.changes.settle-seconds:5}") long settleSeconds,
+                                    @Value("${app.changes.tombstone-retention-days:30}") long tombstoneRetentionDays) {
+        this.vehicleRepository = vehicleRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleSeconds = settleSeconds;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    @Transactional(readOnly = true)
+    public VehicleChangesResponse changesSince(String cursor, int limit) {
+        return changesSince(cursor, limit, LocalDateTime.now().minusSeconds(settleSeconds));
+    }
+
+    VehicleChangesResponse changesSince(String cursor, int limit, LocalDateTime until) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        Position from = cursor == null || cursor.isBlank() ? new Position(ORIGIN, 0L) : Position.decode(cursor);
+        if (cursor != null && from.at().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+            throw new CursorExpiredException("Cursor anterior à retenção de " + tombstoneRetentionDays
+                    + " dias; refaça a sincronização completa");
+        }
+        logger.info("Buscando alterações de veículos após {} (limite {})", from, limit);
+
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<VehicleChange> changes = new ArrayList<>();
+        if (shardedVehicleRepository != null) {
+            changes.addAll(shardedVehicleRepository.findChangedAfter(from.at(), from.id(), until, limit + 1));
+        } else {
+            for (Vehicle vehicle : vehicleRepository.findChangedAfter(from.at(), from.id(), until, page)) {
+                changes.add(new VehicleChange(VehicleChange.Type.UPSERT, vehicle.getId(), vehicle.getUpdatedAt(),
+                        new VehicleDTO(vehicle)));
+            }
+        }
+        for (VehicleTombstone tombstone : tombstoneRepository.findDeletedAfter(from.at(), from.id(), until, page)) {
+            changes.add(new VehicleChange(VehicleChange.Type.DELETE, tombstone.getVehicleId(),
+                    tombstone.getDeletedAt(), null));
+        }
+        changes.sort(Comparator.comparing(VehicleChange::getChangedAt).thenComparing(VehicleChange::getVehicleId));
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, limit));
+        }
+        Position next = changes.isEmpty()
+                ? from
+                : new Position(changes.get(changes.size() - 1).getChangedAt(), changes.get(changes.size() - 1).getVehicleId());
+        return new VehicleChangesResponse(changes, next.encode(), hasMore);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onVehicleChange(VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            // Mesma transação da exclusão: não existe exclusão confirmada sem tombstone
+            tombstoneRepository.save(new VehicleTombstone(event.getVehicleId(), LocalDateTime.now()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            logger.info("{} tombstones de veículos expurgados", purged);
+        }
+    }
+
+    private record Position(LocalDateTime at, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(cursor);
+                }
+                return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new RuntimeException("Cursor inválido: " + cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.FacetResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.VehicleColumnStore;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class VehicleFacetService extends VehicleIndexSupport<VehicleColumnStore> {
+
+    private static final Logger logger = LogManager.getLogger(VehicleFacetService.class);
+
+    public VehicleFacetService(VehicleRepository vehicleRepository) {
+        super(vehicleRepository);
+    }
+
+    public FacetResponse facets(VehicleFilter filter, int yearBucket, BigDecimal priceBucket) {
+        if (yearBucket <= 0 || priceBucket == null || priceBucket.signum() <= 0) {
+            throw new RuntimeException("Tamanho de faixa deve ser positivo");
+        }
+        // Preços são agrupados em centavos: a faixa precisa ser um número inteiro de centavos
+        if (priceBucket.stripTrailingZeros().scale() > 2) {
+            throw new RuntimeException("Faixa de preço deve ser de pelo menos 0.01 e ter no máximo duas casas decimais");
+        }
+        long start = System.nanoTime();
+        VehicleColumnStore.Facets facets = structure().facets(
+                new VehicleColumnStore.Criteria(filter.getBrand(), filter.getModel(), filter.getColor(),
+                        filter.getIsAvailable(), filter.getMinYear(), filter.getMaxYear(),
+                        filter.getMinPrice(), filter.getMaxPrice()),
+                yearBucket,
+                priceBucket.movePointRight(2).longValueExact());
+        logger.debug("Facetas calculadas para {} veículos em {} µs", facets.total(), (System.nanoTime() - start) / 1_000);
+
+        Map<String, Long> availability = new LinkedHashMap<>();
+        availability.put("available", facets.available());
+        availability.put("unavailable", facets.unavailable());
+        return new FacetResponse(facets.total(), facets.brands(), facets.models(), facets.colors(),
+                availability, facets.yearBuckets(), facets.priceBuckets());
+    }
+
+    @Override
+    protected VehicleColumnStore newStructure() {
+        return new VehicleColumnStore();
+    }
+
+    @Override
+    protected void index(VehicleColumnStore store, List<Vehicle> batch) {
+        batch.forEach(vehicle -> store.upsert(vehicle.getId(), vehicle.getBrand(), vehicle.getModel(),
+                vehicle.getColor(), vehicle.getYear(), vehicle.getPrice(), vehicle.getIsAvailable()));
+    }
+
+    @Override
+    protected void apply(VehicleColumnStore store, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            store.remove(event.getVehicleId());
+        } else if (event.getType() == VehicleChangeEvent.Type.AVAILABILITY_CHANGED) {
+            store.setAvailable(event.getVehicleId(), event.getAvailable());
+        } else {
+            VehicleDTO current = event.getCurrent();
+            store.upsert(current.getId(), current.getBrand(), current.getModel(), current.getColor(),
+                    current.getYear(), current.getPrice(), current.getIsAvailable());
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.FeedSyncResponse;
+import com.vehicle_management_api.dto.ImportJobStatus;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.exception.ShardingUnsupportedException;
+import com.vehicle_management_api.repository.ClientRepository;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronização diferencial da frota de um revendedor a partir do feed completo (CSV).
+ *
+ * O estado atual do revendedor é carregado uma vez como placa → (id, contentHash). O feed é lido
+ * em streaming; cada linha tem o hash calculado e comparado ao armazenado, e só inserções e
+ * alterações entram nos lotes de {@link #CHUNK_SIZE} gravados, cada um em sua própria transação.
+ * Linhas iguais custam apenas a comparação de hash. Veículos do revendedor ausentes do feed são
+ * excluídos no final, e só se o feed foi lido até o fim; os que têm reserva ativa ou reservas de
+ * período futuras ficam (com as mesmas regras do arquivamento) e são listados na resposta.
+ * Placas são comparadas sem distinção de maiúsculas, como no índice UNIQUE do MySQL.
+ */
+@Service
+public class VehicleFeedSyncService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleFeedSyncService.class);
+
+    static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final VehicleRepository vehicleRepository;
+    private final ClientRepository clientRepository;
+    private final VehicleCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleFeedSyncService(VehicleRepository vehicleRepository,
+                                  ClientRepository clientRepository,
+                                  VehicleCacheEvictor cacheEvictor,
+                                  ApplicationEventPublisher eventPublisher,
+                                  Validator validator,
+                                  PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.clientRepository = clientRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public FeedSyncResponse sync(Long dealerId, InputStream feed) {
+        if (shardedVehicleRepository != null) {
+            throw new ShardingUnsupportedException("Sincronização de feed");
+        }
+        long start = System.currentTimeMillis();
+        Client dealer = clientRepository.findById(dealerId)
+                .orElseThrow(() -> new RuntimeException("Revendedor não encontrado"));
+        logger.info("Sincronizando feed do revendedor {}", dealerId);
+
+        Map<String, Stored> stored = new HashMap<>();
+        for (Object[] row : vehicleRepository.findFeedStateByDealer(dealerId)) {
+            stored.put(plateKey((String) row[0]), new Stored((Long) row[1], (String) row[2]));
+        }
+
+        SyncRun run = new SyncRun(dealer);
+        Set<String> seen = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(feed, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new RuntimeException("Feed sem cabeçalho");
+            }
+            Map<String, Integer> columns = VehicleImportService.parseHeader(header);
+
+            long row = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.received++;
+                VehicleImportService.ParsedRow parsed = VehicleImportService.parseRow(line, columns);
+                String plate = parsed.licensePlate();
+                String error = parsed.error() != null ? parsed.error() : validate(parsed.vehicle());
+                if (plate != null && !seen.add(plateKey(plate))) {
+                    run.reject(row, plate, "Placa duplicada no feed");
+                    continue;
+                }
+                if (error != null) {
+                    // A placa conta como vista: uma linha inválida não exclui o veículo existente
+                    run.reject(row, plate, error);
+                    continue;
+                }
+
+                VehicleDTO dto = parsed.vehicle();
+                Stored current = stored.get(plateKey(plate));
+                if (current == null) {
+                    run.inserts.add(new Pending(row, null, dto));
+                } else if (hash(dto).equals(current.contentHash())) {
+                    run.unchanged++;
+                } else {
+                    run.updates.add(new Pending(row, current.id(), dto));
+                }
+                if (run.inserts.size() == CHUNK_SIZE) {
+                    flushInserts(run);
+                }
+                if (run.updates.size() == CHUNK_SIZE) {
+                    flushUpdates(run);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao ler feed: " + e.getMessage());
+        }
+        flushInserts(run);
+        flushUpdates(run);
+
+        List<Long> missing = stored.entrySet().stream()
+                .filter(entry -> !seen.contains(entry.getKey()))
+                .map(entry -> entry.getValue().id())
+                .toList();
+        for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(missing.size(), from + CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult(status -> deleteChunk(run, chunk));
+        }
+
+        FeedSyncResponse response = new FeedSyncResponse(dealerId, run.received, run.inserted, run.updated,
+                run.unchanged, run.deleted, run.rejected, System.currentTimeMillis() - start, run.errors,
+                run.kept, run.keptPlates);
+        logger.info("Feed do revendedor {} sincronizado: {} inseridos, {} alterados, {} iguais, {} excluídos, "
+                        + "{} mantidos por reservas, {} rejeitados",
+                dealerId, response.getInserted(), response.getUpdated(), response.getUnchanged(),
+                response.getDeleted(), response.getKeptWithBookings(), response.getRejected());
+        return response;
+    }
+
+    private void flushInserts(SyncRun run) {
+        if (run.inserts.isEmpty()) {
+            return;
+        }
+        List<Pending> pending = new ArrayList<>(run.inserts);
+        run.inserts.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Placas novas para o revendedor podem pertencer a outro revendedor
+            Set<String> taken = vehicleRepository.findExistingLicensePlates(
+                            pending.stream().map(p -> p.vehicle().getLicensePlate()).toList()).stream()
+                    .map(VehicleFeedSyncService::plateKey)
+                    .collect(Collectors.toSet());
+            List<Vehicle> entities = new ArrayList<>();
+            for (Pending item : pending) {
+                if (taken.contains(plateKey(item.vehicle().getLicensePlate()))) {
+                    run.reject(item.row(), item.vehicle().getLicensePlate(), "Placa pertence a outro revendedor");
+                } else {
+                    entities.add(toEntity(item.vehicle(), run.dealer));
+                }
+            }
+            vehicleRepository.saveAll(entities);
+            List<Object[]> evicted = new ArrayList<>();
+            for (Vehicle vehicle : entities) {
+                eventPublisher.publishEvent(VehicleChangeEvent.created(new VehicleDTO(vehicle)));
+                evicted.add(new Object[]{vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getLicensePlate()});
+            }
+            cacheEvictor.evict(evicted, true);
+            run.inserted += entities.size();
+        });
+    }
+
+    private void flushUpdates(SyncRun run) {
+        if (run.updates.isEmpty()) {
+            return;
+        }
+        Map<Long, Pending> pending = new LinkedHashMap<>();
+        run.updates.forEach(item -> pending.put(item.vehicleId(), item));
+        run.updates.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Vehicle> vehicles = vehicleRepository.findAllById(pending.keySet());
+            List<VehicleDTO> previous = new ArrayList<>(vehicles.size());
+            List<Object[]> evicted = new ArrayList<>();
+            for (Vehicle vehicle : vehicles) {
+                previous.add(new VehicleDTO(vehicle));
+                evicted.add(new Object[]{vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getLicensePlate()});
+                VehicleDTO dto = pending.get(vehicle.getId()).vehicle();
+                vehicle.setBrand(dto.getBrand());
+                vehicle.setModel(dto.getModel());
+                vehicle.setYear(dto.getYear());
+                vehicle.setColor(dto.getColor());
+                vehicle.setPrice(dto.getPrice());
+                evicted.add(new Object[]{vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getLicensePlate()});
+            }
+            // Flush para que versão, updatedAt e contentHash dos eventos reflitam o UPDATE
+            vehicleRepository.saveAllAndFlush(vehicles);
+            for (int i = 0; i < vehicles.size(); i++) {
+                eventPublisher.publishEvent(VehicleChangeEvent.updated(previous.get(i), new VehicleDTO(vehicles.get(i))));
+            }
+            cacheEvictor.evict(evicted, false);
+            run.updated += vehicles.size();
+        });
+    }
+
+    private void deleteChunk(SyncRun run, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Vehicle> deletable = vehicleRepository.lockDeletable(ids, now, now.toLocalDate());
+        if (deletable.size() < ids.size()) {
+            Set<Long> deletableIds = deletable.stream().map(Vehicle::getId).collect(Collectors.toSet());
+            List<Vehicle> kept = vehicleRepository.findAllById(ids.stream()
+                    .filter(id -> !deletableIds.contains(id))
+                    .toList());
+            kept.forEach(vehicle -> run.keep(vehicle.getLicensePlate()));
+            logger.warn("{} veículos ausentes do feed mantidos por terem reservas", kept.size());
+        }
+        if (deletable.isEmpty()) {
+            return;
+        }
+        List<Long> deletedIds = deletable.stream().map(Vehicle::getId).toList();
+        List<Object[]> evicted = deletable.stream()
+                .map(vehicle -> new Object[]{vehicle.getId(), vehicle.getBrand(), vehicle.getModel(), vehicle.getLicensePlate()})
+                .toList();
+        vehicleRepository.deleteAllByIdInBatch(deletedIds);
+        deletedIds.forEach(id -> eventPublisher.publishEvent(VehicleChangeEvent.deleted(id)));
+        cacheEvictor.evict(evicted, true);
+        run.deleted += deletedIds.size();
+    }
+
+    private static String plateKey(String licensePlate) {
+        return licensePlate.toUpperCase(Locale.ROOT);
+    }
+
+    private static Vehicle toEntity(VehicleDTO dto, Client dealer) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand(dto.getBrand());
+        vehicle.setModel(dto.getModel());
+        vehicle.setYear(dto.getYear());
+        vehicle.setColor(dto.getColor());
+        vehicle.setLicensePlate(dto.getLicensePlate());
+        vehicle.setPrice(dto.getPrice());
+        vehicle.setIsAvailable(dto.getIsAvailable() != null ? dto.getIsAvailable() : true);
+        vehicle.setCreatedBy(dealer);
+        return vehicle;
+    }
+
+    private static String hash(VehicleDTO dto) {
+        return Vehicle.contentHash(dto.getBrand(), dto.getModel(), dto.getYear(), dto.getColor(), dto.getPrice());
+    }
+
+    private String validate(VehicleDTO dto) {
+        Set<ConstraintViolation<VehicleDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record Stored(Long id, String contentHash) {
+    }
+
+    private record Pending(long row, Long vehicleId, VehicleDTO vehicle) {
+    }
+
+    private static final class SyncRun {
+        private final Client dealer;
+        private final List<Pending> inserts = new ArrayList<>();
+        private final List<Pending> updates = new ArrayList<>();
+        private final List<ImportJobStatus.RowError> errors = new ArrayList<>();
+        private final List<String> keptPlates = new ArrayList<>();
+        private long received;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long deleted;
+        private long rejected;
+        private long kept;
+
+        SyncRun(Client dealer) {
+            this.dealer = dealer;
+        }
+
+        void reject(long row, String licensePlate, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportJobStatus.RowError(row, licensePlate, reason));
+            }
+        }
+
+        void keep(String licensePlate) {
+            kept++;
+            if (keptPlates.size() < MAX_REPORTED_ERRORS) {
+                keptPlates.add(licensePlate);
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.ImportJobStatus;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação de frota a partir de CSV em segundo plano.
+ *
+ * O upload é copiado para um arquivo temporário e a requisição retorna imediatamente com o id do
+ * job. O arquivo é lido em blocos de {@link #CHUNK_SIZE} linhas; cada bloco é convertido em
+ * paralelo e gravado em sua própria transação via {@link VehicleBatchService}, de modo que nenhuma
+ * transação dure a importação inteira.
+ */
+@Service
+public class VehicleImportService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleImportService.class);
+
+    static final int CHUNK_SIZE = 1_000;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("brand", "model", "year", "licenseplate");
+
+    private final VehicleBatchService vehicleBatchService;
+    private final TaskExecutor vehicleImportExecutor;
+
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public VehicleImportService(VehicleBatchService vehicleBatchService,
+                                @Qualifier("vehicleImportExecutor") TaskExecutor vehicleImportExecutor) {
+        this.vehicleBatchService = vehicleBatchService;
+        this.vehicleImportExecutor = vehicleImportExecutor;
+    }
+
+    public ImportJobStatus submit(MultipartFile file, Client createdBy) {
+        if (file.isEmpty()) {
+            throw new RuntimeException("Arquivo CSV vazio");
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("vehicle-import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao receber arquivo CSV: " + e.getMessage());
+        }
+
+        register(job);
+        try {
+            // Leva o usuário autenticado para a thread do job (auditoria registra quem importou)
+            vehicleImportExecutor.execute(new DelegatingSecurityContextRunnable(() -> run(job, tempFile, createdBy)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            deleteQuietly(tempFile);
+            throw new RuntimeException("Fila de importação cheia, tente novamente mais tarde");
+        }
+
+        logger.info("Importação {} agendada para o arquivo {}", job.id, job.fileName);
+        return job.toStatus();
+    }
+
+    public Optional<ImportJobStatus> status(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        return job == null ? Optional.empty() : Optional.of(job.toStatus());
+    }
+
+    private void run(ImportJob job, Path file, Client createdBy) {
+        job.start();
+        logger.info("Iniciando importação {}", job.id);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new RuntimeException("Arquivo CSV sem cabeçalho");
+            }
+            Map<String, Integer> columns = parseHeader(header);
+
+            List<SourceLine> lines = new ArrayList<>(CHUNK_SIZE);
+            long row = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(new SourceLine(row, line));
+                if (lines.size() == CHUNK_SIZE) {
+                    importChunk(job, columns, lines, createdBy);
+                    lines.clear();
+                }
+            }
+            if (!lines.isEmpty()) {
+                importChunk(job, columns, lines, createdBy);
+            }
+            job.finish(ImportJobStatus.State.COMPLETED, null);
+            logger.info("Importação {} concluída: {} criados, {} rejeitados",
+                    job.id, job.created.get(), job.rejected.get());
+        } catch (Exception e) {
+            job.finish(ImportJobStatus.State.FAILED, e.getMessage());
+            logger.error("Erro na importação {}: {}", job.id, e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void importChunk(ImportJob job, Map<String, Integer> columns, List<SourceLine> lines,
+                             Client createdBy) {
+        List<ParsedRow> parsed = lines.parallelStream()
+                .map(line -> parseRow(line.text(), columns))
+                .toList();
+
+        List<VehicleDTO> vehicles = new ArrayList<>();
+        List<Long> rowNumbers = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            ParsedRow parsedRow = parsed.get(i);
+            long row = lines.get(i).number();
+            if (parsedRow.error != null) {
+                job.reject(row, parsedRow.licensePlate, parsedRow.error);
+            } else {
+                vehicles.add(parsedRow.vehicle);
+                rowNumbers.add(row);
+            }
+        }
+        job.processed.addAndGet(parsed.size());
+
+        if (vehicles.isEmpty()) {
+            return;
+        }
+        try {
+            record(job, vehicleBatchService.createBatch(vehicles, createdBy), rowNumbers);
+        } catch (DataIntegrityViolationException e) {
+            // Placa gravada por outra escrita entre a verificação e o INSERT: o bloco inteiro foi
+            // desfeito, então as linhas são reenviadas uma a uma para isolar as que conflitam
+            logger.warn("Conflito ao gravar bloco da importação {}, reprocessando linha a linha", job.id);
+            for (int i = 0; i < vehicles.size(); i++) {
+                VehicleDTO vehicle = vehicles.get(i);
+                try {
+                    record(job, vehicleBatchService.createBatch(List.of(vehicle), createdBy),
+                            List.of(rowNumbers.get(i)));
+                } catch (DataIntegrityViolationException rowError) {
+                    job.reject(rowNumbers.get(i), vehicle.getLicensePlate(), "Veículo com esta placa já existe");
+                }
+            }
+        }
+    }
+
+    private static void record(ImportJob job, BatchResponse response, List<Long> rowNumbers) {
+        for (BatchItemResult item : response.getItems()) {
+            if (item.getStatus() == BatchItemResult.Status.CREATED) {
+                job.created.incrementAndGet();
+            } else {
+                job.reject(rowNumbers.get(item.getIndex()), item.getKey(), item.getMessage());
+            }
+        }
+    }
+
+    static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitLine(stripBom(header));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("Coluna obrigatória ausente no CSV: " + required);
+            }
+        }
+        return columns;
+    }
+
+    static ParsedRow parseRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitLine(line);
+        String plate = value(values, columns, "licenseplate");
+        try {
+            VehicleDTO dto = new VehicleDTO();
+            dto.setBrand(value(values, columns, "brand"));
+            dto.setModel(value(values, columns, "model"));
+            dto.setColor(value(values, columns, "color"));
+            dto.setLicensePlate(plate);
+
+            String year = value(values, columns, "year");
+            dto.setYear(year != null ? Integer.valueOf(year) : null);
+            String price = value(values, columns, "price");
+            dto.setPrice(price != null ? new BigDecimal(price) : null);
+            String available = value(values, columns, "isavailable");
+            if (available != null && !"true".equalsIgnoreCase(available) && !"false".equalsIgnoreCase(available)) {
+                return new ParsedRow(null, plate, "Valor de disponibilidade inválido: " + available);
+            }
+            dto.setIsAvailable(available == null || Boolean.parseBoolean(available));
+            return new ParsedRow(dto, plate, null);
+        } catch (NumberFormatException e) {
+            return new ParsedRow(null, plate, "Valor numérico inválido: " + e.getMessage());
+        }
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Divide uma linha CSV por vírgulas, respeitando campos entre aspas e aspas duplicadas ("").
+     */
+    static List<String> splitLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            // Descarta os jobs finalizados mais antigos para manter o registro limitado
+            var iterator = jobs.values().iterator();
+            while (jobs.size() >= MAX_RETAINED_JOBS && iterator.hasNext()) {
+                if (iterator.next().finishedAt != null) {
+                    iterator.remove();
+                }
+            }
+            jobs.put(job.id, job);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o arquivo temporário {}: {}", file, e.getMessage());
+        }
+    }
+
+    record ParsedRow(VehicleDTO vehicle, String licensePlate, String error) {
+    }
+
+    // Linhas em branco são descartadas, então o número da linha no arquivo acompanha cada linha lida
+    private record SourceLine(long number, String text) {
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<ImportJobStatus.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportJobStatus.State state = ImportJobStatus.State.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            state = ImportJobStatus.State.RUNNING;
+        }
+
+        void finish(ImportJobStatus.State finalState, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        void reject(long row, String licensePlate, String reason) {
+            rejected.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportJobStatus.RowError(row, licensePlate, reason));
+            }
+        }
+
+        ImportJobStatus toStatus() {
+            double rowsPerSecond = 0;
+            if (startedAt != null) {
+                LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+                long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+                rowsPerSecond = processed.get() * 1000.0 / millis;
+            }
+            List<ImportJobStatus.RowError> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            return new ImportJobStatus(id, fileName, state, processed.get(), created.get(), rejected.get(),
+                    rowsPerSecond, submittedAt, startedAt, finishedAt, message, snapshot);
+        }
+    }
+}
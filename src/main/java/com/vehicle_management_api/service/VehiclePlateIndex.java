@@ -0,0 +1,152 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.CountingBloomFilter;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro de Bloom das placas cadastradas. "Certamente ausente" dispensa a consulta de existência
+ * ao banco no cadastro, na alteração e na consulta por placa; "talvez presente" segue para o banco,
+ * que continua sendo a fonte da verdade (e a restrição UNIQUE, a última garantia).
+ *
+ * As placas são normalizadas (maiúsculas, só letras e dígitos) antes do hash. A normalização é mais
+ * grossa que a igualdade do banco, então pode gerar falso positivo, nunca falso negativo.
+ */
+@Service
+public class VehiclePlateIndex extends VehicleIndexSupport<VehiclePlateIndex.Plates> {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Folga para o crescimento da frota até a próxima reconstrução
+    private static final int MIN_EXPECTED_PLATES = 100_000;
+
+    public VehiclePlateIndex(VehicleRepository vehicleRepository) {
+        super(vehicleRepository);
+    }
+
+    /**
+     * Falso só quando a placa certamente não existe. Antes da primeira carga responde sempre
+     * verdadeiro, mandando todas as verificações para o banco.
+     */
+    public boolean mightExist(String licensePlate) {
+        if (licensePlate == null) {
+            return false;
+        }
+        return !isReady() || structure().mightContain(hash(licensePlate));
+    }
+
+    /**
+     * Os índices só aplicam eventos após o commit. Até lá a placa nova ficaria invisível para a
+     * própria transação e para as concorrentes, então ela entra no filtro já na publicação do
+     * evento; o evento pós-commit apenas associa a placa ao veículo.
+     */
+    @EventListener
+    public void onVehicleWrite(VehicleChangeEvent event) {
+        if (event.getCurrent() != null && event.getCurrent().getLicensePlate() != null) {
+            String licensePlate = event.getCurrent().getLicensePlate();
+            mutate(plates -> plates.reserve(licensePlate));
+        }
+    }
+
+    static String normalize(String licensePlate) {
+        StringBuilder normalized = new StringBuilder(licensePlate.length());
+        for (int i = 0; i < licensePlate.length(); i++) {
+            char c = licensePlate.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+
+    static long hash(String licensePlate) {
+        // FNV-1a de 64 bits seguido do finalizador do MurmurHash3 para espalhar os bits
+        long h = 0xcbf29ce484222325L;
+        String normalized = normalize(licensePlate);
+        for (int i = 0; i < normalized.length(); i++) {
+            h ^= normalized.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    protected Plates newStructure() {
+        long expected = Math.max(MIN_EXPECTED_PLATES, vehicleCount() * 2);
+        return new Plates(new CountingBloomFilter(expected, FALSE_POSITIVE_RATE));
+    }
+
+    @Override
+    protected void index(Plates plates, List<Vehicle> batch) {
+        batch.forEach(vehicle -> plates.put(vehicle.getId(), vehicle.getLicensePlate()));
+    }
+
+    @Override
+    protected void apply(Plates plates, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.AVAILABILITY_CHANGED) {
+            return;
+        }
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            plates.remove(event.getVehicleId());
+        } else {
+            plates.put(event.getCurrent().getId(), event.getCurrent().getLicensePlate());
+        }
+    }
+
+    static class Plates {
+        private final CountingBloomFilter filter;
+        // Hash atual de cada veículo, para retirar a placa antiga em alterações e exclusões
+        private final Map<Long, Long> hashByVehicle = new ConcurrentHashMap<>();
+        // Placas inseridas no filtro antes do commit e ainda sem veículo associado. Se a transação
+        // for desfeita a entrada fica no filtro, o que só gera falso positivo até a próxima carga
+        private final Map<Long, Integer> reserved = new ConcurrentHashMap<>();
+
+        Plates(CountingBloomFilter filter) {
+            this.filter = filter;
+        }
+
+        void reserve(String licensePlate) {
+            long hash = hash(licensePlate);
+            reserved.merge(hash, 1, Integer::sum);
+            filter.add(hash);
+        }
+
+        void put(Long id, String licensePlate) {
+            remove(id);
+            long hash = hash(licensePlate);
+            hashByVehicle.put(id, hash);
+            Integer pending = reserved.get(hash);
+            if (pending == null) {
+                filter.add(hash);
+            } else if (pending == 1) {
+                reserved.remove(hash);
+            } else {
+                reserved.put(hash, pending - 1);
+            }
+        }
+
+        void remove(Long id) {
+            Long previous = hashByVehicle.remove(id);
+            if (previous != null) {
+                filter.remove(previous);
+            }
+        }
+
+        boolean mightContain(long hash) {
+            return filter.mightContain(hash);
+        }
+    }
+}
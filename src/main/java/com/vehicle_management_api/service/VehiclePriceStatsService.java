@@ -0,0 +1,166 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.PriceStatsDTO;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.PriceStatsStore;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.VehicleRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class VehiclePriceStatsService extends VehicleIndexSupport<PriceStatsStore> {
+
+    private static final Logger logger = LogManager.getLogger(VehiclePriceStatsService.class);
+
+    @Value("${app.stats.snapshot-path:}")
+    private String snapshotPath;
+
+    public VehiclePriceStatsService(VehicleRepository vehicleRepository) {
+        super(vehicleRepository);
+    }
+
+    public PriceStatsDTO stats(String brand, String model, Integer year) {
+        PriceStatsStore.Summary summary = structure().query(brand, model, year, this::loadGroup);
+        return new PriceStatsDTO(brand, model, year, summary.groups(), summary.count(),
+                money(summary.min()), money(summary.max()), money(summary.median()), money(summary.p90()),
+                summary.distinctPrices());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.snapshot-interval-ms:300000}",
+            initialDelayString = "${app.stats.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return;
+        }
+        Path target = Path.of(snapshotPath);
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            // O cabeçalho é lido antes das estatísticas: se houver escrita depois disso o snapshot
+            // será considerado desatualizado na próxima inicialização
+            long vehicleCount = vehicleCount();
+            long maxUpdatedAt = toEpochMillis(maxUpdatedAt());
+
+            Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "price-stats", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeLong(vehicleCount);
+                out.writeLong(maxUpdatedAt);
+                structure().writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Snapshot de estatísticas de preço salvo em {} ({} grupos)", target, structure().groupCount());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Falha ao salvar snapshot de estatísticas de preço: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected PriceStatsStore restore() {
+        if (snapshotPath == null || snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(snapshotPath))))) {
+            long vehicleCount = in.readLong();
+            long maxUpdatedAt = in.readLong();
+            if (vehicleCount != vehicleCount() || maxUpdatedAt != toEpochMillis(maxUpdatedAt())) {
+                logger.info("Snapshot de estatísticas de preço desatualizado, reconstruindo a partir do banco");
+                return null;
+            }
+            return PriceStatsStore.readFrom(in);
+        } catch (IOException e) {
+            logger.warn("Snapshot de estatísticas de preço ilegível, reconstruindo: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    protected PriceStatsStore newStructure() {
+        return new PriceStatsStore();
+    }
+
+    @Override
+    protected void index(PriceStatsStore store, List<Vehicle> batch) {
+        batch.forEach(vehicle -> store.put(vehicle.getId(), groupOf(vehicle.getBrand(), vehicle.getModel(), vehicle.getYear()),
+                vehicle.getPrice()));
+    }
+
+    @Override
+    protected void apply(PriceStatsStore store, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.AVAILABILITY_CHANGED) {
+            return;
+        }
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            store.remove(event.getVehicleId());
+            return;
+        }
+        VehicleDTO previous = event.getPrevious();
+        VehicleDTO current = event.getCurrent();
+        PriceStatsStore.GroupKey key = groupOf(current.getBrand(), current.getModel(), current.getYear());
+        if (previous != null
+                && key.equals(groupOf(previous.getBrand(), previous.getModel(), previous.getYear()))
+                && samePrice(previous.getPrice(), current.getPrice())) {
+            // Alteração que não afeta grupo nem preço: evita sujar o grupo
+            return;
+        }
+        store.put(current.getId(), key, current.getPrice());
+    }
+
+    private Map<Long, BigDecimal> loadGroup(PriceStatsStore.GroupKey key) {
+        logger.debug("Recalculando grupo de estatísticas {}", key);
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findPricesByGroup(key.brand(), key.model(), key.year());
+        }
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        vehicleRepository.findByBrandAndModelAndYear(key.brand(), key.model(), key.year())
+                .forEach(vehicle -> prices.put(vehicle.getId(), vehicle.getPrice()));
+        return prices;
+    }
+
+    private LocalDateTime maxUpdatedAt() {
+        return shardedVehicleRepository != null
+                ? shardedVehicleRepository.findMaxUpdatedAt()
+                : vehicleRepository.findMaxUpdatedAt();
+    }
+
+    private static PriceStatsStore.GroupKey groupOf(String brand, String model, Integer year) {
+        return new PriceStatsStore.GroupKey(brand, model, year != null ? year : 0);
+    }
+
+    private static boolean samePrice(BigDecimal a, BigDecimal b) {
+        return Objects.equals(a, b) || (a != null && b != null && a.compareTo(b) == 0);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1L : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -1,19 +1,43 @@
 package com.vehicle_management_api.service;
 
+import com.vehicle_management_api.config.ReadWriteRoutingDataSource;
+import com.vehicle_management_api.dto.PageResponse;
 import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFields;
+import com.vehicle_management_api.dto.VehicleFilter;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.exception.VersionConflictException;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
 import com.vehicle_management_api.repository.VehicleRepository;
-import jakarta.transaction.Transactional;
+import com.vehicle_management_api.repository.VehicleSpecifications;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,47 +46,251 @@ public class VehicleService {
 
     private static final Logger logger = LogManager.getLogger(VehicleService.class);
 
+    public static final int MAX_IDS_PER_REQUEST = 500;
+    static final int MAX_CACHED_PER_BATCH = 100;
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
-    public VehicleService(VehicleRepository vehicleRepository) {
+    private ApplicationEventPublisher eventPublisher;
+
+    private VehiclePlateIndex plateIndex;
+
+    private CacheManager cacheManager;
+
+    // Presente só com app.sharding.enabled: os veículos ficam nos shards e não na tabela do JPA
+    @Autowired(required = false)
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    public VehicleService(VehicleRepository vehicleRepository, ApplicationEventPublisher eventPublisher,
+                          VehiclePlateIndex plateIndex, CacheManager cacheManager) {
         this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
+        this.plateIndex = plateIndex;
+        this.cacheManager = cacheManager;
     }
+
+    @Transactional(readOnly = true)
     @Cacheable(value = "vehicles", key = "#id")
     public Optional<VehicleDTO> findById(Long id) {
         logger.info("Buscando veículo por ID: {}", id);
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findById(id);
+        }
         return vehicleRepository.findById(id).map(this::convertToDTO);
     }
 
+    /**
+     * Busca vários veículos por ID na ordem pedida, omitindo os inexistentes. O cache por ID usado
+     * por {@link #findById} é consultado de uma vez só e apenas os ausentes vão ao banco, numa única
+     * consulta IN. Do que vier do banco, só veículos existentes voltam para esse cache, e no máximo
+     * {@link #MAX_CACHED_PER_BATCH} por chamada, para um lote grande não expulsar o restante do cache.
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleDTO> findAllByIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new RuntimeException("Consulta excede o limite de " + MAX_IDS_PER_REQUEST + " IDs");
+        }
+        Set<Long> misses = new LinkedHashSet<>(ids);
+        misses.remove(null);
+        Map<Long, VehicleDTO> found = new HashMap<>();
+
+        Cache cache = cacheManager != null ? cacheManager.getCache("vehicles") : null;
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().getAllPresent(misses).forEach((key, value) -> {
+                // IDs inexistentes ficam no cache como NullValue e também não voltam ao banco
+                if (value instanceof VehicleDTO dto) {
+                    found.put(dto.getId(), dto);
+                }
+                misses.remove(key);
+            });
+        }
+        logger.info("Buscando {} veículos por ID ({} fora do cache)", ids.size(), misses.size());
+
+        if (!misses.isEmpty()) {
+            // A consulta abaixo pode ir para a réplica; nesse caso o cache ignora os puts
+            ReadWriteRoutingDataSource.clearReplicaRead();
+            List<VehicleDTO> loaded = shardedVehicleRepository != null
+                    ? shardedVehicleRepository.findAllById(misses)
+                    : vehicleRepository.findAllWithCreatorByIdIn(misses).stream().map(this::convertToDTO).toList();
+            loaded.forEach(dto -> found.put(dto.getId(), dto));
+            if (cache != null) {
+                loaded.stream().limit(MAX_CACHED_PER_BATCH).forEach(dto -> cache.put(dto.getId(), dto));
+            }
+        }
+
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Consulta por placa. Placas que o filtro de Bloom garante inexistentes não chegam ao banco.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehiclePlates", key = "#licensePlate", unless = "#result == null")
+    public Optional<VehicleDTO> findByLicensePlate(String licensePlate) {
+        logger.info("Buscando veículo por placa: {}", licensePlate);
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findByLicensePlate(licensePlate);
+        }
+        if (!plateIndex.mightExist(licensePlate)) {
+            return Optional.empty();
+        }
+        return vehicleRepository.findByLicensePlate(licensePlate).map(this::convertToDTO);
+    }
+
+    @Transactional(readOnly = true)
     @Cacheable(value = "vehicles")
     public List<VehicleDTO> findAll() {
         logger.info("Buscando todos os veículos");
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findAll(null, null, null);
+        }
         return vehicleRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "vehicles", key = "#brand + '-' + #model")
     public List<VehicleDTO> findByBrandAndModel(String brand, String model) {
         logger.info("Buscando veículos por marca: {} e modelo: {}", brand, model);
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findAll(brand, model, null);
+        }
         return vehicleRepository.findByBrandAndModel(brand, model).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "vehicles", key = "'available'")
     public List<VehicleDTO> findAvailableVehicles() {
         logger.info("Buscando todos os veículos disponíveis");
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.findAll(null, null, true);
+        }
         return vehicleRepository.findByIsAvailableTrue().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehicleSearch", key = "#filter.cacheKey()")
+    public PageResponse<VehicleDTO> search(VehicleFilter filter) {
+        logger.info("Filtrando veículos: {}", filter.cacheKey());
+        if (shardedVehicleRepository != null) {
+            return shardedVehicleRepository.search(filter);
+        }
+        PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize(), sortOf(filter));
+        Specification<Vehicle> specification = VehicleSpecifications.fromFilter(filter);
+        // Uma linha a mais indica se há próxima página; sem ela o total sai da própria página
+        List<Vehicle> rows = vehicleRepository.findSlice(specification, pageRequest.getSort(),
+                pageRequest.getOffset(), pageRequest.getPageSize() + 1);
+        return PageResponse.of(pageOf(rows, pageRequest, filter, specification), this::convertToDTO);
+    }
+
+    /*
+     * Variantes com ?fields=: selecionam só as colunas pedidas (sem o join com o criador, a menos que
+     * createdBy seja pedido) e ficam num cache próprio, indexado também pelo conjunto de campos.
+     */
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehicleProjections", key = "'all|' + #fields.key()")
+    public List<Map<String, Object>> findAll(VehicleFields fields) {
+        logger.info("Buscando todos os veículos com campos: {}", fields);
+        if (shardedVehicleRepository != null) {
+            return project(shardedVehicleRepository.findAll(null, null, null), fields);
+        }
+        return vehicleRepository.findFields(null, fields.names(), Sort.unsorted(), 0, 0);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehicleProjections", key = "#brand + '-' + #model + '|' + #fields.key()")
+    public List<Map<String, Object>> findByBrandAndModel(String brand, String model, VehicleFields fields) {
+        logger.info("Buscando veículos por marca: {} e modelo: {} com campos: {}", brand, model, fields);
+        if (shardedVehicleRepository != null) {
+            return project(shardedVehicleRepository.findAll(brand, model, null), fields);
+        }
+        Specification<Vehicle> specification = Specification.allOf(
+                VehicleSpecifications.brandEquals(brand), VehicleSpecifications.modelEquals(model));
+        return vehicleRepository.findFields(specification, fields.names(), Sort.unsorted(), 0, 0);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehicleProjections", key = "'available|' + #fields.key()")
+    public List<Map<String, Object>> findAvailableVehicles(VehicleFields fields) {
+        logger.info("Buscando veículos disponíveis com campos: {}", fields);
+        if (shardedVehicleRepository != null) {
+            return project(shardedVehicleRepository.findAll(null, null, true), fields);
+        }
+        return vehicleRepository.findFields(VehicleSpecifications.availableEquals(true), fields.names(),
+                Sort.unsorted(), 0, 0);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehicleProjections", key = "'filter|' + #filter.cacheKey() + '|' + #fields.key()")
+    public PageResponse<Map<String, Object>> search(VehicleFilter filter, VehicleFields fields) {
+        logger.info("Filtrando veículos: {} com campos: {}", filter.cacheKey(), fields);
+        if (shardedVehicleRepository != null) {
+            PageResponse<VehicleDTO> page = shardedVehicleRepository.search(filter);
+            return new PageResponse<>(project(page.getContent(), fields), page.getPage(), page.getSize(),
+                    page.getTotalElements(), page.getTotalPages());
+        }
+        PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize(), sortOf(filter));
+        Specification<Vehicle> specification = VehicleSpecifications.fromFilter(filter);
+        List<Map<String, Object>> rows = vehicleRepository.findFields(specification, fields.names(),
+                pageRequest.getSort(), pageRequest.getOffset(), pageRequest.getPageSize() + 1);
+        return PageResponse.of(pageOf(rows, pageRequest, filter, specification), Function.identity());
+    }
+
+    /**
+     * Monta a página a partir de até {@code size + 1} linhas. O COUNT(*) só roda quando há próxima
+     * página (ou quando a página pedida passou do fim) e o resultado fica no cache de buscas,
+     * indexado só pelos critérios: as demais páginas do mesmo filtro reaproveitam o total até a
+     * próxima escrita, que limpa esse cache inteiro.
+     */
+    private <T> PageImpl<T> pageOf(List<T> rows, PageRequest pageRequest, VehicleFilter filter,
+                                   Specification<Vehicle> specification) {
+        boolean hasNext = rows.size() > pageRequest.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageRequest.getPageSize()) : rows;
+        if (!hasNext && (!content.isEmpty() || pageRequest.getOffset() == 0)) {
+            return new PageImpl<>(content, pageRequest, pageRequest.getOffset() + content.size());
+        }
+        Cache search = cacheManager != null ? cacheManager.getCache("vehicleSearch") : null;
+        if (search == null) {
+            return new PageImpl<>(content, pageRequest, vehicleRepository.count(specification));
+        }
+        Long total = search.get("total|" + filter.criteriaKey(), () -> vehicleRepository.count(specification));
+        return new PageImpl<>(content, pageRequest, total);
+    }
+
+    private static Sort sortOf(VehicleFilter filter) {
+        Sort sort = Sort.by(Sort.Direction.fromString(filter.getDirection()), filter.getSortBy());
+        if (!"id".equals(filter.getSortBy())) {
+            // Desempate pelo ID garante paginação estável
+            sort = sort.and(Sort.by("id"));
+        }
+        return sort;
+    }
+
+    private static List<Map<String, Object>> project(List<VehicleDTO> vehicles, VehicleFields fields) {
+        return vehicles.stream().map(fields::project).collect(Collectors.toList());
+    }
+
+    @CacheEvict(value = {"vehicles", "vehicleSearch", "vehiclePlates", "vehicleProjections"}, allEntries = true)
     public VehicleDTO create(VehicleDTO vehicleDTO, Client createdBy) {
         logger.info("Criando novo veículo com placa: {}", vehicleDTO.getLicensePlate());
+        if (shardedVehicleRepository != null) {
+            return createSharded(vehicleDTO, createdBy);
+        }
 
-        if (vehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate())) {
+        // O filtro de Bloom evita a consulta quando a placa certamente é nova
+        if (plateIndex.mightExist(vehicleDTO.getLicensePlate())
+                && vehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate())) {
             logger.warn("Veículo com placa {} já existe", vehicleDTO.getLicensePlate());
             throw new RuntimeException("Veículo com esta placa já existe");
         }
@@ -73,12 +301,17 @@ public class VehicleService {
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
         logger.info("Veículo criado com sucesso com ID: {}", savedVehicle.getId());
-        return convertToDTO(savedVehicle);
+        VehicleDTO created = convertToDTO(savedVehicle);
+        eventPublisher.publishEvent(VehicleChangeEvent.created(created));
+        return created;
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
+    @CacheEvict(value = {"vehicles", "vehicleSearch", "vehiclePlates", "vehicleProjections"}, allEntries = true)
     public Optional<VehicleDTO> update(Long id, VehicleDTO vehicleDTO) {
         logger.info("Atualizando veículo com ID: {}", id);
+        if (shardedVehicleRepository != null) {
+            return updateSharded(id, vehicleDTO, null);
+        }
 
         Optional<Vehicle> existingVehicleOpt = vehicleRepository.findById(id);
         if (existingVehicleOpt.isEmpty()) {
@@ -89,11 +322,13 @@ public class VehicleService {
 
         // Verifica se a placa foi alterada e se já existe para outro veículo
         if (!existingVehicle.getLicensePlate().equals(vehicleDTO.getLicensePlate()) &&
+                plateIndex.mightExist(vehicleDTO.getLicensePlate()) &&
                 vehicleRepository.existsByLicensePlateAndIdNot(vehicleDTO.getLicensePlate(), id)) {
             logger.warn("Tentativa de atualizar para placa {} que já existe", vehicleDTO.getLicensePlate());
             throw new RuntimeException("Veículo com esta placa já existe");
         }
 
+        VehicleDTO previous = convertToDTO(existingVehicle);
         existingVehicle.setBrand(vehicleDTO.getBrand());
         existingVehicle.setModel(vehicleDTO.getModel());
         existingVehicle.setYear(vehicleDTO.getYear());
@@ -103,17 +338,79 @@ public class VehicleService {
         if (vehicleDTO.getIsAvailable() != null) {
             existingVehicle.setIsAvailable(vehicleDTO.getIsAvailable());
         }
+        // Marcar como disponível descarta a reserva em andamento
+        if (Boolean.TRUE.equals(vehicleDTO.getIsAvailable())) {
+            existingVehicle.setReservedBy(null);
+            existingVehicle.setReservedUntil(null);
+        }
 
         Vehicle updatedVehicle = vehicleRepository.save(existingVehicle);
         logger.info("Veículo com ID {} atualizado com sucesso", id);
-        return Optional.of(convertToDTO(updatedVehicle));
+        VehicleDTO updated = convertToDTO(updatedVehicle);
+        eventPublisher.publishEvent(VehicleChangeEvent.updated(previous, updated));
+        return Optional.of(updated);
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
+    /**
+     * Atualização condicionada à versão (If-Match). Não lê o veículo antes: um único UPDATE
+     * compara a versão, e só em caso de falha é verificado se o veículo existe. A placa repetida
+     * é barrada pelo índice UNIQUE, sem consulta prévia; o estado anterior para o histórico é
+     * reconstituído pela auditoria, fora da requisição.
+     */
+    @CacheEvict(value = {"vehicles", "vehicleSearch", "vehiclePlates", "vehicleProjections"}, allEntries = true)
+    public Optional<VehicleDTO> update(Long id, VehicleDTO vehicleDTO, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return update(id, vehicleDTO);
+        }
+        logger.info("Atualizando veículo com ID: {} na versão {}", id, expectedVersion);
+        if (shardedVehicleRepository != null) {
+            return updateSharded(id, vehicleDTO, expectedVersion);
+        }
+
+        int updated;
+        try {
+            updated = vehicleRepository.updateIfVersion(id, expectedVersion, vehicleDTO.getBrand(),
+                    vehicleDTO.getModel(), vehicleDTO.getYear(), vehicleDTO.getColor(), vehicleDTO.getLicensePlate(),
+                    vehicleDTO.getPrice(), vehicleDTO.getIsAvailable(),
+                    Vehicle.contentHash(vehicleDTO.getBrand(), vehicleDTO.getModel(), vehicleDTO.getYear(),
+                            vehicleDTO.getColor(), vehicleDTO.getPrice()),
+                    LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // license_plate é a única restrição UNIQUE da tabela além da chave primária
+            logger.warn("Tentativa de atualizar para placa {} que já existe", vehicleDTO.getLicensePlate());
+            throw new RuntimeException("Veículo com esta placa já existe");
+        }
+        if (updated == 0) {
+            if (!vehicleRepository.existsById(id)) {
+                return Optional.empty();
+            }
+            logger.warn("Versão {} do veículo {} está desatualizada", expectedVersion, id);
+            throw new VersionConflictException("Versão " + expectedVersion + " do veículo " + id + " está desatualizada");
+        }
+        // Marcar como disponível descarta a reserva em andamento; a linha já está travada pelo UPDATE acima
+        if (Boolean.TRUE.equals(vehicleDTO.getIsAvailable())) {
+            vehicleRepository.clearReservation(id);
+        }
+
+        Optional<VehicleDTO> current = vehicleRepository.findWithCreatorById(id).map(this::convertToDTO);
+        current.ifPresent(dto -> eventPublisher.publishEvent(VehicleChangeEvent.updated(null, dto)));
+        logger.info("Veículo com ID {} atualizado com sucesso", id);
+        return current;
+    }
+
+    @CacheEvict(value = {"vehicles", "vehicleSearch", "vehiclePlates", "vehicleProjections"}, allEntries = true)
     public boolean delete(Long id) {
         logger.info("Excluindo veículo com ID: {}", id);
+        if (shardedVehicleRepository != null) {
+            boolean deleted = shardedVehicleRepository.deleteById(id);
+            if (deleted) {
+                eventPublisher.publishEvent(VehicleChangeEvent.deleted(id));
+            }
+            return deleted;
+        }
         if (vehicleRepository.existsById(id)) {
             vehicleRepository.deleteById(id);
+            eventPublisher.publishEvent(VehicleChangeEvent.deleted(id));
             logger.info("Veículo com ID {} excluído com sucesso", id);
             return true;
         }
@@ -121,6 +418,40 @@ public class VehicleService {
         return false;
     }
 
+    private VehicleDTO createSharded(VehicleDTO vehicleDTO, Client createdBy) {
+        if (shardedVehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate(), null)) {
+            logger.warn("Veículo com placa {} já existe", vehicleDTO.getLicensePlate());
+            throw new RuntimeException("Veículo com esta placa já existe");
+        }
+        VehicleDTO created = shardedVehicleRepository.insert(vehicleDTO, createdBy);
+        logger.info("Veículo criado com sucesso com ID: {} no shard {}", created.getId(),
+                ShardedVehicleRepository.shardOf(created.getId()));
+        eventPublisher.publishEvent(VehicleChangeEvent.created(created));
+        return created;
+    }
+
+    private Optional<VehicleDTO> updateSharded(Long id, VehicleDTO vehicleDTO, Long expectedVersion) {
+        Optional<VehicleDTO> previous = shardedVehicleRepository.findById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        if (shardedVehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate(), id)) {
+            logger.warn("Tentativa de atualizar para placa {} que já existe", vehicleDTO.getLicensePlate());
+            throw new RuntimeException("Veículo com esta placa já existe");
+        }
+        if (shardedVehicleRepository.update(id, vehicleDTO, expectedVersion) == 0) {
+            if (expectedVersion == null) {
+                return Optional.empty();
+            }
+            logger.warn("Versão {} do veículo {} está desatualizada", expectedVersion, id);
+            throw new VersionConflictException("Versão " + expectedVersion + " do veículo " + id + " está desatualizada");
+        }
+        Optional<VehicleDTO> current = shardedVehicleRepository.findById(id);
+        current.ifPresent(dto -> eventPublisher.publishEvent(VehicleChangeEvent.updated(previous.get(), dto)));
+        logger.info("Veículo com ID {} atualizado com sucesso", id);
+        return current;
+    }
+
     private Vehicle convertToEntity(VehicleDTO dto) {
         Vehicle vehicle = new Vehicle();
         vehicle.setBrand(dto.getBrand());
@@ -134,21 +465,6 @@ public class VehicleService {
     }
 
     private VehicleDTO convertToDTO(Vehicle vehicle) {
-        VehicleDTO dto = new VehicleDTO();
-        dto.setId(vehicle.getId());
-        dto.setBrand(vehicle.getBrand());
-        dto.setModel(vehicle.getModel());
-        dto.setYear(vehicle.getYear());
-        dto.setColor(vehicle.getColor());
-        dto.setLicensePlate(vehicle.getLicensePlate());
-        dto.setPrice(vehicle.getPrice());
-        dto.setIsAvailable(vehicle.getIsAvailable());
-        dto.setCreatedAt(vehicle.getCreatedAt());
-        dto.setCreatedBy(vehicle.getCreatedBy() != null ?
-                vehicle.getCreatedBy().getName() : "Sistema");
-        return dto;
+        return new VehicleDTO(vehicle);
     }
 }
-
-
-
@@ -0,0 +1,84 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleStreamEvent;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Fila limitada de eventos ainda não enviados a um assinante do stream.
+ *
+ * Eventos pendentes do mesmo veículo são fundidos em um só (o assinante só precisa do estado
+ * final). Se a fila enche com veículos distintos, o evento mais antigo é descartado e o próximo
+ * envio começa com um RESYNC, avisando o cliente de que precisa recarregar.
+ */
+class VehicleStreamBuffer {
+
+    private final int capacity;
+    private final LinkedHashMap<Long, VehicleStreamEvent> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+
+    VehicleStreamBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void offer(VehicleStreamEvent event) {
+        VehicleStreamEvent previous = pending.remove(event.getVehicleId());
+        if (previous != null) {
+            event = coalesce(previous, event);
+        } else if (pending.size() >= capacity) {
+            Iterator<Long> eldest = pending.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            overflowed = true;
+        }
+        pending.put(event.getVehicleId(), event);
+    }
+
+    synchronized void markOverflowed() {
+        overflowed = true;
+    }
+
+    synchronized List<VehicleStreamEvent> drain() {
+        List<VehicleStreamEvent> events = new ArrayList<>(pending.size() + 1);
+        if (overflowed) {
+            events.add(new VehicleStreamEvent(0, VehicleStreamEvent.RESYNC, null, null, null));
+            overflowed = false;
+        }
+        events.addAll(pending.values());
+        pending.clear();
+        return events;
+    }
+
+    synchronized boolean isEmpty() {
+        return pending.isEmpty() && !overflowed;
+    }
+
+    /**
+     * Funde dois eventos do mesmo veículo mantendo o id do mais recente. Uma troca de
+     * disponibilidade após um evento com dados completos vira um evento completo atualizado.
+     */
+    private static VehicleStreamEvent coalesce(VehicleStreamEvent previous, VehicleStreamEvent next) {
+        String availabilityChanged = VehicleChangeEvent.Type.AVAILABILITY_CHANGED.name();
+        if (availabilityChanged.equals(next.getType()) && previous.getVehicle() != null) {
+            VehicleDTO vehicle = copy(previous.getVehicle());
+            vehicle.setIsAvailable(next.getAvailable());
+            return new VehicleStreamEvent(next.getId(), previous.getType(), next.getVehicleId(), vehicle, null);
+        }
+        if (VehicleChangeEvent.Type.CREATED.name().equals(previous.getType())
+                && VehicleChangeEvent.Type.UPDATED.name().equals(next.getType())) {
+            return new VehicleStreamEvent(next.getId(), previous.getType(), next.getVehicleId(), next.getVehicle(), null);
+        }
+        return next;
+    }
+
+    private static VehicleDTO copy(VehicleDTO source) {
+        return new VehicleDTO(source.getId(), source.getBrand(), source.getModel(), source.getYear(), source.getColor(),
+                source.getLicensePlate(), source.getPrice(), source.getIsAvailable(), source.getCreatedAt(),
+                source.getCreatedBy(), source.getVersion());
+    }
+}
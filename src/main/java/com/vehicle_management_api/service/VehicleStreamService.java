@@ -0,0 +1,192 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleStreamEvent;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stream SSE das alterações de veículos (GET /api/vehicles/stream).
+ *
+ * As conexões ficam em modo assíncrono do servlet, sem thread dedicada; os envios rodam em um
+ * executor compartilhado, no máximo uma tarefa por assinante de cada vez. Cada assinante tem uma
+ * fila limitada que funde eventos do mesmo veículo, de modo que um cliente lento não acumula
+ * memória nem atrasa os outros.
+ *
+ * Os últimos eventos ficam em um anel para retomada via Last-Event-ID. Os ids começam no instante
+ * de inicialização em microssegundos, então um id anterior a um reinício cai fora do anel e o
+ * cliente recebe RESYNC em vez de uma lacuna silenciosa.
+ */
+@Service
+public class VehicleStreamService {
+
+    private static final Logger logger = LogManager.getLogger(VehicleStreamService.class);
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    private final Object lock = new Object();
+    private final Deque<VehicleStreamEvent> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long nextId = System.currentTimeMillis() * 1_000;
+
+    public VehicleStreamService(@Qualifier("vehicleStreamExecutor") Executor executor,
+                                @Value("${app.stream.buffer-size:256}") int bufferSize,
+                                @Value("${app.stream.replay-size:1024}") int replaySize,
+                                @Value("${app.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${app.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Limite de " + maxSubscribers + " conexões de stream atingido");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), new VehicleStreamBuffer(bufferSize));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            // Replay e registro sob o mesmo lock: nenhum evento publicado no meio se perde
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replayInto(subscriber.buffer, parseEventId(lastEventId));
+            }
+            subscribers.add(subscriber);
+        }
+        logger.info("Nova assinatura do stream de veículos ({} ativas)", subscribers.size());
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChange(VehicleChangeEvent event) {
+        synchronized (lock) {
+            VehicleStreamEvent streamEvent = new VehicleStreamEvent(nextId++, event.getType().name(),
+                    event.getVehicleId(), event.getCurrent(), event.getAvailable());
+            replay.addLast(streamEvent);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.buffer.offer(streamEvent);
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        // Detecta conexões mortas e evita que proxies encerrem conexões ociosas
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void replayInto(VehicleStreamBuffer buffer, long lastEventId) {
+        synchronized (lock) {
+            VehicleStreamEvent oldest = replay.peekFirst();
+            if (lastEventId >= nextId || (oldest != null && oldest.getId() > lastEventId + 1)
+                    || (oldest == null && lastEventId + 1 < nextId)) {
+                buffer.markOverflowed();
+            }
+            for (VehicleStreamEvent event : replay) {
+                if (event.getId() > lastEventId) {
+                    buffer.offer(event);
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.buffer.isEmpty() && !subscriber.heartbeatDue) {
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> deliver(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Executor saturado: os eventos continuam na fila e saem no próximo agendamento
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        try {
+            List<VehicleStreamEvent> events = subscriber.buffer.drain();
+            if (events.isEmpty() && subscriber.heartbeatDue) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            for (VehicleStreamEvent event : events) {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                        .name(event.getType().toLowerCase())
+                        .data(event);
+                if (!VehicleStreamEvent.RESYNC.equals(event.getType())) {
+                    builder.id(Long.toString(event.getId()));
+                }
+                subscriber.emitter.send(builder);
+            }
+            subscriber.heartbeatDue = false;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Assinante do stream desconectado: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Eventos que chegaram durante o envio
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final VehicleStreamBuffer buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, VehicleStreamBuffer buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.SuggestionDTO;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.SuggestionTrie;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class VehicleSuggestionService extends VehicleIndexSupport<VehicleSuggestionService.Suggestions> {
+
+    private static final Logger logger = LogManager.getLogger(VehicleSuggestionService.class);
+
+    public static final int MAX_LIMIT = 20;
+
+    public VehicleSuggestionService(VehicleRepository vehicleRepository) {
+        super(vehicleRepository);
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int maxEdits = maxEditsFor(prefix);
+        Suggestions suggestions = structure();
+
+        List<SuggestionDTO> result = new ArrayList<>();
+        suggestions.brands.suggest(prefix, maxEdits, boundedLimit)
+                .forEach(match -> result.add(new SuggestionDTO(match.term(), "BRAND", match.count(), match.distance())));
+        suggestions.models.suggest(prefix, maxEdits, boundedLimit)
+                .forEach(match -> result.add(new SuggestionDTO(match.term(), "MODEL", match.count(), match.distance())));
+        result.sort(Comparator.comparingInt(SuggestionDTO::getDistance)
+                .thenComparing(Comparator.comparingInt(SuggestionDTO::getCount).reversed())
+                .thenComparing(SuggestionDTO::getValue));
+
+        logger.debug("Sugestões para '{}': {}", prefix, result.size());
+        return result.size() > boundedLimit ? result.subList(0, boundedLimit) : result;
+    }
+
+    /**
+     * Prefixos curtos só aceitam correspondência exata; a tolerância cresce com o tamanho.
+     */
+    static int maxEditsFor(String prefix) {
+        int length = prefix == null ? 0 : prefix.trim().length();
+        if (length < 3) {
+            return 0;
+        }
+        return length < 6 ? 1 : 2;
+    }
+
+    @Override
+    protected Suggestions newStructure() {
+        return new Suggestions();
+    }
+
+    @Override
+    protected void index(Suggestions suggestions, List<Vehicle> batch) {
+        batch.forEach(vehicle -> suggestions.put(vehicle.getId(), vehicle.getBrand(), vehicle.getModel()));
+    }
+
+    @Override
+    protected void apply(Suggestions suggestions, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.AVAILABILITY_CHANGED) {
+            return;
+        }
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            suggestions.remove(event.getVehicleId());
+        } else {
+            VehicleDTO current = event.getCurrent();
+            suggestions.put(current.getId(), current.getBrand(), current.getModel());
+        }
+    }
+
+    static class Suggestions {
+        private final SuggestionTrie brands = new SuggestionTrie();
+        private final SuggestionTrie models = new SuggestionTrie();
+        // Marca e modelo atuais de cada veículo, para decrementar as contagens em alterações e exclusões
+        private final Map<Long, String[]> termsByVehicle = new ConcurrentHashMap<>();
+
+        void put(Long id, String brand, String model) {
+            remove(id);
+            termsByVehicle.put(id, new String[]{brands.add(brand), models.add(model)});
+        }
+
+        void remove(Long id) {
+            String[] previous = termsByVehicle.remove(id);
+            if (previous != null) {
+                brands.remove(previous[0]);
+                models.remove(previous[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.index.TrigramIndex;
+import com.vehicle_management_api.index.VehicleIndexSupport;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class VehicleTextSearchService extends VehicleIndexSupport<TrigramIndex> {
+
+    private static final Logger logger = LogManager.getLogger(VehicleTextSearchService.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    public VehicleTextSearchService(VehicleRepository vehicleRepository) {
+        super(vehicleRepository);
+    }
+
+    public List<VehicleDTO> search(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Long> ids = structure().search(query, boundedLimit);
+        logger.info("Busca textual '{}' encontrou {} veículos", query, ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<VehicleDTO> found = shardedVehicleRepository != null
+                ? shardedVehicleRepository.findAllById(ids)
+                : vehicleRepository.findAllWithCreatorByIdIn(ids).stream().map(VehicleDTO::new).toList();
+        Map<Long, VehicleDTO> vehicles = found.stream()
+                .collect(Collectors.toMap(VehicleDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(vehicles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected TrigramIndex newStructure() {
+        return new TrigramIndex();
+    }
+
+    @Override
+    protected void index(TrigramIndex index, List<Vehicle> batch) {
+        index.putAllNew(batch.stream().collect(Collectors.toMap(Vehicle::getId, vehicle ->
+                searchableText(vehicle.getBrand(), vehicle.getModel(), vehicle.getColor(), vehicle.getLicensePlate()))));
+    }
+
+    @Override
+    protected void apply(TrigramIndex index, VehicleChangeEvent event) {
+        if (event.getType() == VehicleChangeEvent.Type.AVAILABILITY_CHANGED) {
+            return;
+        }
+        if (event.getType() == VehicleChangeEvent.Type.DELETED) {
+            index.remove(event.getVehicleId());
+        } else {
+            VehicleDTO current = event.getCurrent();
+            index.put(current.getId(),
+                    searchableText(current.getBrand(), current.getModel(), current.getColor(), current.getLicensePlate()));
+        }
+    }
+
+    private static String searchableText(String brand, String model, String color, String licensePlate) {
+        return String.join(" ",
+                brand != null ? brand : "",
+                model != null ? model : "",
+                color != null ? color : "",
+                licensePlate != null ? licensePlate : "");
+    }
+}
@@ -24,7 +24,8 @@ CREATE TABLE IF NOT EXISTS clients (
     user_type ENUM('ADMIN', 'NORMAL_USER') NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    is_active BOOLEAN DEFAULT TRUE
+    is_active BOOLEAN DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- =============================================================================
@@ -43,7 +44,12 @@ CREATE TABLE IF NOT EXISTS vehicles (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     created_by BIGINT,
-    FOREIGN KEY (created_by) REFERENCES clients(id)
+    reserved_by BIGINT,
+    reserved_until TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    content_hash VARCHAR(64),
+    FOREIGN KEY (created_by) REFERENCES clients(id),
+    FOREIGN KEY (reserved_by) REFERENCES clients(id)
 );
 
 -- =============================================================================
@@ -60,6 +66,96 @@ CREATE TABLE IF NOT EXISTS refresh_tokens (
     FOREIGN KEY (client_id) REFERENCES clients(id)
 );
 
+-- =============================================================================
+-- TABELA: bookings
+-- Propósito: Reservas de veículos por período (datas inclusivas)
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL,
+    client_id BIGINT,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (vehicle_id) REFERENCES vehicles(id) ON DELETE CASCADE,
+    FOREIGN KEY (client_id) REFERENCES clients(id)
+);
+
+-- =============================================================================
+-- TABELA: vehicle_tombstones
+-- Propósito: Exclusões de veículos para o feed incremental (GET /api/vehicles/changes)
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS vehicle_tombstones (
+    vehicle_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+-- =============================================================================
+-- TABELA: vehicle_plate_registry
+-- Propósito: Unicidade global de placas com sharding por dono (app.sharding.key=OWNER)
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS vehicle_plate_registry (
+    license_plate VARCHAR(20) PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL
+);
+
+-- =============================================================================
+-- TABELA: vehicle_history
+-- Propósito: Auditoria de alterações de veículos (gravada em lotes, fora da requisição)
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS vehicle_history (
+    id BIGINT PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL,
+    change_type VARCHAR(30) NOT NULL,
+    actor VARCHAR(100) NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    old_values VARCHAR(4000),
+    new_values VARCHAR(4000)
+);
+
+-- =============================================================================
+-- TABELA: archived_vehicles
+-- Propósito: Veículos inativos retirados da tabela principal (somente leitura)
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS archived_vehicles (
+    id BIGINT PRIMARY KEY,
+    brand VARCHAR(50) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INTEGER NOT NULL,
+    color VARCHAR(30),
+    license_plate VARCHAR(20) NOT NULL,
+    price DECIMAL(10,2),
+    created_by BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- =============================================================================
+-- SEQUÊNCIAS: vehicle_seq e client_seq
+-- Propósito: Alocação de ids em blocos (pooled) para permitir INSERTs em lote.
+-- O MySQL não tem sequências; o Hibernate as emula com uma tabela de uma linha.
+-- O valor inicial deve ficar acima do maior id existente mais o tamanho do bloco
+-- (Vehicle.ALLOCATION_SIZE = 50, Client.ALLOCATION_SIZE = 20).
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS vehicle_seq (next_val BIGINT);
+INSERT INTO vehicle_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 51 FROM vehicles
+    WHERE NOT EXISTS (SELECT 1 FROM vehicle_seq);
+
+CREATE TABLE IF NOT EXISTS client_seq (next_val BIGINT);
+INSERT INTO client_seq (next_val)
+    SELECT COALESCE(MAX(id), 0) + 21 FROM clients
+    WHERE NOT EXISTS (SELECT 1 FROM client_seq);
+
+CREATE TABLE IF NOT EXISTS booking_seq (next_val BIGINT);
+INSERT INTO booking_seq (next_val)
+    SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM booking_seq);
+
+CREATE TABLE IF NOT EXISTS vehicle_history_seq (next_val BIGINT);
+INSERT INTO vehicle_history_seq (next_val)
+    SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM vehicle_history_seq);
+
 -- =============================================================================
 -- ÍNDICES para melhor performance
 -- =============================================================================
@@ -68,6 +164,39 @@ CREATE INDEX IF NOT EXISTS idx_vehicle_brand_model ON vehicles(brand, model);
 CREATE INDEX IF NOT EXISTS idx_vehicle_license_plate ON vehicles(license_plate);
 CREATE INDEX IF NOT EXISTS idx_refresh_token_token ON refresh_tokens(token);
 
+-- Diretório de clientes (GET /api/clients/search): keyset por (email) ou (name, id),
+-- com tipo e status como igualdades à esquerda
+CREATE INDEX IF NOT EXISTS idx_client_name_id ON clients(name, id);
+CREATE INDEX IF NOT EXISTS idx_client_type_active_email ON clients(user_type, is_active, email);
+CREATE INDEX IF NOT EXISTS idx_client_type_active_name ON clients(user_type, is_active, name, id);
+
+-- Índices compostos para o filtro multi-critério (GET /api/vehicles/filter)
+-- Ordem das colunas: igualdade primeiro, intervalo por último
+CREATE INDEX IF NOT EXISTS idx_vehicle_brand_model_year ON vehicles(brand, model, year);
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_price ON vehicles(is_available, price);
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_year ON vehicles(is_available, year);
+CREATE INDEX IF NOT EXISTS idx_vehicle_brand_price ON vehicles(brand, price);
+CREATE INDEX IF NOT EXISTS idx_vehicle_color_price ON vehicles(color, price);
+
+-- Feed de alterações: keyset por (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_vehicle_updated_at_id ON vehicles(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tombstone_deleted_at ON vehicle_tombstones(deleted_at, vehicle_id);
+CREATE INDEX IF NOT EXISTS idx_plate_registry_vehicle ON vehicle_plate_registry(vehicle_id);
+
+-- Histórico de auditoria por veículo e por autor
+CREATE INDEX IF NOT EXISTS idx_history_vehicle ON vehicle_history(vehicle_id, changed_at);
+CREATE INDEX IF NOT EXISTS idx_history_actor ON vehicle_history(actor, changed_at);
+
+-- Arquivamento: candidatos indisponíveis sem alteração recente
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_updated_at ON vehicles(is_available, updated_at);
+CREATE INDEX IF NOT EXISTS idx_archived_license_plate ON archived_vehicles(license_plate);
+
+-- Verificação de conflito de reservas por veículo
+CREATE INDEX IF NOT EXISTS idx_booking_vehicle_dates ON bookings(vehicle_id, start_date, end_date);
+
+-- Liberação de reservas expiradas (UPDATE ... WHERE reserved_until < agora)
+CREATE INDEX IF NOT EXISTS idx_vehicle_reserved_until ON vehicles(reserved_until);
+
 -- =============================================================================
 -- INSTRUÇÕES DE USO:
 -- 1. PRODUÇÃO (MySQL): Execute este script completo (descomente CREATE DATABASE se necessário)
@@ -0,0 +1,30 @@
+-- =============================================================================
+-- Esquema de cada shard de veículos (app.sharding.*)
+-- Sem chaves estrangeiras: clientes e reservas ficam no banco principal, então o
+-- nome do dono é copiado para created_by_name na gravação.
+-- =============================================================================
+CREATE TABLE IF NOT EXISTS vehicles (
+    id BIGINT PRIMARY KEY,
+    brand VARCHAR(50) NOT NULL,
+    model VARCHAR(50) NOT NULL,
+    year INTEGER NOT NULL,
+    color VARCHAR(30),
+    license_plate VARCHAR(20) UNIQUE NOT NULL,
+    price DECIMAL(10,2),
+    is_available BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by BIGINT,
+    created_by_name VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Ids locais em blocos; o id global acrescenta o número do shard nos bits baixos
+CREATE TABLE IF NOT EXISTS vehicle_seq (next_val BIGINT);
+INSERT INTO vehicle_seq (next_val)
+    SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM vehicle_seq);
+
+CREATE INDEX IF NOT EXISTS idx_vehicle_brand_model ON vehicles(brand, model);
+CREATE INDEX IF NOT EXISTS idx_vehicle_created_by ON vehicles(created_by);
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_price ON vehicles(is_available, price);
+CREATE INDEX IF NOT EXISTS idx_vehicle_updated_at_id ON vehicles(updated_at, id);
@@ -0,0 +1,55 @@
+package com.vehicle_management_api.config;
+
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.repository.VehicleRepository;
+import com.vehicle_management_api.service.VehicleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A "réplica" aponta para o mesmo banco em memória: o que importa aqui é o roteamento e o cache
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:testdb;NON_KEYWORDS=YEAR,VALUE",
+        "app.datasource.replica.username=sa"
+})
+@ActiveProfiles("test")
+class ReadReplicaCachingTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void shouldCacheReplicaReadsOfKeysNotRecentlyInvalidated() throws Exception {
+        assertTrue(dataSource.isWrapperFor(ReadWriteRoutingDataSource.class));
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand("Replica");
+        vehicle.setModel("Cache");
+        vehicle.setYear(2022);
+        vehicle.setLicensePlate("RPL-0001");
+        vehicle.setPrice(new BigDecimal("50000.00"));
+        vehicle.setIsAvailable(true);
+        Long id = vehicleRepository.save(vehicle).getId();
+
+        VehicleDTO first = vehicleService.findById(id).orElseThrow();
+        assertNotNull(cacheManager.getCache("vehicles").get(id));
+        VehicleDTO second = vehicleService.findById(id).orElseThrow();
+        assertSame(first, second);
+    }
+}
@@ -0,0 +1,186 @@
+package com.vehicle_management_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readOnlyTemplate;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing_primary");
+        DataSource replica = h2("routing_replica");
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        routing.setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+
+        CaffeineCacheManager cacheManager = new ReplicaAwareCaffeineCacheManager(Duration.ofMinutes(1));
+        cacheManager.setCaffeine(Caffeine.newBuilder());
+        cache = cacheManager.getCache("vehicles");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+        ReadWriteRoutingDataSource.clearReplicaRead();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplicaAndWritesToPrimary() {
+        assertEquals("routing_replica", readOnlyTemplate.execute(status -> source()));
+        assertEquals("routing_primary", writeTemplate.execute(status -> source()));
+        assertEquals("routing_primary", source());
+    }
+
+    @Test
+    void shouldReadFromPrimaryAfterOwnWrite() {
+        authenticate("writer@example.com");
+        writeTemplate.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET hits = hits + 1"));
+        assertEquals("routing_primary", readOnlyTemplate.execute(status -> source()));
+
+        authenticate("reader@example.com");
+        assertEquals("routing_replica", readOnlyTemplate.execute(status -> source()));
+    }
+
+    @Test
+    void shouldNotOpenReadYourWritesWindowWhenWriteRollsBack() {
+        authenticate("rollback@example.com");
+        writeTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET hits = hits + 1");
+            status.setRollbackOnly();
+        });
+        assertEquals("routing_replica", readOnlyTemplate.execute(status -> source()));
+    }
+
+    @Test
+    void shouldCacheReplicaValuesForKeysNotRecentlyEvicted() {
+        readOnlyTemplate.executeWithoutResult(status -> {
+            assertNull(cache.get(1L));
+            cache.put(1L, source());
+        });
+        assertEquals("routing_replica", cache.get(1L, String.class));
+    }
+
+    @Test
+    void shouldNotCacheReplicaValueForRecentlyEvictedKey() {
+        cache.evict(1L);
+        readOnlyTemplate.executeWithoutResult(status -> {
+            assertNull(cache.get(1L));
+            cache.put(1L, source());
+        });
+        assertNull(cache.get(1L));
+
+        // Outras chaves continuam aceitando a réplica
+        readOnlyTemplate.executeWithoutResult(status -> cache.put(3L, source()));
+        assertNotNull(cache.get(3L));
+
+        authenticate("cache-writer@example.com");
+        writeTemplate.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET hits = hits + 1"));
+        readOnlyTemplate.executeWithoutResult(status -> {
+            assertNull(cache.get(1L));
+            cache.put(1L, source());
+        });
+        assertEquals("routing_primary", cache.get(1L, String.class));
+    }
+
+    @Test
+    void shouldNotStoreReplicaValueLoadedThroughCallableAfterClear() {
+        cache.clear();
+        String value = readOnlyTemplate.execute(status -> cache.get(2L, this::source));
+        assertEquals("routing_replica", value);
+        assertNull(cache.get(2L));
+
+        assertEquals("routing_primary", writeTemplate.execute(status -> cache.get(2L, this::source)));
+        assertNotNull(cache.get(2L));
+    }
+
+    @Test
+    void shouldKeepReplicaEntitiesOutOfSecondLevelCacheOnlyAfterRecentWrite() {
+        Session session = mock(Session.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        readOnlyWithEntityManager(entityManager);
+        verify(session, never()).setCacheMode(any());
+
+        writeTemplate.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET hits = hits + 1"));
+        readOnlyWithEntityManager(entityManager);
+        verify(session).setCacheMode(CacheMode.GET);
+    }
+
+    private void readOnlyWithEntityManager(EntityManager entityManager) {
+        Object key = new Object();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            TransactionSynchronizationManager.bindResource(key, new EntityManagerHolder(entityManager));
+            try {
+                source();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(key);
+            }
+        });
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_NORMAL_USER"))));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(50), hits INT)");
+        jdbc.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -1,11 +1,15 @@
 package com.vehicle_management_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle_management_api.dto.PageResponse;
 import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFields;
+import com.vehicle_management_api.dto.VehicleFilter;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.enums.UserType;
 import com.vehicle_management_api.service.ClientService;
 import com.vehicle_management_api.service.VehicleService;
+import com.vehicle_management_api.service.VehicleTextSearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,10 +25,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +50,9 @@ class VehicleControllerTest {
     @Mock
     private ClientService clientService;
 
+    @Mock
+    private VehicleTextSearchService vehicleTextSearchService;
+
     @InjectMocks
     private VehicleController vehicleController;
 
@@ -105,6 +118,49 @@ class VehicleControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldGetVehiclesByIds() throws Exception {
+        when(vehicleService.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(vehicleDTO));
+
+        mockMvc.perform(get("/api/vehicles")
+                        .param("ids", "1,2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+        verify(vehicleService, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnSparseFieldsWhenRequested() throws Exception {
+        when(vehicleService.findAvailableVehicles(any(VehicleFields.class)))
+                .thenReturn(List.of(Map.of("id", 1L, "brand", "Toyota")));
+
+        mockMvc.perform(get("/api/vehicles/available")
+                        .param("fields", "brand")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].brand").value("Toyota"))
+                .andExpect(jsonPath("$[0].model").doesNotExist());
+        verify(vehicleService, never()).findAvailableVehicles();
+    }
+
+    @Test
+    void shouldGetVehicleByLicensePlate() throws Exception {
+        when(vehicleService.findByLicensePlate("ABC1234")).thenReturn(Optional.of(vehicleDTO));
+
+        mockMvc.perform(get("/api/vehicles/plate/ABC1234")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        when(vehicleService.findByLicensePlate("ZZZ9999")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/vehicles/plate/ZZZ9999")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void shouldGetAvailableVehicles() throws Exception {
         when(vehicleService.findAvailableVehicles()).thenReturn(Arrays.asList(vehicleDTO));
@@ -129,6 +185,34 @@ class VehicleControllerTest {
                 .andExpect(jsonPath("$[0].brand").value("Toyota"));
     }
 
+    @Test
+    void shouldFilterVehicles() throws Exception {
+        when(vehicleService.search(argThat((VehicleFilter filter) ->
+                "Toyota".equals(filter.getBrand()) && filter.getMinYear() == 2020 && filter.getSize() == 10)))
+                .thenReturn(new PageResponse<>(List.of(vehicleDTO), 0, 10, 1, 1));
+
+        mockMvc.perform(get("/api/vehicles/filter")
+                        .param("brand", "Toyota")
+                        .param("minYear", "2020")
+                        .param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].brand").value("Toyota"));
+    }
+
+    @Test
+    void shouldTextSearchVehicles() throws Exception {
+        when(vehicleTextSearchService.search("orol", 20)).thenReturn(List.of(vehicleDTO));
+
+        mockMvc.perform(get("/api/vehicles/text-search")
+                        .param("q", "orol")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].model").value("Corolla"));
+    }
+
     @Test
     void shouldCreateVehicle() throws Exception {
         when(clientService.findByEmail("admin@test.com")).thenReturn(Optional.of(client));
@@ -152,6 +236,22 @@ class VehicleControllerTest {
                 .andExpect(jsonPath("$.brand").value("Toyota"));
     }
 
+    @Test
+    void shouldPassIfMatchVersionAndReturnETag() throws Exception {
+        VehicleDTO updated = new VehicleDTO();
+        updated.setId(1L);
+        updated.setBrand("Toyota");
+        updated.setVersion(4L);
+        when(vehicleService.update(eq(1L), any(VehicleDTO.class), eq(3L))).thenReturn(Optional.of(updated));
+
+        mockMvc.perform(put("/api/vehicles/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(vehicleDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     void shouldReturnNotFoundWhenUpdateNonExistentVehicle() throws Exception {
         when(vehicleService.update(anyLong(), any(VehicleDTO.class))).thenReturn(Optional.empty());
@@ -0,0 +1,82 @@
+package com.vehicle_management_api.controller;
+
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import com.vehicle_management_api.service.VehicleAvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VehicleETagConcurrencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private VehicleAvailabilityService vehicleAvailabilityService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectPutWithETagFromBeforeReservation() throws Exception {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand("Fiat");
+        vehicle.setModel("Argo");
+        vehicle.setYear(2022);
+        vehicle.setLicensePlate("ETG-" + System.nanoTime() % 1_000_000);
+        vehicle.setPrice(new BigDecimal("70000.00"));
+        vehicle.setIsAvailable(true);
+        vehicle = vehicleRepository.save(vehicle);
+
+        String etag = mockMvc.perform(get("/api/vehicles/" + vehicle.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        Client client = new Client();
+        client.setName("Cliente Reserva");
+        client.setEmail("etag_" + System.nanoTime() + "@test.com");
+        client.setPassword("password");
+        client.setUserType(UserType.NORMAL_USER);
+        client.setIsActive(true);
+        client = clientRepository.save(client);
+        assertTrue(vehicleAvailabilityService.reserve(vehicle.getId(), client, 30).isPresent());
+
+        String body = """
+                {"brand": "Fiat", "model": "Argo", "year": 2022, "licensePlate": "%s",
+                 "price": 71000.00, "isAvailable": true}
+                """.formatted(vehicle.getLicensePlate());
+        mockMvc.perform(put("/api/vehicles/" + vehicle.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        Vehicle current = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertFalse(current.getIsAvailable());
+        assertNotNull(current.getReservedUntil());
+    }
+}
@@ -0,0 +1,70 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCalendarTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 1);
+
+    @Test
+    void shouldDetectOverlapsWithInclusiveBounds() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.put(1L, 10L, DAY.plusDays(9), DAY.plusDays(13));
+        calendar.put(2L, 10L, DAY.plusDays(1), DAY.plusDays(3));
+
+        assertFalse(calendar.isFree(10L, DAY.plusDays(13), DAY.plusDays(20)));
+        assertFalse(calendar.isFree(10L, DAY, DAY.plusDays(1)));
+        assertFalse(calendar.isFree(10L, DAY, DAY.plusDays(30)));
+        assertTrue(calendar.isFree(10L, DAY.plusDays(4), DAY.plusDays(8)));
+        assertTrue(calendar.isFree(10L, DAY.plusDays(14), DAY.plusDays(20)));
+    }
+
+    @Test
+    void shouldListFreeVehiclesIncludingThoseWithoutBookings() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.addVehicle(1L);
+        calendar.addVehicle(2L);
+        calendar.addVehicle(3L);
+        calendar.put(100L, 2L, DAY.plusDays(10), DAY.plusDays(14));
+
+        assertEquals(List.of(1L, 3L), calendar.freeVehicles(DAY.plusDays(12), DAY.plusDays(12)));
+        assertEquals(List.of(1L, 2L, 3L), calendar.freeVehicles(DAY.plusDays(15), DAY.plusDays(20)));
+    }
+
+    @Test
+    void shouldRemoveBookingsAndKeepPutIdempotent() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.put(1L, 5L, DAY, DAY.plusDays(2));
+        calendar.put(1L, 5L, DAY, DAY.plusDays(2));
+        assertEquals(1, calendar.bookingCount());
+
+        calendar.remove(1L);
+        assertTrue(calendar.isFree(5L, DAY, DAY.plusDays(2)));
+        assertEquals(0, calendar.bookingCount());
+    }
+
+    @Test
+    void shouldStayCorrectWhenLongIntervalCoversLaterOnes() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.put(1L, 7L, DAY, DAY.plusDays(30));
+        calendar.put(2L, 7L, DAY.plusDays(5), DAY.plusDays(6));
+
+        assertFalse(calendar.isFree(7L, DAY.plusDays(20), DAY.plusDays(21)));
+    }
+
+    @Test
+    void shouldForgetBookingsOfRemovedVehicle() {
+        BookingCalendar calendar = new BookingCalendar();
+        calendar.put(1L, 8L, DAY, DAY.plusDays(2));
+        calendar.removeVehicle(8L);
+
+        assertEquals(0, calendar.vehicleCount());
+        assertEquals(0, calendar.bookingCount());
+        assertFalse(calendar.isFree(8L, DAY, DAY));
+    }
+}
@@ -0,0 +1,56 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void shouldNeverReportAddedKeysAsAbsent() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            filter.add(keys[i]);
+        }
+
+        for (long key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(random.nextLong());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void shouldForgetRemovedKeys() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        filter.add(123L);
+        filter.add(456L);
+
+        filter.remove(123L);
+
+        assertFalse(filter.mightContain(123L));
+        assertTrue(filter.mightContain(456L));
+        assertEquals(1, filter.size());
+    }
+}
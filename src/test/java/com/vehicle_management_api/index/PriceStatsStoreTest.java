@@ -0,0 +1,129 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceStatsStoreTest {
+
+    @Test
+    void shouldEstimateQuantilesWithinRankError() {
+        KllSketch sketch = new KllSketch();
+        for (int i = 1; i <= 100_000; i++) {
+            sketch.update(i);
+        }
+
+        assertEquals(100_000, sketch.count());
+        assertEquals(50_000, sketch.quantile(0.5), 2_000);
+        assertEquals(90_000, sketch.quantile(0.9), 2_000);
+        assertEquals(1, sketch.min());
+        assertEquals(100_000, sketch.max());
+    }
+
+    @Test
+    void shouldMergeSketches() {
+        KllSketch low = new KllSketch();
+        KllSketch high = new KllSketch();
+        for (int i = 1; i <= 10_000; i++) {
+            low.update(i);
+            high.update(10_000 + i);
+        }
+
+        low.merge(high);
+
+        assertEquals(20_000, low.count());
+        assertEquals(10_000, low.quantile(0.5), 500);
+    }
+
+    @Test
+    void shouldEstimateDistinctCount() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            hll.add(i % 10_000);
+        }
+
+        assertEquals(10_000, hll.estimate(), 500);
+    }
+
+    @Test
+    void shouldReloadDirtyGroupsAndRoundTripSnapshot() throws Exception {
+        PriceStatsStore store = new PriceStatsStore();
+        PriceStatsStore.GroupKey corolla = new PriceStatsStore.GroupKey("Toyota", "Corolla", 2022);
+        store.put(1L, corolla, new BigDecimal("40000"));
+        store.put(2L, corolla, new BigDecimal("50000"));
+        store.put(3L, new PriceStatsStore.GroupKey("Honda", "Civic", 2022), new BigDecimal("60000"));
+
+        store.remove(2L);
+        Map<Long, BigDecimal> remaining = new HashMap<>();
+        remaining.put(1L, new BigDecimal("40000"));
+        PriceStatsStore.Summary toyota = store.query("Toyota", null, null, key -> remaining);
+
+        assertEquals(1, toyota.count());
+        assertEquals(40000, toyota.median());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.writeTo(new DataOutputStream(bytes));
+        PriceStatsStore restored = PriceStatsStore.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        PriceStatsStore.Summary all = restored.query(null, null, 2022, key -> {
+            throw new AssertionError("Nenhum grupo deveria estar sujo");
+        });
+        assertEquals(2, all.groups());
+        assertEquals(2, all.count());
+        assertEquals(2, all.distinctPrices());
+    }
+
+    @Test
+    void shouldLoadDirtyGroupsWithoutBlockingWritersAndKeepGroupDirtyWhenTouchedMeanwhile() {
+        PriceStatsStore store = new PriceStatsStore();
+        PriceStatsStore.GroupKey corolla = new PriceStatsStore.GroupKey("Toyota", "Corolla", 2022);
+        store.put(1L, corolla, new BigDecimal("40000"));
+        store.put(2L, corolla, new BigDecimal("50000"));
+        store.remove(2L);
+
+        AtomicInteger loads = new AtomicInteger();
+        PriceStatsStore.Summary first = store.query("Toyota", null, null, key -> {
+            loads.incrementAndGet();
+            // Outra thread escreve no mesmo grupo durante a carga; com o monitor preso isto travaria
+            CompletableFuture.runAsync(() -> store.put(3L, corolla, new BigDecimal("45000")))
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            return Map.of(1L, new BigDecimal("40000"));
+        });
+        assertEquals(1, first.count());
+
+        PriceStatsStore.Summary second = store.query("Toyota", null, null, key -> {
+            loads.incrementAndGet();
+            return Map.of(1L, new BigDecimal("40000"), 3L, new BigDecimal("45000"));
+        });
+        assertEquals(2, loads.get());
+        assertEquals(2, second.count());
+
+        store.query("Toyota", null, null, key -> {
+            throw new AssertionError("Grupo recarregado sem escritas concorrentes deveria estar limpo");
+        });
+    }
+
+    @Test
+    void shouldRoundTripSnapshotWithMissingBrandAndModel() throws Exception {
+        PriceStatsStore store = new PriceStatsStore();
+        store.put(1L, new PriceStatsStore.GroupKey(null, null, 0), new BigDecimal("10000"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.writeTo(new DataOutputStream(bytes));
+        PriceStatsStore restored = PriceStatsStore.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        PriceStatsStore.Summary all = restored.query(null, null, null, key -> Map.of());
+        assertEquals(1, all.count());
+    }
+}
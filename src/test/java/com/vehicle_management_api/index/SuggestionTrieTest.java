@@ -0,0 +1,75 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.add("Toyota");
+        trie.add("Toyota");
+        trie.add("Toyota");
+        trie.add("Tesla");
+        trie.add("Honda");
+    }
+
+    @Test
+    void shouldSuggestByPrefixWeightedByCount() {
+        List<SuggestionTrie.Match> matches = trie.suggest("t", 0, 10);
+
+        assertEquals(2, matches.size());
+        assertEquals("Toyota", matches.get(0).term());
+        assertEquals(3, matches.get(0).count());
+        assertEquals("Tesla", matches.get(1).term());
+    }
+
+    @Test
+    void shouldTolerateTyposWithinEditDistance() {
+        List<SuggestionTrie.Match> matches = trie.suggest("toyt", 1, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals("Toyota", matches.get(0).term());
+        assertEquals(1, matches.get(0).distance());
+        assertTrue(trie.suggest("xyzw", 1, 10).isEmpty());
+    }
+
+    @Test
+    void shouldPreferExactPrefixOverFuzzyMatch() {
+        List<SuggestionTrie.Match> matches = trie.suggest("hond", 1, 10);
+
+        assertEquals("Honda", matches.get(0).term());
+        assertEquals(0, matches.get(0).distance());
+    }
+
+    @Test
+    void shouldDecrementAndDropRemovedTerms() {
+        trie.remove("Tesla");
+        trie.remove("Toyota");
+
+        List<SuggestionTrie.Match> matches = trie.suggest("t", 0, 10);
+        assertEquals(1, matches.size());
+        assertEquals(2, matches.get(0).count());
+    }
+
+    @Test
+    void shouldShareTheStoredTermAndDropItWithTheLastOccurrence() {
+        String stored = trie.add(new String(" Honda "));
+        assertSame(stored, trie.add("HONDA"));
+        assertEquals("Honda", stored);
+
+        trie.remove("honda");
+        trie.remove("honda");
+        trie.remove("honda");
+
+        assertTrue(trie.suggest("hon", 0, 10).isEmpty());
+        assertEquals("HONDA", trie.add("HONDA"));
+    }
+}
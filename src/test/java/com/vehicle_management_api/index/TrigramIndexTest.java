@@ -0,0 +1,65 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.putAllNew(Map.of(
+                1L, "Toyota Corolla Red ABC1234",
+                2L, "Honda Civic Blue XYZ5678",
+                3L, "Toyota Hilux Black TOY0001"));
+    }
+
+    @Test
+    void shouldFindSubstringMatchesInIdOrder() {
+        assertEquals(List.of(1L, 3L), index.search("toy", 10));
+        assertEquals(List.of(1L), index.search("orol", 10));
+        assertEquals(List.of(2L), index.search("xyz5", 10));
+    }
+
+    @Test
+    void shouldNotReturnCandidatesThatOnlyShareTrigrams() {
+        // "olla red" e "corolla" compartilham trigramas mas apenas o texto exato é aceito
+        assertEquals(List.of(), index.search("corolla blue", 10));
+    }
+
+    @Test
+    void shouldRejectShortTermsAndHonourLimit() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("o", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("  ", 10));
+        assertEquals(List.of(1L), index.search("toy", 1));
+    }
+
+    @Test
+    void shouldKeepPostingsSortedWhenIdsArriveOutOfOrder() {
+        index.put(10L, "Fiat Toro Cinza TOR0010");
+        index.put(5L, "Fiat Toro Preto TOR0005");
+        index.putAllNew(Map.of(7L, "Fiat Toro Branco TOR0007", 4L, "Fiat Argo Azul ARG0004"));
+
+        assertEquals(List.of(5L, 7L, 10L), index.search("fiat toro", 10));
+        index.remove(7L);
+        assertEquals(List.of(5L, 10L), index.search("toro", 10));
+    }
+
+    @Test
+    void shouldKeepIndexInSyncOnUpdateAndRemove() {
+        index.put(1L, "Toyota Yaris Red ABC1234");
+        assertTrue(index.search("corolla", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("yaris", 10));
+
+        index.remove(3L);
+        assertEquals(List.of(1L), index.search("toyota", 10));
+        assertEquals(2, index.size());
+    }
+}
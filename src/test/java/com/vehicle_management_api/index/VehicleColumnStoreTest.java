@@ -0,0 +1,68 @@
+package com.vehicle_management_api.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleColumnStoreTest {
+
+    private static final VehicleColumnStore.Criteria NO_FILTER =
+            new VehicleColumnStore.Criteria(null, null, null, null, null, null, null, null);
+
+    private VehicleColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new VehicleColumnStore();
+        store.upsert(1L, "Toyota", "Corolla", "Red", 2022, new BigDecimal("45000.00"), true);
+        store.upsert(2L, "Toyota", "Hilux", "Black", 2018, new BigDecimal("120000.00"), false);
+        store.upsert(3L, "Honda", "Civic", "Blue", 2023, new BigDecimal("52000.50"), true);
+    }
+
+    @Test
+    void shouldCountAllFacets() {
+        VehicleColumnStore.Facets facets = store.facets(NO_FILTER, 5, 1_000_000);
+
+        assertEquals(3, facets.total());
+        assertEquals(2L, facets.brands().get("Toyota"));
+        assertEquals(1L, facets.brands().get("Honda"));
+        assertEquals(2, facets.available());
+        assertEquals(1, facets.unavailable());
+        assertEquals(2L, facets.yearBuckets().get(2020));
+        assertEquals(1L, facets.yearBuckets().get(2015));
+        assertEquals(1L, facets.priceBuckets().get(new BigDecimal("40000.00")));
+        assertEquals(1L, facets.priceBuckets().get(new BigDecimal("50000.00")));
+        assertEquals(1L, facets.priceBuckets().get(new BigDecimal("120000.00")));
+    }
+
+    @Test
+    void shouldApplyFilterCombinations() {
+        VehicleColumnStore.Facets facets = store.facets(new VehicleColumnStore.Criteria(
+                "Toyota", null, null, true, 2020, null, null, new BigDecimal("50000")), 1, 100);
+
+        assertEquals(1, facets.total());
+        assertEquals(1L, facets.models().get("Corolla"));
+
+        VehicleColumnStore.Facets unknownBrand = store.facets(new VehicleColumnStore.Criteria(
+                "Fiat", null, null, null, null, null, null, null), 1, 100);
+        assertEquals(0, unknownBrand.total());
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        store.setAvailable(2L, true);
+        store.remove(3L);
+        store.upsert(4L, "Fiat", "Uno", null, 2010, null, false);
+
+        VehicleColumnStore.Facets facets = store.facets(NO_FILTER, 10, 100);
+
+        assertEquals(3, facets.total());
+        assertEquals(2, facets.available());
+        assertNull(facets.brands().get("Honda"));
+        assertEquals(1L, facets.brands().get("Fiat"));
+        assertEquals(3, store.size());
+    }
+}
@@ -0,0 +1,207 @@
+package com.vehicle_management_api.repository;
+
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.ShardStatsResponse;
+import com.vehicle_management_api.dto.VehicleChange;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedVehicleRepositoryTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRouteByIdAndSpreadVehiclesAcrossShards() {
+        ShardedVehicleRepository repository = repository(3, VehicleShardKey.LICENSE_PLATE);
+        List<VehicleDTO> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(repository.insert(vehicle("SHD-" + i, "Fiat", new BigDecimal(1000 + i)), null));
+        }
+
+        Set<Integer> usedShards = new HashSet<>();
+        for (VehicleDTO vehicle : created) {
+            usedShards.add(ShardedVehicleRepository.shardOf(vehicle.getId()));
+            assertEquals(vehicle.getLicensePlate(), repository.findById(vehicle.getId()).orElseThrow().getLicensePlate());
+        }
+        assertEquals(3, usedShards.size());
+        assertEquals(30, repository.findAll("Fiat", null, null).size());
+
+        VehicleDTO first = created.get(0);
+        first.setColor("Azul");
+        assertEquals(1, repository.update(first.getId(), first, 0L));
+        assertEquals(0, repository.update(first.getId(), first, 0L));
+        assertTrue(repository.deleteById(first.getId()));
+        assertTrue(repository.findById(first.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldMergeSortedPagesFromAllShards() {
+        ShardedVehicleRepository repository = repository(3, VehicleShardKey.LICENSE_PLATE);
+        for (int i = 0; i < 25; i++) {
+            repository.insert(vehicle("PGN-" + i, i % 2 == 0 ? "Fiat" : "Ford", new BigDecimal(1000 + i * 10)), null);
+        }
+
+        VehicleFilter filter = new VehicleFilter();
+        filter.setPage(1);
+        filter.setSize(5);
+        filter.setSortBy("price");
+        filter.setDirection("DESC");
+        PageResponse<VehicleDTO> page = repository.search(filter.normalized());
+
+        assertEquals(25, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+        assertEquals(List.of(1190, 1180, 1170, 1160, 1150),
+                page.getContent().stream().map(v -> v.getPrice().intValue()).toList());
+
+        ShardStatsResponse stats = repository.stats();
+        assertEquals(25, stats.getTotalVehicles());
+        assertEquals(13L, stats.getVehiclesByBrand().get("Fiat"));
+        assertEquals(12L, stats.getVehiclesByBrand().get("Ford"));
+    }
+
+    @Test
+    void shouldKeepOwnerFleetOnOneShardAndRejectDuplicatePlates() {
+        ShardedVehicleRepository repository = repository(4, VehicleShardKey.OWNER);
+        Client owner = new Client();
+        owner.setId(42L);
+        owner.setName("Revendedor");
+
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            VehicleDTO created = repository.insert(vehicle("OWN-" + i, "Fiat", BigDecimal.TEN), owner);
+            usedShards.add(ShardedVehicleRepository.shardOf(created.getId()));
+            assertEquals("Revendedor", created.getCreatedBy());
+        }
+        assertEquals(1, usedShards.size());
+        assertTrue(repository.existsByLicensePlate("OWN-3", null));
+        assertFalse(repository.existsByLicensePlate("OWN-99", null));
+        assertEquals("OWN-3", repository.findByLicensePlate("own-3").orElseThrow().getLicensePlate());
+
+        // Outro dono, outro shard: só o registro global barra a placa repetida
+        Client other = new Client();
+        other.setId(7L);
+        other.setName("Outro");
+        RuntimeException duplicate = assertThrows(RuntimeException.class,
+                () -> repository.insert(vehicle("own-3", "Fiat", BigDecimal.TEN), other));
+        assertEquals("Veículo com esta placa já existe", duplicate.getMessage());
+
+        VehicleDTO renamed = repository.findByLicensePlate("OWN-4").orElseThrow();
+        renamed.setLicensePlate("OWN-40");
+        assertEquals(1, repository.update(renamed.getId(), renamed, null));
+        assertFalse(repository.existsByLicensePlate("OWN-4", null));
+        assertNotNull(repository.insert(vehicle("OWN-4", "Fiat", BigDecimal.TEN), other));
+        assertThrows(RuntimeException.class, () -> repository.insert(vehicle("OWN-40", "Fiat", BigDecimal.TEN), other));
+
+        assertTrue(repository.deleteById(renamed.getId()));
+        assertNotNull(repository.insert(vehicle("OWN-40", "Fiat", BigDecimal.TEN), other));
+    }
+
+    @Test
+    void shouldCacheFilterTotalUntilNextWrite() {
+        ShardedVehicleRepository repository = repository(3, VehicleShardKey.LICENSE_PLATE);
+        for (int i = 0; i < 6; i++) {
+            repository.insert(vehicle("TOT-" + i, "Fiat", BigDecimal.TEN), null);
+        }
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand("Fiat");
+        filter.setSize(2);
+
+        assertEquals(6, repository.search(filter.normalized()).getTotalElements());
+        filter.setPage(2);
+        assertEquals(6, repository.search(filter.normalized()).getTotalElements());
+
+        repository.insert(vehicle("TOT-6", "Fiat", BigDecimal.TEN), null);
+        assertEquals(7, repository.search(filter.normalized()).getTotalElements());
+    }
+
+    @Test
+    void shouldServeIndexRebuildsAndChangeFeedFromAllShards() {
+        ShardedVehicleRepository repository = repository(3, VehicleShardKey.LICENSE_PLATE);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(repository.insert(vehicle("IDX-" + i, i < 4 ? "Fiat" : "Ford", new BigDecimal(1000 + i)), null).getId());
+        }
+        ids.sort(null);
+
+        List<Long> rebuilt = new ArrayList<>();
+        long lastId = 0;
+        List<Vehicle> batch;
+        do {
+            batch = repository.findBatchAfterId(lastId, 5);
+            batch.forEach(vehicle -> rebuilt.add(vehicle.getId()));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == 5);
+        assertEquals(ids, rebuilt);
+        assertEquals(12, repository.count());
+        assertNotNull(repository.findMaxUpdatedAt());
+
+        Map<Long, BigDecimal> fiat = repository.findPricesByGroup("Fiat", "Modelo", 2020);
+        assertEquals(4, fiat.size());
+        assertEquals(Set.of("IDX-1", "IDX-7"), repository.findExistingLicensePlates(List.of("IDX-1", "IDX-7", "IDX-99")));
+
+        List<VehicleChange> changes = repository.findChangedAfter(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+                LocalDateTime.now().plusMinutes(1), 5);
+        assertEquals(5, changes.size());
+        for (int i = 1; i < changes.size(); i++) {
+            VehicleChange previous = changes.get(i - 1);
+            VehicleChange current = changes.get(i);
+            assertTrue(previous.getChangedAt().isBefore(current.getChangedAt())
+                    || (previous.getChangedAt().equals(current.getChangedAt()) && previous.getVehicleId() < current.getVehicleId()));
+        }
+    }
+
+    private ShardedVehicleRepository repository(int shardCount, VehicleShardKey key) {
+        List<DataSource> shards = new ArrayList<>();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < shardCount; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:shard_" + run + "_" + i + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE");
+            new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql")).execute(dataSource);
+            shards.add(dataSource);
+        }
+        JdbcDataSource primary = new JdbcDataSource();
+        primary.setURL("jdbc:h2:mem:shard_" + run + "_primary;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(primary).execute("CREATE TABLE vehicle_plate_registry "
+                + "(license_plate VARCHAR(20) PRIMARY KEY, vehicle_id BIGINT NOT NULL)");
+        return new ShardedVehicleRepository(shards, key, executor, primary);
+    }
+
+    private static VehicleDTO vehicle(String plate, String brand, BigDecimal price) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand(brand);
+        dto.setModel("Modelo");
+        dto.setYear(2020);
+        dto.setLicensePlate(plate);
+        dto.setPrice(price);
+        return dto;
+    }
+}
@@ -0,0 +1,101 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BookingDTO;
+import com.vehicle_management_api.dto.RangeAvailabilityResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VehicleCalendarService vehicleCalendarService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = clientRepository.findByEmail("booking@calendar.test").orElseGet(() -> {
+            Client created = new Client();
+            created.setName("Cliente Reserva");
+            created.setEmail("booking@calendar.test");
+            created.setPassword("password");
+            created.setUserType(UserType.NORMAL_USER);
+            return clientRepository.save(created);
+        });
+    }
+
+    @Test
+    void shouldRejectOverlappingBookingAndUpdateCalendar() {
+        Long vehicleId = createVehicle("BKG-0001");
+        Long otherId = createVehicle("BKG-0002");
+
+        BookingDTO booking = bookingService.create(vehicleId, period(DAY, DAY.plusDays(4)), client).orElseThrow();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.create(vehicleId, period(DAY.plusDays(4), DAY.plusDays(6)), client));
+        assertEquals("Veículo já reservado em parte deste período", exception.getMessage());
+
+        assertTrue(vehicleCalendarService.isFree(otherId, DAY.plusDays(2), DAY.plusDays(3)));
+        assertFalse(vehicleCalendarService.isFree(vehicleId, DAY.plusDays(2), DAY.plusDays(3)));
+        RangeAvailabilityResponse free = vehicleCalendarService.freeVehicles(DAY.plusDays(2), DAY.plusDays(3), 1);
+        assertTrue(free.getTotalFree() >= 1);
+        assertEquals(1, free.getVehicles().size());
+
+        assertTrue(bookingService.cancel(booking.getId(), client));
+        assertTrue(vehicleCalendarService.isFree(vehicleId, DAY.plusDays(2), DAY.plusDays(3)));
+    }
+
+    @Test
+    void shouldRejectInvalidPeriods() {
+        Long vehicleId = createVehicle("BKG-0003");
+
+        assertThrows(RuntimeException.class,
+                () -> bookingService.create(vehicleId, period(DAY.plusDays(2), DAY), client));
+        assertThrows(RuntimeException.class,
+                () -> bookingService.create(vehicleId, period(LocalDate.now().minusDays(1), DAY), client));
+        assertTrue(bookingService.create(-1L, period(DAY, DAY), client).isEmpty());
+    }
+
+    private Long createVehicle(String plate) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Chevrolet");
+        dto.setModel("Onix");
+        dto.setYear(2024);
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("80000.00"));
+        dto.setIsAvailable(true);
+        return vehicleService.create(dto, client).getId();
+    }
+
+    private BookingDTO period(LocalDate start, LocalDate end) {
+        BookingDTO dto = new BookingDTO();
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        return dto;
+    }
+}
@@ -0,0 +1,70 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.CacheRegionStats;
+import com.vehicle_management_api.dto.CacheStatsResponse;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldServeRepeatedEntityLoadsFromSecondLevelCache() {
+        Vehicle saved = vehicleRepository.save(vehicle("L2C-0001"));
+        cacheStatisticsService.reset();
+
+        assertTrue(vehicleRepository.findById(saved.getId()).isPresent());
+        assertTrue(vehicleRepository.findById(saved.getId()).isPresent());
+
+        CacheStatsResponse stats = cacheStatisticsService.snapshot();
+        assertTrue(stats.isStatisticsEnabled());
+        CacheRegionStats region = stats.getRegions().stream()
+                .filter(r -> "vehicle".equals(r.getRegion()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, region.getHits());
+        assertEquals(0, region.getMisses());
+    }
+
+    @Test
+    void shouldCacheExistenceChecksUntilTheTableChanges() {
+        Vehicle saved = vehicleRepository.save(vehicle("L2C-0002"));
+        cacheStatisticsService.reset();
+
+        assertTrue(vehicleRepository.existsByLicensePlate("L2C-0002"));
+        assertTrue(vehicleRepository.existsByLicensePlate("L2C-0002"));
+        assertEquals(1, cacheStatisticsService.snapshot().getQueryCache().getHits());
+
+        saved.setColor("Azul");
+        vehicleRepository.save(saved);
+        assertTrue(vehicleRepository.existsByLicensePlate("L2C-0002"));
+        assertEquals(1, cacheStatisticsService.snapshot().getQueryCache().getHits());
+    }
+
+    private static Vehicle vehicle(String plate) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand("Fiat");
+        vehicle.setModel("Uno");
+        vehicle.setYear(2020);
+        vehicle.setColor("Branco");
+        vehicle.setLicensePlate(plate);
+        vehicle.setPrice(new BigDecimal("30000.00"));
+        vehicle.setIsAvailable(true);
+        return vehicle;
+    }
+}
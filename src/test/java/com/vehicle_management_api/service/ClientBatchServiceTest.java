@@ -0,0 +1,87 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.ClientDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ClientBatchServiceTest {
+
+    @Autowired
+    private ClientBatchService clientBatchService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void shouldCreateValidClientsWithHashedPasswords() {
+        List<ClientDTO> clients = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            clients.add(client("bulk" + i + "@batch.test"));
+        }
+        clients.add(client("BULK3@batch.test"));
+        ClientDTO invalid = client("invalid@batch.test");
+        invalid.setPassword("123");
+        clients.add(invalid);
+
+        BatchResponse response = clientBatchService.createBatch(clients);
+
+        assertEquals(10, response.getTotal());
+        assertEquals(8, response.getCreated());
+        assertEquals("Duplicate email in batch", response.getItems().get(8).getMessage());
+        assertTrue(response.getItems().get(9).getMessage().startsWith("password"));
+
+        Client saved = clientRepository.findByEmail("bulk5@batch.test").orElseThrow();
+        assertEquals(response.getItems().get(5).getId(), saved.getId());
+        assertEquals(UserType.NORMAL_USER, saved.getUserType());
+        assertTrue(passwordEncoder.matches("secret123", saved.getPassword()));
+    }
+
+    @Test
+    void shouldRejectEmailsAlreadyRegistered() {
+        clientBatchService.createBatch(List.of(client("existing@batch.test")));
+
+        BatchResponse response = clientBatchService.createBatch(
+                List.of(client("existing@batch.test"), client("fresh@batch.test")));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchItemResult.Status.REJECTED, response.getItems().get(0).getStatus());
+        assertEquals("Client with this email already exists", response.getItems().get(0).getMessage());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<ClientDTO> clients = new ArrayList<>();
+        for (int i = 0; i <= ClientBatchService.MAX_BATCH_SIZE; i++) {
+            clients.add(client("over" + i + "@batch.test"));
+        }
+        assertThrows(RuntimeException.class, () -> clientBatchService.createBatch(clients));
+    }
+
+    private static ClientDTO client(String email) {
+        ClientDTO dto = new ClientDTO();
+        dto.setName("Cliente Lote");
+        dto.setEmail(email);
+        dto.setPassword("secret123");
+        return dto;
+    }
+}
@@ -0,0 +1,96 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.ClientDTO;
+import com.vehicle_management_api.dto.ClientFilter;
+import com.vehicle_management_api.dto.ClientSearchResponse;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ClientServiceSearchTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void shouldWalkEmailPrefixWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            save("Cliente " + i, "dir" + i + "@directory.test", UserType.NORMAL_USER, true);
+        }
+        save("Outro", "other@directory.test", UserType.NORMAL_USER, true);
+
+        List<String> emails = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ClientSearchResponse page = clientService.search(
+                    new ClientFilter("dir", null, null, null, "email", cursor, 2).normalized());
+            page.getContent().forEach(client -> emails.add(client.getEmail()));
+            cursor = page.getNextCursor();
+            pages++;
+            assertEquals(page.isHasMore(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("dir0@directory.test", "dir1@directory.test", "dir2@directory.test",
+                "dir3@directory.test", "dir4@directory.test"), emails);
+    }
+
+    @Test
+    void shouldFilterByNamePrefixTypeAndActiveFlag() {
+        save("Zeca Admin", "zeca.admin@directory.test", UserType.ADMIN, true);
+        save("Zeca Inativo", "zeca.off@directory.test", UserType.ADMIN, false);
+        save("Zeca Usuario", "zeca.user@directory.test", UserType.NORMAL_USER, true);
+
+        ClientSearchResponse response = clientService.search(
+                new ClientFilter(null, "Zeca", UserType.ADMIN, true, "name", null, 10).normalized());
+
+        assertEquals(List.of("Zeca Admin"), response.getContent().stream().map(ClientDTO::getName).toList());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void shouldTreatWildcardsInPrefixLiterally() {
+        save("Curinga", "under_score@directory.test", UserType.NORMAL_USER, true);
+        save("Curinga", "underXscore@directory.test", UserType.NORMAL_USER, true);
+
+        ClientSearchResponse response = clientService.search(
+                new ClientFilter("under_", null, null, null, "email", null, 10).normalized());
+
+        assertEquals(1, response.getContent().size());
+    }
+
+    @Test
+    void shouldRejectInvalidSortAndCursor() {
+        assertThrows(RuntimeException.class,
+                () -> new ClientFilter(null, null, null, null, "password", null, 10).normalized());
+        assertThrows(RuntimeException.class, () -> clientService.search(
+                new ClientFilter(null, null, null, null, "email", "!!", 10).normalized()));
+    }
+
+    private void save(String name, String email, UserType type, boolean active) {
+        Client client = new Client();
+        client.setName(name);
+        client.setEmail(email);
+        client.setPassword("password");
+        client.setUserType(type);
+        client.setIsActive(active);
+        clientRepository.save(client);
+    }
+}
@@ -3,6 +3,7 @@ package com.vehicle_management_api.service;
 import com.vehicle_management_api.dto.ClientDTO;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.exception.VersionConflictException;
 import com.vehicle_management_api.repository.ClientRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -173,4 +175,23 @@ class ClientServiceTest {
         verify(clientRepository).existsByEmail("admin@test.com");
         verify(clientRepository).save(any(Client.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldThrowConflictWhenClientVersionIsStale() {
+        clientDTO.setPassword(null);
+        when(clientRepository.updateIfVersion(eq(1L), eq(5L), any(), any(), any())).thenReturn(0);
+        when(clientRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(VersionConflictException.class, () -> clientService.update(1L, clientDTO, 5L));
+        verify(clientRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotHashPasswordWhenClientVersionIsStale() {
+        when(clientRepository.findVersionById(1L)).thenReturn(Optional.of(6L));
+
+        assertThrows(VersionConflictException.class, () -> clientService.update(1L, clientDTO, 5L));
+        verify(passwordEncoder, never()).encode(any());
+        verify(clientRepository, never()).updateIfVersion(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,125 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara INSERTs linha a linha (comportamento imposto por ids IDENTITY) com INSERTs em lote
+ * habilitados pelos ids pooled. Além da vazão, confere nas estatísticas do Hibernate que cada modo
+ * prepara o número de statements esperado. Executar com: mvn test -Dtest=InsertBatchingBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertBatchingBenchmarkTest {
+
+    private static final Logger logger = LogManager.getLogger(InsertBatchingBenchmarkTest.class);
+
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 3;
+    // Igual a hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private record Run(double rowsPerSecond, long inserts, long statements) {
+    }
+
+    @AfterEach
+    void cleanUp() {
+        vehicleRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void batchedInsertsShouldOutperformRowByRowInserts() {
+        double rowByRow = 0;
+        double batched = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Run rowRun = measure("ROW-" + round, vehicles -> vehicles.forEach(vehicle -> {
+                // Um flush por entidade reproduz o round trip por INSERT do IDENTITY; o clear mantém
+                // o contexto de persistência pequeno, senão cada flush verificaria todas as anteriores
+                entityManager.persist(vehicle);
+                entityManager.flush();
+                entityManager.clear();
+            }));
+            Run batchRun = measure("BAT-" + round, vehicles -> {
+                for (int i = 0; i < vehicles.size(); i++) {
+                    entityManager.persist(vehicles.get(i));
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+
+            // Todo INSERT é contado nos dois modos; o que muda é o número de statements preparados
+            assertEquals(ROWS, rowRun.inserts());
+            assertEquals(ROWS, batchRun.inserts());
+            assertTrue(rowRun.statements() >= ROWS, "statements linha a linha: " + rowRun.statements());
+            // Um statement por lote de INSERTs, mais as chamadas à sequence a cada ALLOCATION_SIZE ids
+            // (e uma folga para as tarefas agendadas que consultam o banco durante a medição)
+            long expected = ROWS / BATCH_SIZE + ROWS / Vehicle.ALLOCATION_SIZE;
+            assertTrue(batchRun.statements() <= expected + 10,
+                    "statements em lote: " + batchRun.statements() + ", esperado ~" + expected);
+            rowByRow = Math.max(rowByRow, rowRun.rowsPerSecond());
+            batched = Math.max(batched, batchRun.rowsPerSecond());
+        }
+
+        logger.info("Linha a linha: {} linhas/s, em lote: {} linhas/s, ganho: {}x",
+                Math.round(rowByRow), Math.round(batched), String.format("%.1f", batched / rowByRow));
+        assertTrue(batched > rowByRow);
+    }
+
+    private Run measure(String platePrefix, Consumer<List<Vehicle>> writer) {
+        List<Vehicle> vehicles = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setBrand("Fiat");
+            vehicle.setModel("Uno");
+            vehicle.setYear(2015);
+            vehicle.setColor("Vermelho");
+            vehicle.setLicensePlate(platePrefix + "-" + i);
+            vehicle.setPrice(new BigDecimal("25000.00"));
+            vehicles.add(vehicle);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> writer.accept(vehicles));
+        long elapsed = System.nanoTime() - start;
+        return new Run(ROWS * 1_000_000_000.0 / elapsed, statistics.getEntityInsertCount(),
+                statistics.getPrepareStatementCount());
+    }
+}
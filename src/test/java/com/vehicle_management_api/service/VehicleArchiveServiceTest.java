@@ -0,0 +1,76 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.ArchivedVehicleDTO;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleArchiveServiceTest {
+
+    @Autowired
+    private VehicleArchiveService vehicleArchiveService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldMoveInactiveUnavailableVehiclesToArchive() {
+        VehicleDTO inactive = vehicleService.create(vehicle("ARC-0001", false), null);
+        VehicleDTO available = vehicleService.create(vehicle("ARC-0002", true), null);
+
+        int archived = vehicleArchiveService.archiveInactiveSince(LocalDateTime.now().plusMinutes(1));
+
+        assertTrue(archived >= 1);
+        assertFalse(vehicleRepository.existsById(inactive.getId()));
+        assertTrue(vehicleService.findById(inactive.getId()).isEmpty());
+        assertTrue(vehicleRepository.existsById(available.getId()));
+
+        ArchivedVehicleDTO copy = vehicleArchiveService.findArchivedById(inactive.getId()).orElseThrow();
+        assertEquals("ARC-0001", copy.getLicensePlate());
+        assertNotNull(copy.getArchivedAt());
+
+        PageResponse<ArchivedVehicleDTO> byPlate = vehicleArchiveService.findArchived("ARC-0001", 0, 20);
+        assertEquals(1, byPlate.getTotalElements());
+    }
+
+    @Test
+    void shouldKeepRecentlyUpdatedVehicles() {
+        VehicleDTO recent = vehicleService.create(vehicle("ARC-0101", false), null);
+
+        vehicleArchiveService.archiveInactiveSince(LocalDateTime.now().minusDays(1));
+
+        assertTrue(vehicleRepository.existsById(recent.getId()));
+        assertTrue(vehicleArchiveService.findArchivedById(recent.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() {
+        assertThrows(RuntimeException.class, () -> vehicleArchiveService.findArchived(null, 0, 0));
+    }
+
+    private static VehicleDTO vehicle(String plate, boolean available) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Fiat");
+        dto.setModel("Uno");
+        dto.setYear(2010);
+        dto.setColor("Branco");
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("15000.00"));
+        dto.setIsAvailable(available);
+        return dto;
+    }
+}
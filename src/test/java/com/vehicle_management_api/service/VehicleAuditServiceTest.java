@@ -0,0 +1,109 @@
+package com.vehicle_management_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleHistoryDTO;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.VehicleHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleAuditServiceTest {
+
+    @Autowired
+    private VehicleAuditService vehicleAuditService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRecordWhoChangedWhatInBatches() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "auditor@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        VehicleDTO created = vehicleService.create(vehicle("AUD-0001"), null);
+        created.setColor("Vermelho");
+        vehicleService.update(created.getId(), created);
+        vehicleAuditService.flush();
+
+        PageResponse<VehicleHistoryDTO> history = vehicleAuditService.historyForVehicle(created.getId(), 0, 20);
+        assertEquals(2, history.getTotalElements());
+        VehicleHistoryDTO update = history.getContent().get(0);
+        assertEquals("UPDATED", update.getChangeType());
+        assertEquals("auditor@example.com", update.getActor());
+        assertEquals("{\"color\":\"Preto\"}", update.getOldValues());
+        assertEquals("{\"color\":\"Vermelho\"}", update.getNewValues());
+        assertEquals("CREATED", history.getContent().get(1).getChangeType());
+        assertNull(history.getContent().get(1).getOldValues());
+
+        assertTrue(vehicleAuditService.historyForActor("auditor@example.com", 0, 20).getContent().stream()
+                .anyMatch(entry -> created.getId().equals(entry.getVehicleId())));
+    }
+
+    @Test
+    void shouldRecoverPreviousValuesOfVersionedUpdates() {
+        VehicleDTO created = vehicleService.findById(vehicleService.create(vehicle("AUD-0002"), null).getId()).orElseThrow();
+        created.setColor("Azul");
+        VehicleDTO first = vehicleService.update(created.getId(), created, created.getVersion()).orElseThrow();
+        // Criação e atualização no mesmo flush: o estado anterior vem da própria fila
+        vehicleAuditService.flush();
+
+        first.setPrice(new BigDecimal("91000.00"));
+        vehicleService.update(first.getId(), first, first.getVersion());
+        // Agora o estado anterior só existe no histórico já gravado
+        vehicleAuditService.flush();
+
+        List<VehicleHistoryDTO> history = vehicleAuditService.historyForVehicle(created.getId(), 0, 20).getContent();
+        assertEquals(3, history.size());
+        assertTrue(history.get(1).getOldValues().contains("\"color\":\"Preto\""));
+        assertTrue(history.get(1).getNewValues().contains("\"color\":\"Azul\""));
+        assertTrue(history.get(0).getOldValues().contains("\"price\":90000"));
+        assertFalse(history.get(0).getOldValues().contains("color"));
+    }
+
+    @Test
+    void shouldDropWhenQueueIsFullInBestEffortMode() {
+        VehicleAuditService bestEffort = new VehicleAuditService(mock(VehicleHistoryRepository.class),
+                mock(PlatformTransactionManager.class), new ObjectMapper(),
+                VehicleAuditService.Durability.BEST_EFFORT, 1, 0, 10);
+
+        bestEffort.recordAfterCommit(VehicleChangeEvent.deleted(1L));
+        bestEffort.recordAfterCommit(VehicleChangeEvent.deleted(2L));
+
+        assertEquals(1, bestEffort.pendingCount());
+        assertEquals(1, bestEffort.droppedCount());
+    }
+
+    private static VehicleDTO vehicle(String plate) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Peugeot");
+        dto.setModel("208");
+        dto.setYear(2023);
+        dto.setColor("Preto");
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("90000.00"));
+        dto.setIsAvailable(true);
+        return dto;
+    }
+}
@@ -0,0 +1,78 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.AvailabilityUpdateRequest;
+import com.vehicle_management_api.dto.AvailabilityUpdateResponse;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VehicleAvailabilityServiceTest {
+
+    @Autowired
+    private VehicleAvailabilityService vehicleAvailabilityService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldUpdateOnlyVehiclesWhoseAvailabilityChanges() {
+        Vehicle first = vehicleRepository.save(vehicle("AVL-0001", "Honda", true));
+        Vehicle second = vehicleRepository.save(vehicle("AVL-0002", "Honda", false));
+
+        AvailabilityUpdateResponse response = vehicleAvailabilityService.updateAvailability(
+                new AvailabilityUpdateRequest(List.of(first.getId(), second.getId(), -1L), null, false));
+
+        assertEquals(3, response.getMatched());
+        assertEquals(1, response.getUpdated());
+        assertEquals(List.of(first.getId()), response.getUpdatedIds());
+        assertFalse(vehicleRepository.findById(first.getId()).orElseThrow().getIsAvailable());
+    }
+
+    @Test
+    void shouldUpdateVehiclesSelectedByFilter() {
+        vehicleRepository.save(vehicle("AVL-0010", "Renault", true));
+        vehicleRepository.save(vehicle("AVL-0011", "Renault", true));
+        Vehicle other = vehicleRepository.save(vehicle("AVL-0012", "Peugeot", true));
+
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand("Renault");
+        AvailabilityUpdateResponse response = vehicleAvailabilityService.updateAvailability(
+                new AvailabilityUpdateRequest(null, filter, false));
+
+        assertEquals(2, response.getUpdated());
+        assertTrue(vehicleRepository.findById(other.getId()).orElseThrow().getIsAvailable());
+    }
+
+    @Test
+    void shouldRequireEitherIdsOrFilter() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> vehicleAvailabilityService.updateAvailability(
+                        new AvailabilityUpdateRequest(List.of(1L), new VehicleFilter(), true)));
+
+        assertEquals("Informe a lista de ids ou um filtro", exception.getMessage());
+    }
+
+    private Vehicle vehicle(String plate, String brand, boolean available) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand(brand);
+        vehicle.setModel("Modelo");
+        vehicle.setYear(2021);
+        vehicle.setLicensePlate(plate);
+        vehicle.setPrice(new BigDecimal("60000.00"));
+        vehicle.setIsAvailable(available);
+        return vehicle;
+    }
+}
@@ -0,0 +1,94 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VehicleBatchServiceTest {
+
+    @Autowired
+    private VehicleBatchService vehicleBatchService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldCreateValidItemsAndRejectInvalidOnes() {
+        List<VehicleDTO> vehicles = new ArrayList<>();
+        vehicles.add(vehicle("BAT-0001"));
+        vehicles.add(vehicle("BAT-0001"));
+        VehicleDTO invalid = vehicle("BAT-0002");
+        invalid.setBrand("");
+        vehicles.add(invalid);
+        vehicles.add(vehicle("BAT-0003"));
+
+        BatchResponse response = vehicleBatchService.createBatch(vehicles, null);
+
+        assertEquals(4, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        assertEquals(BatchItemResult.Status.CREATED, response.getItems().get(0).getStatus());
+        assertNotNull(response.getItems().get(0).getId());
+        assertEquals("Placa duplicada no lote", response.getItems().get(1).getMessage());
+        assertTrue(response.getItems().get(2).getMessage().startsWith("brand"));
+        assertTrue(vehicleRepository.existsByLicensePlate("BAT-0003"));
+    }
+
+    @Test
+    void shouldRejectPlatesAlreadyInDatabase() {
+        vehicleBatchService.createBatch(List.of(vehicle("BAT-0100")), null);
+
+        BatchResponse response = vehicleBatchService.createBatch(List.of(vehicle("BAT-0100"), vehicle("BAT-0101")), null);
+
+        assertEquals(1, response.getCreated());
+        assertEquals("Veículo com esta placa já existe", response.getItems().get(0).getMessage());
+    }
+
+    @Test
+    void shouldTreatPlatesDifferingOnlyInCaseAsDuplicates() {
+        BatchResponse response = vehicleBatchService.createBatch(
+                List.of(vehicle("bat-0200"), vehicle("BAT-0200")), null);
+
+        assertEquals(1, response.getCreated());
+        assertEquals("Placa duplicada no lote", response.getItems().get(1).getMessage());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<VehicleDTO> vehicles = new ArrayList<>();
+        for (int i = 0; i <= VehicleBatchService.MAX_BATCH_SIZE; i++) {
+            vehicles.add(vehicle("BIG-" + i));
+        }
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> vehicleBatchService.createBatch(vehicles, null));
+        assertTrue(exception.getMessage().startsWith("Lote excede"));
+    }
+
+    private VehicleDTO vehicle(String plate) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Toyota");
+        dto.setModel("Corolla");
+        dto.setYear(2022);
+        dto.setColor("Prata");
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("95000.00"));
+        dto.setIsAvailable(true);
+        return dto;
+    }
+}
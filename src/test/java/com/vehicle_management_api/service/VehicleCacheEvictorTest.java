@@ -0,0 +1,76 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleCacheEvictorTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final VehicleCacheEvictor evictor = new VehicleCacheEvictor(cacheManager);
+
+    @Test
+    void shouldEvictOnlyEntriesThatCanContainTheChangedVehicles() {
+        String honda = filter("Honda").normalized().cacheKey();
+        String fiat = filter("Fiat").normalized().cacheKey();
+        String any = filter(null).normalized().cacheKey();
+        Cache search = cacheManager.getCache("vehicleSearch");
+        search.put(honda, "honda");
+        search.put("total|" + filter("Honda").criteriaKey(), 1L);
+        search.put(fiat, "fiat");
+        search.put("total|" + filter("Fiat").criteriaKey(), 1L);
+        search.put(any, "todos");
+        Cache plates = cacheManager.getCache("vehiclePlates");
+        plates.put("abc-1234", "alterado");
+        plates.put("XYZ-9999", "outro");
+        Cache projections = cacheManager.getCache("vehicleProjections");
+        projections.put("Honda-Civic|brand", "honda");
+        projections.put("Fiat-Uno|brand", "fiat");
+        projections.put("all|brand", "todos");
+        projections.put("filter|" + fiat + "|brand", "fiat");
+
+        evictor.evict(List.<Object[]>of(new Object[]{1L, "honda", "Civic", "ABC-1234"}), true);
+
+        assertNull(search.get(honda));
+        assertNull(search.get("total|" + filter("Honda").criteriaKey()));
+        assertNull(search.get(any));
+        assertNotNull(search.get(fiat));
+        assertNotNull(search.get("total|" + filter("Fiat").criteriaKey()));
+        assertNull(plates.get("abc-1234"));
+        assertNotNull(plates.get("XYZ-9999"));
+        assertNull(projections.get("Honda-Civic|brand"));
+        assertNull(projections.get("all|brand"));
+        assertNotNull(projections.get("Fiat-Uno|brand"));
+        assertNotNull(projections.get("filter|" + fiat + "|brand"));
+    }
+
+    @Test
+    void shouldDeferEvictionUntilTheTransactionCommits() {
+        Cache vehicles = cacheManager.getCache("vehicles");
+        vehicles.put(1L, "antigo");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            evictor.evict(List.<Object[]>of(new Object[]{1L, "Honda", "Civic", "ABC-1234"}), true);
+            assertNotNull(vehicles.get(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNull(vehicles.get(1L));
+    }
+
+    private static VehicleFilter filter(String brand) {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand(brand);
+        return filter;
+    }
+}
@@ -0,0 +1,106 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleChange;
+import com.vehicle_management_api.dto.VehicleChangesResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleChangeFeedServiceTest {
+
+    @Autowired
+    private VehicleChangeFeedService vehicleChangeFeedService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Test
+    void shouldReturnUpsertsAndDeletesAfterCursor() {
+        String cursor = tip();
+
+        VehicleDTO kept = vehicleService.create(vehicle("CHG-0001"), null);
+        VehicleDTO removed = vehicleService.create(vehicle("CHG-0002"), null);
+        kept.setColor("Azul");
+        vehicleService.update(kept.getId(), kept);
+        vehicleService.delete(removed.getId());
+
+        VehicleChangesResponse response = vehicleChangeFeedService.changesSince(cursor, 100, later());
+
+        List<VehicleChange> changes = response.getChanges();
+        assertEquals(2, changes.size());
+        assertFalse(response.isHasMore());
+        VehicleChange upsert = changes.stream().filter(c -> c.getType() == VehicleChange.Type.UPSERT).findFirst().orElseThrow();
+        assertEquals(kept.getId(), upsert.getVehicleId());
+        assertEquals("Azul", upsert.getVehicle().getColor());
+        VehicleChange delete = changes.stream().filter(c -> c.getType() == VehicleChange.Type.DELETE).findFirst().orElseThrow();
+        assertEquals(removed.getId(), delete.getVehicleId());
+        assertNull(delete.getVehicle());
+
+        VehicleChangesResponse next = vehicleChangeFeedService.changesSince(response.getNextCursor(), 100, later());
+        assertTrue(next.getChanges().isEmpty());
+        assertEquals(response.getNextCursor(), next.getNextCursor());
+    }
+
+    @Test
+    void shouldPaginateWithCursor() {
+        String cursor = tip();
+        vehicleService.create(vehicle("CHG-0101"), null);
+        vehicleService.create(vehicle("CHG-0102"), null);
+
+        VehicleChangesResponse first = vehicleChangeFeedService.changesSince(cursor, 1, later());
+        VehicleChangesResponse second = vehicleChangeFeedService.changesSince(first.getNextCursor(), 1, later());
+
+        assertTrue(first.isHasMore());
+        assertFalse(second.isHasMore());
+        assertEquals("CHG-0101", first.getChanges().get(0).getVehicle().getLicensePlate());
+        assertEquals("CHG-0102", second.getChanges().get(0).getVehicle().getLicensePlate());
+    }
+
+    @Test
+    void shouldHoldBackChangesInsideSettleWindow() {
+        String cursor = tip();
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        vehicleService.create(vehicle("CHG-0201"), null);
+
+        assertTrue(vehicleChangeFeedService.changesSince(cursor, 100, before).getChanges().isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(RuntimeException.class, () -> vehicleChangeFeedService.changesSince("not-a-cursor", 10, later()));
+    }
+
+    private String tip() {
+        VehicleChangesResponse page = vehicleChangeFeedService.changesSince(null, VehicleChangeFeedService.MAX_LIMIT, later());
+        while (page.isHasMore()) {
+            page = vehicleChangeFeedService.changesSince(page.getNextCursor(), VehicleChangeFeedService.MAX_LIMIT, later());
+        }
+        return page.getNextCursor();
+    }
+
+    private static LocalDateTime later() {
+        return LocalDateTime.now().plusMinutes(1);
+    }
+
+    private static VehicleDTO vehicle(String plate) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Renault");
+        dto.setModel("Kwid");
+        dto.setYear(2022);
+        dto.setColor("Prata");
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("55000.00"));
+        dto.setIsAvailable(true);
+        return dto;
+    }
+}
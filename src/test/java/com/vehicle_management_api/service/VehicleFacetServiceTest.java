@@ -0,0 +1,59 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.FacetResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VehicleFacetServiceTest {
+
+    private final VehicleFilter filter = new VehicleFilter().normalized();
+
+    private VehicleFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        facetService = new VehicleFacetService(mock(VehicleRepository.class));
+        facetService.onVehicleChange(VehicleChangeEvent.created(vehicle(1L, "10.20")));
+        facetService.onVehicleChange(VehicleChangeEvent.created(vehicle(2L, "10.70")));
+    }
+
+    @Test
+    void shouldRejectPriceBucketsBelowOneCent() {
+        RuntimeException tooSmall = assertThrows(RuntimeException.class,
+                () -> facetService.facets(filter, 5, new BigDecimal("0.001")));
+        assertTrue(tooSmall.getMessage().contains("0.01"));
+        assertThrows(RuntimeException.class, () -> facetService.facets(filter, 5, new BigDecimal("0.015")));
+    }
+
+    @Test
+    void shouldKeepSubUnitBucketsDistinct() {
+        FacetResponse facets = facetService.facets(filter, 5, new BigDecimal("0.50"));
+
+        assertEquals(2, facets.getPrices().size());
+        assertEquals(1L, facets.getPrices().get(new BigDecimal("10.00")));
+        assertEquals(1L, facets.getPrices().get(new BigDecimal("10.50")));
+        assertEquals(1L, facetService.facets(filter, 5, new BigDecimal("0.01")).getPrices().get(new BigDecimal("10.20")));
+        assertEquals(2L, facetService.facets(filter, 5, BigDecimal.ONE).getPrices().get(new BigDecimal("10.00")));
+    }
+
+    private static VehicleDTO vehicle(Long id, String price) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setId(id);
+        dto.setBrand("Faixa");
+        dto.setModel("Centavos");
+        dto.setYear(2020);
+        dto.setLicensePlate("FCT-000" + id);
+        dto.setPrice(new BigDecimal(price));
+        dto.setIsAvailable(true);
+        return dto;
+    }
+}
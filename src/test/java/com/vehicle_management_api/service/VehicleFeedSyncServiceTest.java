@@ -0,0 +1,144 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.FeedSyncResponse;
+import com.vehicle_management_api.entity.Booking;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.BookingRepository;
+import com.vehicle_management_api.repository.ClientRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleFeedSyncServiceTest {
+
+    private static final String HEADER = "brand,model,year,color,license_plate,price\n";
+
+    @Autowired
+    private VehicleFeedSyncService vehicleFeedSyncService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Client dealer;
+
+    @BeforeEach
+    void setUp() {
+        dealer = clientRepository.findByEmail("dealer@feed.test").orElseGet(() -> {
+            Client created = new Client();
+            created.setName("Revendedor Feed");
+            created.setEmail("dealer@feed.test");
+            created.setPassword("password");
+            created.setUserType(UserType.NORMAL_USER);
+            return clientRepository.save(created);
+        });
+    }
+
+    @Test
+    void shouldApplyOnlyTheDifferenceBetweenFeeds() {
+        FeedSyncResponse first = sync(HEADER
+                + "Fiat,Uno,2015,Branco,FED-0001,20000.00\n"
+                + "Fiat,Palio,2016,Prata,FED-0002,25000.00\n"
+                + "Fiat,Siena,2017,Preto,FED-0003,30000.00\n");
+        assertEquals(3, first.getInserted());
+        Vehicle uno = vehicleRepository.findByLicensePlate("FED-0001").orElseThrow();
+        assertEquals(dealer.getId(), uno.getCreatedBy().getId());
+        Long unoVersion = uno.getVersion();
+
+        FeedSyncResponse second = sync(HEADER
+                + "Fiat,Uno,2015,Branco,FED-0001,20000\n"
+                + "Fiat,Palio,2016,Vermelho,FED-0002,25000.00\n"
+                + "Fiat,Mobi,2020,Branco,FED-0004,45000.00\n");
+
+        assertEquals(3, second.getReceived());
+        assertEquals(1, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals(1, second.getUnchanged());
+        assertEquals(1, second.getDeleted());
+        assertEquals(0, second.getRejected());
+        assertEquals(unoVersion, vehicleRepository.findByLicensePlate("FED-0001").orElseThrow().getVersion());
+        assertEquals("Vermelho", vehicleRepository.findByLicensePlate("FED-0002").orElseThrow().getColor());
+        assertTrue(vehicleRepository.findByLicensePlate("FED-0003").isEmpty());
+        assertTrue(vehicleRepository.findByLicensePlate("FED-0004").isPresent());
+    }
+
+    @Test
+    void shouldKeepVehiclesWhoseRowsWereRejected() {
+        sync(HEADER + "Ford,Ka,2018,Azul,FED-0101,35000.00\n");
+
+        FeedSyncResponse response = sync(HEADER
+                + "Ford,Ka,vinte,Azul,FED-0101,35000.00\n"
+                + "Ford,Fiesta,2019,Preto,FED-0102,40000.00\n"
+                + "Ford,Fiesta,2019,Preto,FED-0102,40000.00\n");
+
+        assertEquals(2, response.getRejected());
+        assertEquals(0, response.getDeleted());
+        assertTrue(vehicleRepository.findByLicensePlate("FED-0101").isPresent());
+        assertEquals(4, response.getErrors().get(1).getRow());
+    }
+
+    @Test
+    void shouldKeepMissingVehiclesWithReservationsOrFutureBookings() {
+        sync(HEADER
+                + "Renault,Kwid,2021,Branco,FED-0201,50000.00\n"
+                + "Renault,Sandero,2021,Prata,FED-0202,60000.00\n"
+                + "Renault,Logan,2021,Preto,FED-0203,65000.00\n");
+        Vehicle reserved = vehicleRepository.findByLicensePlate("FED-0201").orElseThrow();
+        reserved.setReservedUntil(LocalDateTime.now().plusMinutes(10));
+        vehicleRepository.save(reserved);
+        Booking booking = new Booking();
+        booking.setVehicle(vehicleRepository.findByLicensePlate("FED-0202").orElseThrow());
+        booking.setStartDate(LocalDate.now().plusDays(3));
+        booking.setEndDate(LocalDate.now().plusDays(5));
+        bookingRepository.save(booking);
+
+        // Mesma placa em minúsculas é o mesmo veículo, não uma inserção
+        FeedSyncResponse response = sync(HEADER + "Renault,Logan,2021,Preto,fed-0203,65000.00\n");
+
+        assertEquals(0, response.getInserted());
+        assertEquals(1, response.getUnchanged());
+        assertEquals(0, response.getDeleted());
+        assertEquals(2, response.getKeptWithBookings());
+        assertEquals(List.of("FED-0201", "FED-0202"), response.getKeptPlates().stream().sorted().toList());
+        assertTrue(vehicleRepository.findByLicensePlate("FED-0202").isPresent());
+
+        bookingRepository.delete(booking);
+        Vehicle released = vehicleRepository.findByLicensePlate("FED-0201").orElseThrow();
+        released.setReservedUntil(null);
+        vehicleRepository.save(released);
+        assertEquals(2, sync(HEADER + "Renault,Logan,2021,Preto,FED-0203,65000.00\n").getDeleted());
+    }
+
+    @Test
+    void shouldHashEquivalentPricesTheSame() {
+        assertEquals(Vehicle.contentHash("Fiat", "Uno", 2015, null, new BigDecimal("100")),
+                Vehicle.contentHash("Fiat", "Uno", 2015, null, new BigDecimal("100.00")));
+        assertNotEquals(Vehicle.contentHash("Fiat", "Uno", 2015, "Azul", null),
+                Vehicle.contentHash("Fiat", "Uno", 2015, "Preto", null));
+    }
+
+    private FeedSyncResponse sync(String csv) {
+        return vehicleFeedSyncService.sync(dealer.getId(), new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchItemResult;
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.ImportJobStatus;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleImportServiceTest {
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldImportCsvInBackgroundAndReportRejectedRows() throws Exception {
+        StringBuilder csv = new StringBuilder("brand,model,year,color,license_plate,price,is_available\n");
+        int rows = VehicleImportService.CHUNK_SIZE + 5;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Ford,\"Ka, SE\",2020,Branco,IMP-").append(i).append(",45000.00,true\n");
+        }
+        csv.append("Ford,Ka,vinte,Branco,IMP-BAD,45000.00,true\n");
+        csv.append("Ford,Ka,2020,Branco,IMP-0,45000.00,true\n");
+
+        ImportJobStatus submitted = vehicleImportService.submit(file(csv.toString()), null);
+        ImportJobStatus status = awaitCompletion(submitted.getJobId());
+
+        assertEquals(ImportJobStatus.State.COMPLETED, status.getState());
+        assertEquals(rows + 2, status.getRowsProcessed());
+        assertEquals(rows, status.getRowsCreated());
+        assertEquals(2, status.getRowsRejected());
+        assertEquals(rows + 2, status.getErrors().get(0).getRow());
+        assertEquals("IMP-0", status.getErrors().get(1).getLicensePlate());
+        assertEquals(rows + 3, status.getErrors().get(1).getRow());
+        assertTrue(vehicleRepository.findByLicensePlate("IMP-7").isPresent());
+        assertEquals("Ka, SE", vehicleRepository.findByLicensePlate("IMP-7").get().getModel());
+    }
+
+    @Test
+    void shouldReportSourceRowNumbersAcrossBlankLines() throws Exception {
+        String csv = "brand,model,year,license_plate\n"
+                + "Fiat,Uno,2019,BLK-0001\n"
+                + "\n"
+                + "   \n"
+                + "Fiat,Uno,dois mil,BLK-0002\n";
+
+        ImportJobStatus status = awaitCompletion(vehicleImportService.submit(file(csv), null).getJobId());
+
+        assertEquals(1, status.getRowsCreated());
+        assertEquals(1, status.getRowsRejected());
+        assertEquals(5, status.getErrors().get(0).getRow());
+        assertEquals("BLK-0002", status.getErrors().get(0).getLicensePlate());
+    }
+
+    @Test
+    void shouldRetryChunkRowByRowWhenInsertViolatesUniqueConstraint() throws Exception {
+        VehicleBatchService batchService = mock(VehicleBatchService.class);
+        // O bloco falha inteiro; na repetição linha a linha só UNQ-0002 conflita
+        when(batchService.createBatch(any(), any())).thenAnswer(invocation -> {
+            List<VehicleDTO> vehicles = invocation.getArgument(0);
+            if (vehicles.size() > 1 || "UNQ-0002".equals(vehicles.get(0).getLicensePlate())) {
+                throw new DataIntegrityViolationException("uk_license_plate");
+            }
+            return BatchResponse.of(List.of(new BatchItemResult(0, vehicles.get(0).getLicensePlate(),
+                    BatchItemResult.Status.CREATED, 1L, null)));
+        });
+        VehicleImportService service = new VehicleImportService(batchService, new SyncTaskExecutor());
+
+        String csv = "brand,model,year,license_plate\n"
+                + "Fiat,Uno,2019,UNQ-0001\n"
+                + "Fiat,Uno,2019,UNQ-0002\n"
+                + "Fiat,Uno,2019,UNQ-0003\n";
+        ImportJobStatus status = service.submit(file(csv), null);
+        status = service.status(status.getJobId()).orElseThrow();
+
+        assertEquals(ImportJobStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getRowsCreated());
+        assertEquals(1, status.getRowsRejected());
+        assertEquals(3, status.getErrors().get(0).getRow());
+        assertEquals("Veículo com esta placa já existe", status.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void shouldFailJobWhenRequiredColumnIsMissing() throws Exception {
+        ImportJobStatus submitted = vehicleImportService.submit(file("brand,model\nFord,Ka\n"), null);
+        ImportJobStatus status = awaitCompletion(submitted.getJobId());
+
+        assertEquals(ImportJobStatus.State.FAILED, status.getState());
+        assertTrue(status.getMessage().startsWith("Coluna obrigatória ausente"));
+    }
+
+    @Test
+    void shouldAcceptOnlyTrueOrFalseAvailability() {
+        Map<String, Integer> columns = VehicleImportService.parseHeader("brand,model,year,license_plate,is_available");
+
+        assertFalse(VehicleImportService.parseRow("Fiat,Uno,2019,AVL-0001,FALSE", columns).vehicle().getIsAvailable());
+        assertTrue(VehicleImportService.parseRow("Fiat,Uno,2019,AVL-0002,True", columns).vehicle().getIsAvailable());
+        assertTrue(VehicleImportService.parseRow("Fiat,Uno,2019,AVL-0003,", columns).vehicle().getIsAvailable());
+
+        VehicleImportService.ParsedRow invalid = VehicleImportService.parseRow("Fiat,Uno,2019,AVL-0004,sim", columns);
+        assertNull(invalid.vehicle());
+        assertEquals("Valor de disponibilidade inválido: sim", invalid.error());
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        assertEquals(List.of("a", "b, c", "d \"e\"", ""), VehicleImportService.splitLine("a,\"b, c\",\"d \"\"e\"\"\","));
+    }
+
+    private MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "fleet.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ImportJobStatus awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ImportJobStatus status = vehicleImportService.status(jobId).orElseThrow();
+            if (status.getState() == ImportJobStatus.State.COMPLETED || status.getState() == ImportJobStatus.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        fail("Importação não concluída a tempo");
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.ReservationDTO;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleReservationConcurrencyTest {
+
+    private static final int THREADS = 300;
+    private static final int AGENTS = 10;
+
+    @Autowired
+    private VehicleAvailabilityService vehicleAvailabilityService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private final List<Client> agents = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < AGENTS; i++) {
+            String email = "agent" + i + "@reservation.test";
+            agents.add(clientRepository.findByEmail(email).orElseGet(() -> {
+                Client client = new Client();
+                client.setName("Agente " + email);
+                client.setEmail(email);
+                client.setPassword("password");
+                client.setUserType(UserType.NORMAL_USER);
+                return clientRepository.save(client);
+            }));
+        }
+    }
+
+    @Test
+    void shouldGrantReservationToExactlyOneOfManyConcurrentCallers() throws Exception {
+        Vehicle vehicle = vehicleRepository.save(vehicle("RSV-0001"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<ReservationDTO>>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                Client agent = agents.get(i % AGENTS);
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return vehicleAvailabilityService.reserve(vehicle.getId(), agent, 10);
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Optional<ReservationDTO>> attempt : attempts) {
+                if (attempt.get(60, TimeUnit.SECONDS).isPresent()) {
+                    granted++;
+                }
+            }
+            assertEquals(1, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Vehicle reserved = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertFalse(reserved.getIsAvailable());
+        assertNotNull(reserved.getReservedUntil());
+    }
+
+    @Test
+    void shouldOnlyLetTheOwnerReleaseAndAllowReservingAgain() {
+        Vehicle vehicle = vehicleRepository.save(vehicle("RSV-0002"));
+        Client owner = agents.get(0);
+        Client other = agents.get(1);
+
+        assertTrue(vehicleAvailabilityService.reserve(vehicle.getId(), owner, 5).isPresent());
+        assertTrue(vehicleAvailabilityService.reserve(vehicle.getId(), other, 5).isEmpty());
+        assertFalse(vehicleAvailabilityService.release(vehicle.getId(), other));
+        assertTrue(vehicleAvailabilityService.release(vehicle.getId(), owner));
+        assertTrue(vehicleAvailabilityService.reserve(vehicle.getId(), other, 5).isPresent());
+    }
+
+    @Test
+    void shouldReleaseExpiredReservations() {
+        Vehicle vehicle = vehicle("RSV-0003");
+        vehicle.setIsAvailable(false);
+        vehicle.setReservedBy(agents.get(0));
+        vehicle.setReservedUntil(LocalDateTime.now().minusMinutes(1));
+        vehicle = vehicleRepository.save(vehicle);
+
+        assertTrue(vehicleAvailabilityService.releaseExpiredReservations() >= 1);
+
+        Vehicle released = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertTrue(released.getIsAvailable());
+        assertNull(released.getReservedUntil());
+    }
+
+    @Test
+    void shouldDropReservationWhenUpdateMarksVehicleAvailable() {
+        Vehicle versioned = vehicleRepository.save(vehicle("RSV-0005"));
+        Vehicle unversioned = vehicleRepository.save(vehicle("RSV-0006"));
+        assertTrue(vehicleAvailabilityService.reserve(versioned.getId(), agents.get(0), 5).isPresent());
+        assertTrue(vehicleAvailabilityService.reserve(unversioned.getId(), agents.get(0), 5).isPresent());
+
+        VehicleDTO dto = new VehicleDTO(vehicleRepository.findById(versioned.getId()).orElseThrow());
+        dto.setIsAvailable(true);
+        assertTrue(vehicleService.update(versioned.getId(), dto, dto.getVersion()).isPresent());
+        dto = new VehicleDTO(vehicleRepository.findById(unversioned.getId()).orElseThrow());
+        dto.setIsAvailable(true);
+        assertTrue(vehicleService.update(unversioned.getId(), dto).isPresent());
+
+        for (Long id : List.of(versioned.getId(), unversioned.getId())) {
+            Vehicle updated = vehicleRepository.findById(id).orElseThrow();
+            assertTrue(updated.getIsAvailable());
+            assertNull(updated.getReservedBy());
+            assertNull(updated.getReservedUntil());
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidReservationDuration() {
+        Vehicle vehicle = vehicleRepository.save(vehicle("RSV-0004"));
+
+        assertThrows(RuntimeException.class,
+                () -> vehicleAvailabilityService.reserve(vehicle.getId(), agents.get(0), 0));
+    }
+
+    private Vehicle vehicle(String plate) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand("Jeep");
+        vehicle.setModel("Renegade");
+        vehicle.setYear(2023);
+        vehicle.setLicensePlate(plate);
+        vehicle.setPrice(new BigDecimal("120000.00"));
+        vehicle.setIsAvailable(true);
+        return vehicle;
+    }
+}
@@ -0,0 +1,94 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.PageResponse;
+import com.vehicle_management_api.dto.VehicleFields;
+import com.vehicle_management_api.dto.VehicleFilter;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.enums.UserType;
+import com.vehicle_management_api.repository.ClientRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VehicleServiceFieldsTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void shouldReturnOnlyRequestedFieldsInCanonicalOrder() {
+        save("Projecao", "Alfa", "FLD-0001", null);
+        save("Projecao", "Beta", "FLD-0002", null);
+
+        VehicleFilter filter = new VehicleFilter("Projecao", null, null, null, null, null, null, null,
+                0, 1, "model", "DESC").normalized();
+        PageResponse<Map<String, Object>> page = vehicleService.search(filter, VehicleFields.parse("price, model"));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        Map<String, Object> row = page.getContent().get(0);
+        assertEquals(List.of("id", "model", "price"), List.copyOf(row.keySet()));
+        assertEquals("Beta", row.get("model"));
+        assertEquals(0, new BigDecimal("30000").compareTo((BigDecimal) row.get("price")));
+    }
+
+    @Test
+    void shouldJoinCreatorOnlyWhenRequested() {
+        Client dealer = new Client();
+        dealer.setName("Revenda Campos");
+        dealer.setEmail("campos@fields.test");
+        dealer.setPassword("password");
+        dealer.setUserType(UserType.ADMIN);
+        dealer.setIsActive(true);
+        clientRepository.save(dealer);
+        save("CamposMarca", "Gama", "FLD-0003", dealer);
+        save("CamposMarca", "Gama", "FLD-0004", null);
+
+        List<Map<String, Object>> rows = vehicleService.findByBrandAndModel("CamposMarca", "Gama",
+                VehicleFields.parse("licensePlate,createdBy"));
+
+        assertEquals(2, rows.size());
+        Map<Object, Object> creators = Map.of(rows.get(0).get("licensePlate"), rows.get(0).get("createdBy"),
+                rows.get(1).get("licensePlate"), rows.get(1).get("createdBy"));
+        assertEquals("Revenda Campos", creators.get("FLD-0003"));
+        assertEquals("Sistema", creators.get("FLD-0004"));
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertNull(VehicleFields.parse(" "));
+        assertThrows(RuntimeException.class, () -> VehicleFields.parse("brand,password"));
+    }
+
+    private void save(String brand, String model, String plate, Client createdBy) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setBrand(brand);
+        vehicle.setModel(model);
+        vehicle.setYear(2021);
+        vehicle.setColor("Prata");
+        vehicle.setLicensePlate(plate);
+        vehicle.setPrice(new BigDecimal("30000.00"));
+        vehicle.setIsAvailable(true);
+        vehicle.setCreatedBy(createdBy);
+        vehicleRepository.save(vehicle);
+    }
+}
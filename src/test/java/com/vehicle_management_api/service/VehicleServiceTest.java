@@ -1,8 +1,12 @@
 package com.vehicle_management_api.service;
 
+import com.vehicle_management_api.dto.PageResponse;
 import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleFilter;
 import com.vehicle_management_api.entity.Client;
 import com.vehicle_management_api.entity.Vehicle;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import com.vehicle_management_api.exception.VersionConflictException;
 import com.vehicle_management_api.repository.VehicleRepository;
 import com.vehicle_management_api.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +15,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +44,12 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private VehiclePlateIndex vehiclePlateIndex;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -85,6 +108,57 @@ class VehicleServiceTest {
         verify(vehicleRepository).findById(1L);
     }
 
+    @Test
+    void shouldFetchOnlyCacheMissesAndKeepRequestOrder() {
+        VehicleService cachedService = new VehicleService(vehicleRepository, eventPublisher, vehiclePlateIndex,
+                new CaffeineCacheManager());
+        Vehicle other = new Vehicle();
+        other.setId(2L);
+        other.setBrand("Honda");
+        other.setModel("Civic");
+        other.setLicensePlate("XYZ5678");
+        when(vehicleRepository.findAllWithCreatorByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(vehicle, other).stream().filter(v -> ids.contains(v.getId())).toList();
+        });
+
+        List<VehicleDTO> first = cachedService.findAllByIds(List.of(2L, 1L, 3L));
+        List<VehicleDTO> second = cachedService.findAllByIds(List.of(1L, 3L, 2L, 1L));
+
+        assertEquals(List.of(2L, 1L), first.stream().map(VehicleDTO::getId).toList());
+        assertEquals(List.of(1L, 2L, 1L), second.stream().map(VehicleDTO::getId).toList());
+        // O ID inexistente não fica no cache: só ele volta ao banco
+        verify(vehicleRepository).findAllWithCreatorByIdIn(Set.of(1L, 2L, 3L));
+        verify(vehicleRepository).findAllWithCreatorByIdIn(Set.of(3L));
+    }
+
+    @Test
+    void shouldCacheAtMostALimitedNumberOfVehiclesPerBatch() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        VehicleService cachedService = new VehicleService(vehicleRepository, eventPublisher, vehiclePlateIndex,
+                cacheManager);
+        List<Long> ids = LongStream.rangeClosed(1, VehicleService.MAX_CACHED_PER_BATCH + 50).boxed().toList();
+        when(vehicleRepository.findAllWithCreatorByIdIn(any())).thenReturn(ids.stream().map(id -> {
+            Vehicle loaded = new Vehicle();
+            loaded.setId(id);
+            return loaded;
+        }).toList());
+
+        assertEquals(ids.size(), cachedService.findAllByIds(ids).size());
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache("vehicles");
+        assertEquals(VehicleService.MAX_CACHED_PER_BATCH, cache.getNativeCache().asMap().size());
+    }
+
+    @Test
+    void shouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, VehicleService.MAX_IDS_PER_REQUEST + 1)
+                .boxed().toList();
+
+        assertThrows(RuntimeException.class, () -> vehicleService.findAllByIds(ids));
+        verifyNoInteractions(vehicleRepository);
+    }
+
     @Test
     void shouldFindAllVehicles() {
         when(vehicleRepository.findAll()).thenReturn(Arrays.asList(vehicle));
@@ -98,6 +172,7 @@ class VehicleServiceTest {
 
     @Test
     void shouldCreateVehicle() {
+        when(vehiclePlateIndex.mightExist(any())).thenReturn(true);
         when(vehicleRepository.existsByLicensePlate("ABC1234")).thenReturn(false);
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
 
@@ -114,10 +189,42 @@ class VehicleServiceTest {
 
         verify(vehicleRepository).existsByLicensePlate("ABC1234");
         verify(vehicleRepository).save(any(Vehicle.class));
+        verify(eventPublisher).publishEvent(any(VehicleChangeEvent.class));
+    }
+
+    @Test
+    void shouldSkipPlateQueryWhenBloomFilterRulesItOut() {
+        when(vehiclePlateIndex.mightExist("ABC1234")).thenReturn(false);
+        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
+
+        vehicleService.create(vehicleDTO, client);
+
+        verify(vehicleRepository, never()).existsByLicensePlate(any());
+        verify(vehicleRepository).save(any(Vehicle.class));
+    }
+
+    @Test
+    void shouldNotQueryUnknownPlate() {
+        when(vehiclePlateIndex.mightExist("ZZZ9999")).thenReturn(false);
+
+        assertTrue(vehicleService.findByLicensePlate("ZZZ9999").isEmpty());
+        verify(vehicleRepository, never()).findByLicensePlate(any());
+    }
+
+    @Test
+    void shouldFindVehicleByLicensePlate() {
+        when(vehiclePlateIndex.mightExist("ABC1234")).thenReturn(true);
+        when(vehicleRepository.findByLicensePlate("ABC1234")).thenReturn(Optional.of(vehicle));
+
+        Optional<VehicleDTO> result = vehicleService.findByLicensePlate("ABC1234");
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
     }
 
     @Test
     void shouldThrowExceptionWhenLicensePlateExists() {
+        when(vehiclePlateIndex.mightExist(any())).thenReturn(true);
         when(vehicleRepository.existsByLicensePlate("ABC1234")).thenReturn(true);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -140,6 +247,7 @@ class VehicleServiceTest {
         updateDTO.setIsAvailable(true);
 
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(vehiclePlateIndex.mightExist(any())).thenReturn(true);
         when(vehicleRepository.existsByLicensePlateAndIdNot("XYZ5678", 1L)).thenReturn(false);
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
 
@@ -155,6 +263,7 @@ class VehicleServiceTest {
         updateDTO.setLicensePlate("XYZ5678");
 
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(vehiclePlateIndex.mightExist(any())).thenReturn(true);
         when(vehicleRepository.existsByLicensePlateAndIdNot("XYZ5678", 1L)).thenReturn(true);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -178,6 +287,46 @@ class VehicleServiceTest {
         verify(vehicleRepository, never()).save(any(Vehicle.class));
     }
 
+    @Test
+    void shouldThrowConflictWhenVersionIsStale() {
+        when(vehicleRepository.updateIfVersion(eq(1L), eq(2L), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(vehicleRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(VersionConflictException.class, () -> vehicleService.update(1L, vehicleDTO, 2L));
+        verify(vehicleRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenVersionedUpdateTargetsMissingVehicle() {
+        when(vehicleRepository.updateIfVersion(eq(1L), eq(2L), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(vehicleRepository.existsById(1L)).thenReturn(false);
+
+        assertTrue(vehicleService.update(1L, vehicleDTO, 2L).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateVersionedWithoutReadingOrProbingThePlate() {
+        vehicle.setVersion(3L);
+        when(vehicleRepository.updateIfVersion(eq(1L), eq(2L), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        when(vehicleRepository.findWithCreatorById(1L)).thenReturn(Optional.of(vehicle));
+
+        assertEquals(3L, vehicleService.update(1L, vehicleDTO, 2L).orElseThrow().getVersion());
+        verify(vehicleRepository, never()).findById(any());
+        verify(vehicleRepository, never()).existsByLicensePlateAndIdNot(any(), any());
+    }
+
+    @Test
+    void shouldReportDuplicatePlateFromUniqueIndexOnVersionedUpdate() {
+        when(vehicleRepository.updateIfVersion(eq(1L), eq(2L), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_license_plate"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> vehicleService.update(1L, vehicleDTO, 2L));
+        assertEquals("Veículo com esta placa já existe", exception.getMessage());
+    }
+
     @Test
     void shouldDeleteVehicle() {
         when(vehicleRepository.existsById(1L)).thenReturn(true);
@@ -186,6 +335,8 @@ class VehicleServiceTest {
 
         assertTrue(result);
         verify(vehicleRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((VehicleChangeEvent event) ->
+                event.getType() == VehicleChangeEvent.Type.DELETED && event.getVehicleId() == 1L));
     }
 
     @Test
@@ -220,4 +371,77 @@ class VehicleServiceTest {
         assertEquals("Corolla", result.get(0).getModel());
         verify(vehicleRepository).findByBrandAndModel("Toyota", "Corolla");
     }
+
+    @Test
+    void shouldSearchVehiclesWithFilter() {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand(" Toyota ");
+        filter.setMinPrice(new BigDecimal("40000.00"));
+        filter.setSize(500);
+        filter.setSortBy("price");
+        filter.setDirection("desc");
+        VehicleFilter normalized = filter.normalized();
+
+        when(vehicleRepository.findSlice(any(Specification.class), any(Sort.class), eq(0L),
+                eq(VehicleFilter.MAX_PAGE_SIZE + 1))).thenReturn(List.of(vehicle));
+
+        PageResponse<VehicleDTO> result = vehicleService.search(normalized);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Toyota", result.getContent().get(0).getBrand());
+        assertEquals("Toyota", normalized.getBrand());
+        assertEquals(VehicleFilter.MAX_PAGE_SIZE, normalized.getSize());
+        verify(vehicleRepository).findSlice(any(Specification.class), argThat((Sort sort) ->
+                sort.getOrderFor("price").isDescending() && sort.getOrderFor("id") != null), eq(0L), anyInt());
+        // Página incompleta: o total sai dela mesma, sem COUNT
+        verify(vehicleRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void shouldCountOncePerFilterAcrossPages() {
+        VehicleService cachedService = new VehicleService(vehicleRepository, eventPublisher, vehiclePlateIndex,
+                new CaffeineCacheManager());
+        Vehicle other = new Vehicle();
+        other.setId(2L);
+        other.setLicensePlate("XYZ5678");
+        when(vehicleRepository.findSlice(any(Specification.class), any(Sort.class), anyLong(), eq(2)))
+                .thenReturn(List.of(vehicle, other));
+        when(vehicleRepository.count(any(Specification.class))).thenReturn(5L);
+
+        VehicleFilter filter = new VehicleFilter();
+        filter.setBrand("Toyota");
+        filter.setSize(1);
+        PageResponse<VehicleDTO> first = cachedService.search(filter.normalized());
+        filter.setPage(1);
+        PageResponse<VehicleDTO> second = cachedService.search(filter.normalized());
+
+        assertEquals(1, first.getContent().size());
+        assertEquals(5, first.getTotalElements());
+        assertEquals(5, second.getTotalPages());
+        verify(vehicleRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void shouldRejectInvalidSortField() {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setSortBy("password");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, filter::normalized);
+
+        assertEquals("Campo de ordenação inválido: password", exception.getMessage());
+    }
+
+    @Test
+    void shouldProduceSameCacheKeyForEquivalentFilters() {
+        VehicleFilter first = new VehicleFilter();
+        first.setBrand("Toyota ");
+        first.setMaxPrice(new BigDecimal("50000.00"));
+        first.setDirection("asc");
+
+        VehicleFilter second = new VehicleFilter();
+        second.setBrand("Toyota");
+        second.setMaxPrice(new BigDecimal("50000"));
+
+        assertEquals(first.normalized().cacheKey(), second.normalized().cacheKey());
+    }
 }
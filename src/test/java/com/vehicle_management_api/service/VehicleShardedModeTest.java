@@ -0,0 +1,96 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.BatchResponse;
+import com.vehicle_management_api.dto.BookingDTO;
+import com.vehicle_management_api.dto.PriceStatsDTO;
+import com.vehicle_management_api.dto.VehicleChangesResponse;
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.entity.Client;
+import com.vehicle_management_api.exception.ShardingUnsupportedException;
+import com.vehicle_management_api.repository.ShardedVehicleRepository;
+import com.vehicle_management_api.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.urls=jdbc:h2:mem:mode_shard0;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,"
+                + "jdbc:h2:mem:mode_shard1;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "app.sharding.username=sa",
+        "app.sharding.init-schema=true"
+})
+@ActiveProfiles("test")
+class VehicleShardedModeTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleBatchService vehicleBatchService;
+
+    @Autowired
+    private VehicleTextSearchService textSearchService;
+
+    @Autowired
+    private VehiclePriceStatsService priceStatsService;
+
+    @Autowired
+    private VehicleChangeFeedService changeFeedService;
+
+    @Autowired
+    private VehicleAvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShardedVehicleRepository shardedVehicleRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void shouldServeDerivedReadsFromShardsAndRejectPrimaryOnlyWrites() {
+        VehicleDTO created = vehicleService.create(vehicle("MOD-0001"), null);
+        BatchResponse batch = vehicleBatchService.createBatch(List.of(vehicle("MOD-0002"), vehicle("MOD-0001")), null);
+
+        assertEquals(1, batch.getCreated());
+        assertEquals(2, shardedVehicleRepository.count());
+        assertEquals(0, vehicleRepository.count());
+
+        assertEquals(List.of(created.getId()), textSearchService.search("MOD-0001", 10).stream().map(VehicleDTO::getId).toList());
+        PriceStatsDTO stats = priceStatsService.stats("Sharded", null, null);
+        assertEquals(2, stats.getCount());
+
+        VehicleChangesResponse changes = changeFeedService.changesSince(null, 10, LocalDateTime.now().plusMinutes(1));
+        assertEquals(2, changes.getChanges().size());
+
+        Client client = new Client();
+        client.setEmail("sharded@mode.test");
+        assertThrows(ShardingUnsupportedException.class, () -> availabilityService.reserve(created.getId(), client, 10));
+        BookingDTO booking = new BookingDTO();
+        booking.setStartDate(LocalDate.now().plusDays(1));
+        booking.setEndDate(LocalDate.now().plusDays(2));
+        assertThrows(ShardingUnsupportedException.class, () -> bookingService.create(created.getId(), booking, client));
+    }
+
+    private static VehicleDTO vehicle(String plate) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand("Sharded");
+        dto.setModel("Modo");
+        dto.setYear(2021);
+        dto.setColor("Prata");
+        dto.setLicensePlate(plate);
+        dto.setPrice(new BigDecimal("50000"));
+        return dto;
+    }
+}
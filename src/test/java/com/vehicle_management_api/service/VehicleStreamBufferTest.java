@@ -0,0 +1,48 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleDTO;
+import com.vehicle_management_api.dto.VehicleStreamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleStreamBufferTest {
+
+    @Test
+    void shouldCoalescePendingEventsOfSameVehicle() {
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(10);
+        VehicleDTO vehicle = new VehicleDTO();
+        vehicle.setId(1L);
+        vehicle.setIsAvailable(true);
+
+        buffer.offer(new VehicleStreamEvent(1, "CREATED", 1L, vehicle, null));
+        buffer.offer(new VehicleStreamEvent(2, "AVAILABILITY_CHANGED", 1L, null, false));
+        buffer.offer(new VehicleStreamEvent(3, "DELETED", 2L, null, null));
+
+        List<VehicleStreamEvent> events = buffer.drain();
+        assertEquals(2, events.size());
+        assertEquals("CREATED", events.get(0).getType());
+        assertEquals(2, events.get(0).getId());
+        assertFalse(events.get(0).getVehicle().getIsAvailable());
+        assertTrue(vehicle.getIsAvailable());
+        assertEquals("DELETED", events.get(1).getType());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void shouldDropOldestAndRequestResyncWhenFull() {
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(2);
+
+        buffer.offer(new VehicleStreamEvent(1, "DELETED", 1L, null, null));
+        buffer.offer(new VehicleStreamEvent(2, "DELETED", 2L, null, null));
+        buffer.offer(new VehicleStreamEvent(3, "DELETED", 3L, null, null));
+
+        List<VehicleStreamEvent> events = buffer.drain();
+        assertEquals(3, events.size());
+        assertEquals(VehicleStreamEvent.RESYNC, events.get(0).getType());
+        assertEquals(List.of(2L, 3L), List.of(events.get(1).getVehicleId(), events.get(2).getVehicleId()));
+        assertTrue(buffer.drain().isEmpty());
+    }
+}
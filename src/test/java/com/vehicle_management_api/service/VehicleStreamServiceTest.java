@@ -0,0 +1,68 @@
+package com.vehicle_management_api.service;
+
+import com.vehicle_management_api.dto.VehicleStreamEvent;
+import com.vehicle_management_api.event.VehicleChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleStreamServiceTest {
+
+    private VehicleStreamService vehicleStreamService;
+
+    @BeforeEach
+    void setUp() {
+        vehicleStreamService = new VehicleStreamService(Runnable::run, 16, 3, 10, 60_000);
+    }
+
+    @Test
+    void shouldReplayEventsAfterLastEventId() {
+        List<VehicleStreamEvent> all = publishAndReplayAll(3);
+
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(16);
+        vehicleStreamService.replayInto(buffer, all.get(0).getId());
+
+        List<VehicleStreamEvent> replayed = buffer.drain();
+        assertEquals(2, replayed.size());
+        assertEquals(all.get(1).getId(), replayed.get(0).getId());
+    }
+
+    @Test
+    void shouldRequestResyncWhenLastEventIdFellOutOfRing() {
+        List<VehicleStreamEvent> all = publishAndReplayAll(5);
+
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(16);
+        vehicleStreamService.replayInto(buffer, all.get(0).getId() - 2);
+
+        List<VehicleStreamEvent> replayed = buffer.drain();
+        assertEquals(VehicleStreamEvent.RESYNC, replayed.get(0).getType());
+        assertEquals(4, replayed.size());
+    }
+
+    @Test
+    void shouldNotResyncWhenClientIsUpToDate() {
+        List<VehicleStreamEvent> all = publishAndReplayAll(2);
+
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(16);
+        vehicleStreamService.replayInto(buffer, all.get(all.size() - 1).getId());
+
+        assertTrue(buffer.isEmpty());
+    }
+
+    /**
+     * Publica {@code count} exclusões e devolve o conteúdo do anel (no máximo 3 eventos).
+     */
+    private List<VehicleStreamEvent> publishAndReplayAll(int count) {
+        for (long id = 1; id <= count; id++) {
+            vehicleStreamService.onVehicleChange(VehicleChangeEvent.deleted(id));
+        }
+        VehicleStreamBuffer buffer = new VehicleStreamBuffer(16);
+        vehicleStreamService.replayInto(buffer, -1);
+        return buffer.drain().stream()
+                .filter(event -> !VehicleStreamEvent.RESYNC.equals(event.getType()))
+                .toList();
+    }
+}